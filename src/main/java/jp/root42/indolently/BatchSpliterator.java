@@ -0,0 +1,104 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+
+
+/**
+ * {@link Spliterator} of an iterator which size is unknown.
+ * Splits off array-backed batches; the batch size starts small and grows geometrically, so that even a short
+ * iterator which elements are expensive to process can be parallelized, while a long one is split in few steps.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ * @see Spliterators#spliteratorUnknownSize(Iterator, int)
+ */
+final class BatchSpliterator<T>
+    implements Spliterator<T> {
+
+    static final int INITIAL_BATCH = 16;
+
+    static final int MAX_BATCH = 1 << 25;
+
+    private final Iterator<? extends T> iter;
+
+    private final int characteristics;
+
+    private int batch;
+
+    /**
+     * constructor.
+     *
+     * @param iter the source
+     * @param characteristics characteristics of the source, except for {@link #SIZED} and {@link #SUBSIZED}
+     */
+    BatchSpliterator(final Iterator<? extends T> iter, final int characteristics) {
+        this.iter = Objects.requireNonNull(iter);
+        this.characteristics = characteristics & ~(SIZED | SUBSIZED);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+
+        Objects.requireNonNull(action);
+
+        if (!this.iter.hasNext()) {
+            return false;
+        }
+
+        action.accept(this.iter.next());
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+        this.iter.forEachRemaining(Objects.requireNonNull(action));
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+
+        if (!this.iter.hasNext()) {
+            return null;
+        }
+
+        final int n = (this.batch == 0) ? INITIAL_BATCH : Math.min(this.batch << 1, MAX_BATCH);
+        final Object[] a = new Object[n];
+
+        int j = 0;
+        do {
+            a[j++] = this.iter.next();
+        } while ((j < n) && this.iter.hasNext());
+
+        this.batch = j;
+
+        return Spliterators.spliterator(a, 0, j, this.characteristics);
+    }
+
+    @Override
+    public long estimateSize() {
+        return Long.MAX_VALUE;
+    }
+
+    @Override
+    public int characteristics() {
+        return this.characteristics;
+    }
+}
@@ -0,0 +1,219 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.ToLongFunction;
+
+
+/**
+ * Eviction policy of bounded memoization.
+ * This class is immutable; each method returns a modified copy, so that a policy can be shared as a template.
+ * <p>
+ * Example: {@code memoize(f, CachePolicy.lru(10_000).ttl(5, MINUTES))}
+ * </p>
+ *
+ * @author takahashikzn
+ * @see Functional#memoize(java.util.function.Function, CachePolicy)
+ */
+public final class CachePolicy {
+
+    /**
+     * Reference strength of cached values.
+     */
+    enum Strength {
+        STRONG, SOFT, WEAK
+    }
+
+    private static final ToLongFunction<Object> UNIT = x -> 1;
+
+    private static final CachePolicy UNBOUNDED =
+        new CachePolicy(Long.MAX_VALUE, UNIT, false, 0, 0, Strength.STRONG, System::nanoTime, null);
+
+    final long maxWeight;
+
+    final ToLongFunction<Object> weigher;
+
+    final boolean admission;
+
+    final long expireAfterWrite;
+
+    final long expireAfterAccess;
+
+    final Strength strength;
+
+    final LongSupplier ticker;
+
+    final CacheStats stats;
+
+    private CachePolicy(final long maxWeight, final ToLongFunction<Object> weigher, final boolean admission,
+        final long expireAfterWrite, final long expireAfterAccess, final Strength strength, final LongSupplier ticker,
+        final CacheStats stats) {
+
+        this.maxWeight = maxWeight;
+        this.weigher = weigher;
+        this.admission = admission;
+        this.expireAfterWrite = expireAfterWrite;
+        this.expireAfterAccess = expireAfterAccess;
+        this.strength = strength;
+        this.ticker = ticker;
+        this.stats = stats;
+    }
+
+    private static long positive(final long val) {
+
+        if (val <= 0) {
+            throw new IllegalArgumentException("must be positive: " + val);
+        }
+
+        return val;
+    }
+
+    /**
+     * No eviction by size. Use with {@link #ttl(long, TimeUnit)} or {@link #softValues()}.
+     *
+     * @return policy
+     */
+    public static CachePolicy unbounded() {
+        return UNBOUNDED;
+    }
+
+    /**
+     * Evict least recently used entry when the total weight exceeds the limit.
+     * Each entry weighs 1 unless {@link #weigher(ToLongFunction)} is specified.
+     *
+     * @param maxWeight maximum total weight
+     * @return policy
+     */
+    public static CachePolicy lru(final long maxWeight) {
+        return UNBOUNDED.maxWeight(maxWeight, false);
+    }
+
+    /**
+     * Same as {@link #lru(long)}, but a new entry is admitted only if it's used more frequently than the eviction
+     * victim (TinyLFU admission).
+     * The frequency is estimated by a count-min sketch which also remembers evicted or rejected keys, so that a
+     * one-time scan never flushes frequently used entries.
+     *
+     * @param maxWeight maximum total weight
+     * @return policy
+     */
+    public static CachePolicy lfu(final long maxWeight) {
+        return UNBOUNDED.maxWeight(maxWeight, true);
+    }
+
+    private CachePolicy maxWeight(final long max, final boolean admit) {
+        return new CachePolicy(positive(max), this.weigher, admit, this.expireAfterWrite, this.expireAfterAccess,
+            this.strength, this.ticker, this.stats);
+    }
+
+    /**
+     * Set the weigher of cached values.
+     *
+     * @param f weigher. the argument is a cached value, which may be {@code null}.
+     * The weight must not be negative, otherwise the memoized function throws {@link IllegalArgumentException}.
+     * @return policy
+     */
+    public CachePolicy weigher(final ToLongFunction<Object> f) {
+        return new CachePolicy(this.maxWeight, Objects.requireNonNull(f), this.admission, this.expireAfterWrite,
+            this.expireAfterAccess, this.strength, this.ticker, this.stats);
+    }
+
+    /**
+     * Expire an entry when the duration has passed since it was computed.
+     *
+     * @param duration duration
+     * @param unit unit of duration
+     * @return policy
+     */
+    public CachePolicy ttl(final long duration, final TimeUnit unit) {
+        return new CachePolicy(this.maxWeight, this.weigher, this.admission, positive(unit.toNanos(duration)),
+            this.expireAfterAccess, this.strength, this.ticker, this.stats);
+    }
+
+    /**
+     * Expire an entry when the duration has passed since it was last read.
+     *
+     * @param duration duration
+     * @param unit unit of duration
+     * @return policy
+     */
+    public CachePolicy expireAfterAccess(final long duration, final TimeUnit unit) {
+        return new CachePolicy(this.maxWeight, this.weigher, this.admission, this.expireAfterWrite,
+            positive(unit.toNanos(duration)), this.strength, this.ticker, this.stats);
+    }
+
+    /**
+     * Hold cached values by {@link java.lang.ref.SoftReference}, so that GC can reclaim them under memory pressure.
+     *
+     * @return policy
+     */
+    public CachePolicy softValues() {
+        return this.strength(Strength.SOFT);
+    }
+
+    /**
+     * Hold cached values by {@link java.lang.ref.WeakReference}.
+     *
+     * @return policy
+     */
+    public CachePolicy weakValues() {
+        return this.strength(Strength.WEAK);
+    }
+
+    private CachePolicy strength(final Strength s) {
+        return new CachePolicy(this.maxWeight, this.weigher, this.admission, this.expireAfterWrite,
+            this.expireAfterAccess, s, this.ticker, this.stats);
+    }
+
+    /**
+     * Set the time source used for expiration. The default is {@link System#nanoTime()}.
+     *
+     * @param nanoTime time source in nanoseconds
+     * @return policy
+     */
+    public CachePolicy ticker(final LongSupplier nanoTime) {
+        return new CachePolicy(this.maxWeight, this.weigher, this.admission, this.expireAfterWrite,
+            this.expireAfterAccess, this.strength, Objects.requireNonNull(nanoTime), this.stats);
+    }
+
+    /**
+     * Record hit / miss / eviction counts into the argument.
+     * A {@link CacheStats} can be shared by several memoized functions.
+     *
+     * @param stats counters
+     * @return policy
+     */
+    public CachePolicy recordStats(final CacheStats stats) {
+        return new CachePolicy(this.maxWeight, this.weigher, this.admission, this.expireAfterWrite,
+            this.expireAfterAccess, this.strength, this.ticker, Objects.requireNonNull(stats));
+    }
+
+    boolean bounded() {
+        return this.maxWeight != Long.MAX_VALUE;
+    }
+
+    boolean expiring() {
+        return (this.expireAfterWrite != 0) || (this.expireAfterAccess != 0);
+    }
+
+    @Override
+    public String toString() {
+        return "CachePolicy[maxWeight=" + (this.bounded() ? this.maxWeight : "unbounded") + ", admission="
+            + this.admission + ", expireAfterWrite=" + this.expireAfterWrite + "ns, expireAfterAccess="
+            + this.expireAfterAccess + "ns, values=" + this.strength + "]";
+    }
+}
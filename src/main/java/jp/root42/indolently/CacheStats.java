@@ -0,0 +1,82 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ * Hit / miss / eviction counters of memoized functions.
+ *
+ * @author takahashikzn
+ * @see CachePolicy#recordStats(CacheStats)
+ */
+public final class CacheStats {
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    void hit() {
+        this.hits.increment();
+    }
+
+    void miss() {
+        this.misses.increment();
+    }
+
+    void evict() {
+        this.evictions.increment();
+    }
+
+    /**
+     * @return the number of calls which returned a cached value
+     */
+    public long hitCount() {
+        return this.hits.sum();
+    }
+
+    /**
+     * @return the number of calls which computed a value
+     */
+    public long missCount() {
+        return this.misses.sum();
+    }
+
+    /**
+     * @return the number of entries removed by size limit, expiration or GC
+     */
+    public long evictionCount() {
+        return this.evictions.sum();
+    }
+
+    /**
+     * @return the ratio of hits, or {@code 1.0} if never called
+     */
+    public double hitRate() {
+
+        final long hit = this.hitCount();
+        final long total = hit + this.missCount();
+
+        return (total == 0) ? 1.0 : (double) hit / total;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStats[hits=" + this.hitCount() + ", misses=" + this.missCount() + ", evictions="
+            + this.evictionCount() + "]";
+    }
+}
@@ -409,57 +409,79 @@ public class Expressive {
      */
     public static When when(final BooleanSupplier pred) {
 
-        final Match.IntroCase<?> intro = match(null).when(x -> pred.getAsBoolean());
-
         return new When() {
 
             @Override
             public <T> When.Then<T> then(final Supplier<? extends T> then) {
+                return toUnresolvedWhen(pred, then);
+            }
+        };
+    }
 
-                return new When.Then<T>() {
+    private static <T> When.Then<T> toUnresolvedWhen(final BooleanSupplier pred, final Supplier<? extends T> then) {
 
-                    @Override
-                    public T none(final Supplier<? extends T> none) {
-                        return intro //
-                            .then(x -> (T) then.get()) //
-                            .none(none);
-                    }
+        return new When.Then<T>() {
 
-                    @Override
-                    public When.Case<T> when(final BooleanSupplier when) {
-                        return toWhenCase(intro //
-                            .then(x -> (T) then.get()) //
-                            .when(x -> when.getAsBoolean()));
-                    }
-                };
+            @Override
+            public T none(final Supplier<? extends T> none) {
+                return pred.getAsBoolean() ? then.get() : none.get();
+            }
+
+            @Override
+            public When.Case<T> when(final BooleanSupplier when) {
+
+                if (pred.getAsBoolean()) {
+                    final When.Then<T> resolved = toResolvedWhen(then.get());
+                    return x -> resolved;
+                }
+
+                return x -> toUnresolvedWhen(when, x);
             }
         };
     }
 
-    private static <T> When.Case<T> toWhenCase(final Match.Case<?, T> theCase) {
+    private static <T> When.Then<T> toResolvedWhen(final T value) {
 
-        return then -> new When.Then<T>() {
+        return new When.Then<T>() {
 
             @Override
             public T none(final Supplier<? extends T> none) {
-                return theCase.then(then).none(none);
+                return value;
             }
 
             @Override
             public When.Case<T> when(final BooleanSupplier when) {
-                return toWhenCase(theCase.then(then).when(when));
+                return x -> this;
             }
         };
     }
 
+    /** the argument type of {@link Function} implementations, resolved once per lambda class. */
+    private static final ClassValue<Class<?>> FUNCTION_ARG_TYPE = new ClassValue<Class<?>>() {
+
+        @Override
+        protected Class<?> computeValue(final Class<?> type) {
+            return TypeResolver.resolveRawArguments(Function.class, type)[0];
+        }
+    };
+
+    /** the argument type of {@link Consumer} implementations, resolved once per lambda class. */
+    private static final ClassValue<Class<?>> CONSUMER_ARG_TYPE = new ClassValue<Class<?>>() {
+
+        @Override
+        protected Class<?> computeValue(final Class<?> type) {
+            return TypeResolver.resolveRawArguments(Consumer.class, type)[0];
+        }
+    };
+
     @SuppressWarnings({ "overloads", "RedundantSuppression" })
     private static <T> Class<T> argTypeOf(final Function<T, ?> f) {
-        return cast(TypeResolver.resolveRawArguments(Function.class, f.getClass())[0]);
+        return cast(FUNCTION_ARG_TYPE.get(f.getClass()));
     }
 
     @SuppressWarnings({ "overloads", "RedundantSuppression" })
     private static <T> Class<T> argTypeOf(final Consumer<T> f) {
-        return cast(TypeResolver.resolveRawArguments(Consumer.class, f.getClass())[0]);
+        return cast(CONSUMER_ARG_TYPE.get(f.getClass()));
     }
 
     public interface Match<C> {
@@ -560,6 +582,117 @@ public class Expressive {
         }
     }
 
+    /**
+     * Compiled, reusable version of {@link Match}.
+     * Cases are declared once, then {@code none(...)} returns a function which evaluates them from a flat array.
+     * If every case is a type test, the function dispatches by the class of the argument in constant time.
+     * The intermediate objects are a builder, so that don't reuse them to declare different cases.
+     *
+     * <div>
+     * Example
+     *
+     * {@code
+     * Function<Number, String> f = Expressive.<Number> matcher()
+     * .type((Long x) -> "long")
+     * .when(Double.class).then("double")
+     * .none("other");
+     * }
+     * </div>
+     *
+     * @param <C> context type
+     * @author takahashikzn
+     * @see Expressive#matcher()
+     */
+    public interface Matcher<C> {
+
+        IntroCase<C> when(Predicate<? super C> pred);
+
+        IntroCase<C> when(Class<?> type);
+
+        default <SC extends C, T> Then<C, T> type(final Function<SC, ? extends T> then) {
+
+            return eval(argTypeOf(then),
+                argType -> this.when(argType).then(ctx -> then.apply(argType.cast(ctx))));
+        }
+
+        interface IntroCase<C> {
+
+            <T> Then<C, T> then(Function<? super C, ? extends T> then);
+
+            default <T> Then<C, T> then(final T then) {
+                return this.then(x -> then);
+            }
+
+            default <T> Then<C, T> then(final Supplier<? extends T> then) {
+                return this.then(x -> then.get());
+            }
+        }
+
+        interface Then<C, T> {
+
+            /**
+             * Finish declaration.
+             *
+             * @param none the function applied if no case matched
+             * @return compiled function
+             */
+            Function<C, T> none(Function<? super C, ? extends T> none);
+
+            Case<C, T> when(Predicate<? super C> when);
+
+            Case<C, T> when(Class<?> type);
+
+            default <SC extends C> Then<C, T> type(final Function<SC, ? extends T> then) {
+
+                return eval(argTypeOf(then),
+                    argType -> this.when(argType).then(ctx -> then.apply(argType.cast(ctx))));
+            }
+
+            default Function<C, T> none(final T none) {
+                return this.none(x -> none);
+            }
+
+            default Function<C, T> none(final Supplier<? extends T> none) {
+                return this.none(x -> none.get());
+            }
+
+            default Function<C, T> raise(final Function<? super C, ? extends RuntimeException> raise) {
+                return this.none(x -> Expressive.raise(() -> raise.apply(x)));
+            }
+
+            default Function<C, T> fatal() {
+                return this.none(x -> Indolently.fatal());
+            }
+
+            default Function<C, T> fatal(final Object msg) {
+                return this.none(x -> Indolently.fatal(msg));
+            }
+        }
+
+        interface Case<C, T> {
+
+            Then<C, T> then(Function<? super C, ? extends T> then);
+
+            default Then<C, T> then(final T then) {
+                return this.then(x -> then);
+            }
+
+            default Then<C, T> then(final Supplier<? extends T> then) {
+                return this.then(x -> then.get());
+            }
+        }
+    }
+
+    /**
+     * Start declaration of a compiled {@link Matcher}.
+     *
+     * @param <C> context type
+     * @return matcher builder
+     */
+    public static <C> Matcher<C> matcher() {
+        return new MatchTable.Builder<>();
+    }
+
     public static <C> Match<C> match(final C ctx) {
 
         return pred -> new Match.IntroCase<C>() {
@@ -598,23 +731,27 @@ public class Expressive {
 
     private static <C, T> Match.Case<C, T> toUnresolvedCase(final C ctx, final Predicate<? super C> condition) {
 
-        final Predicate<? super C> pred = Functional.$(condition).memoize();
+        return then -> {
 
-        return then -> new Match.Then<C, T>() {
+            // evaluated once per case
+            final boolean matched = condition.test(ctx);
 
-            @Override
-            public T none(final Function<? super C, ? extends T> none) {
-                return pred.test(ctx) //
-                    ? then.apply(ctx) //
-                    : none.apply(ctx);
-            }
+            return new Match.Then<C, T>() {
 
-            @Override
-            public Match.Case<C, T> when(final Predicate<? super C> when) {
-                return pred.test(ctx) //
-                    ? toResolvedCase(then.apply(ctx)) //
-                    : toUnresolvedCase(ctx, when);
-            }
+                @Override
+                public T none(final Function<? super C, ? extends T> none) {
+                    return matched //
+                        ? then.apply(ctx) //
+                        : none.apply(ctx);
+                }
+
+                @Override
+                public Match.Case<C, T> when(final Predicate<? super C> when) {
+                    return matched //
+                        ? toResolvedCase(then.apply(ctx)) //
+                        : toUnresolvedCase(ctx, when);
+                }
+            };
         };
     }
 }
@@ -13,7 +13,11 @@
 // limitations under the License.
 package jp.root42.indolently;
 
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
@@ -23,10 +27,12 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.bridge.ObjFactory;
 import jp.root42.indolently.function.Consumer3;
 import jp.root42.indolently.function.Expression;
 import jp.root42.indolently.function.Function3;
 import jp.root42.indolently.function.Function4;
+import jp.root42.indolently.function.Lazy;
 import jp.root42.indolently.function.Predicate3;
 import jp.root42.indolently.function.SBoolSuppl;
 import jp.root42.indolently.function.SFunc;
@@ -36,8 +42,6 @@ import jp.root42.indolently.function.SPred;
 import jp.root42.indolently.function.SPred2;
 import jp.root42.indolently.function.SSuppl;
 import jp.root42.indolently.function.Statement;
-import jp.root42.indolently.ref.BoolRef;
-import jp.root42.indolently.ref.Duo;
 
 import static java.util.Objects.*;
 import static jp.root42.indolently.Indolently.*;
@@ -79,40 +83,81 @@ public class Functional {
     }
 
     public static <T> Supplier<T> memoize(final Supplier<? extends T> f) {
-        return bind(memoize((Function<Object, T>) x -> f.get()), null);
-    }
-
+        return lazy(f);
+    }
+
+    /**
+     * Create a value which is computed once on first access.
+     *
+     * @param f value supplier
+     * @return lazy value
+     */
+    public static <T> Lazy<T> lazy(final Supplier<? extends T> f) {
+        return Lazy.of(f);
+    }
+
+    /**
+     * Create a value which is recomputed on access when the duration has passed since the last computation.
+     *
+     * @param f value supplier
+     * @param duration duration
+     * @param unit unit of duration
+     * @return lazy value
+     */
+    public static <T> Lazy<T> lazy(final Supplier<? extends T> f, final long duration, final TimeUnit unit) {
+        return Lazy.of(f, duration, unit);
+    }
+
+    /**
+     * Create memoized version of the function.
+     * The argument itself is the cache key. Looking up a cached value never takes a lock.
+     *
+     * @param f function
+     * @return memoized function
+     */
     public static <X, Y> Function<X, Y> memoize(final Function<? super X, ? extends Y> f) {
 
-        final BiFunction<X, String, Y> g = memoize((BiFunction<X, String, Y>) (x0, x1) -> f.apply(x0));
+        final ConcurrentMap<Object, Object> memo = ObjFactory.getInstance().newConcurrentMap();
 
-        return x -> g.apply(x, "");
+        return x -> {
+            final Object key = Memo.mask(x);
+            final Object val = memo.get(key);
+            return (val != null) ? Memo.unmask(val) : Memo.put(memo, key, f.apply(x));
+        };
     }
 
     public static <X0, X1, Y> BiFunction<X0, X1, Y> memoize(final BiFunction<? super X0, ? super X1, ? extends Y> f) {
 
-        final Function3<X0, X1, String, Y> g = memoize((Function3<X0, X1, String, Y>) (x0, x1, x2) -> f.apply(x0, x1));
+        final ConcurrentMap<Object, Object> memo = ObjFactory.getInstance().newConcurrentMap();
 
-        return (x0, x1) -> g.apply(x0, x1, "");
+        return (x0, x1) -> {
+            final Object key = new Memo.Key2(x0, x1);
+            final Object val = memo.get(key);
+            return (val != null) ? Memo.unmask(val) : Memo.put(memo, key, f.apply(x0, x1));
+        };
     }
 
     public static <X0, X1, X2, Y> Function3<X0, X1, X2, Y> memoize(
         final Function3<? super X0, ? super X1, ? super X2, ? extends Y> f) {
 
-        final Function4<X0, X1, X2, String, Y> g = memoize((x0, x1, x2, x3) -> f.apply(x0, x1, x2));
+        final ConcurrentMap<Object, Object> memo = ObjFactory.getInstance().newConcurrentMap();
 
-        return (x0, x1, x2) -> g.apply(x0, x1, x2, "");
+        return (x0, x1, x2) -> {
+            final Object key = new Memo.Key3(x0, x1, x2);
+            final Object val = memo.get(key);
+            return (val != null) ? Memo.unmask(val) : Memo.put(memo, key, f.apply(x0, x1, x2));
+        };
     }
 
     public static <X0, X1, X2, X3, Y> Function4<X0, X1, X2, X3, Y> memoize(
         final Function4<? super X0, ? super X1, ? super X2, ? super X3, ? extends Y> f) {
 
-        final Map<Duo<Duo<X0, X1>, Duo<X2, X3>>, Y> memo = map();
+        final ConcurrentMap<Object, Object> memo = ObjFactory.getInstance().newConcurrentMap();
 
         return (x0, x1, x2, x3) -> {
-            synchronized (memo) {
-                return memo.computeIfAbsent(tuple(tuple(x0, x1), tuple(x2, x3)), key -> f.apply(x0, x1, x2, x3));
-            }
+            final Object key = new Memo.Key4(x0, x1, x2, x3);
+            final Object val = memo.get(key);
+            return (val != null) ? Memo.unmask(val) : Memo.put(memo, key, f.apply(x0, x1, x2, x3));
         };
     }
 
@@ -138,6 +183,295 @@ public class Functional {
         return memoized::apply;
     }
 
+    /**
+     * Create memoized version of the asynchronous function.
+     * Concurrent callers of same argument share one future, so that the computation is not duplicated even while
+     * it's in flight. A future which completed exceptionally is evicted, so that the next call retries.
+     * Each caller gets its own copy of the shared future, so that completing or cancelling it doesn't affect others.
+     *
+     * @param f asynchronous function
+     * @return memoized function
+     */
+    public static <X, Y> Function<X, CompletableFuture<Y>> memoizeAsync(
+        final Function<? super X, ? extends CompletableFuture<Y>> f) {
+
+        final ConcurrentMap<Object, CompletableFuture<Y>> memo = ObjFactory.getInstance().newConcurrentMap();
+
+        return x -> {
+            final Object key = Memo.mask(x);
+            final CompletableFuture<Y> cached = memo.get(key);
+
+            if (cached != null) {
+                return cached.copy();
+            }
+
+            final CompletableFuture<Y> promise = new CompletableFuture<>();
+            final CompletableFuture<Y> prev = memo.putIfAbsent(key, promise);
+
+            if (prev != null) {
+                return prev.copy();
+            }
+
+            // evict on any failure of the shared future, however it is completed.
+            promise.whenComplete((y, e) -> {
+                if (e != null) {
+                    memo.remove(key, promise);
+                }
+            });
+
+            try {
+                f.apply(x).whenComplete((y, e) -> {
+                    if (e == null) {
+                        promise.complete(y);
+                    } else {
+                        promise.completeExceptionally(e);
+                    }
+                });
+            } catch (final RuntimeException | Error e) {
+                promise.completeExceptionally(e);
+            }
+
+            return promise.copy();
+        };
+    }
+
+    /**
+     * Create memoized version of the function, which runs on the executor.
+     *
+     * @param f function
+     * @param executor executor to run the function
+     * @return memoized function
+     * @see #memoizeAsync(Function)
+     */
+    public static <X, Y> Function<X, CompletableFuture<Y>> memoizeAsync(final Function<? super X, ? extends Y> f,
+        final Executor executor) {
+
+        requireNonNull(executor, "executor");
+
+        return memoizeAsync((final X x) -> CompletableFuture.<Y> supplyAsync(() -> f.apply(x), executor));
+    }
+
+    public static <T> Supplier<T> memoize(final Supplier<? extends T> f, final CachePolicy policy) {
+        return bind(memoize((Function<Object, T>) x -> f.get(), policy), null);
+    }
+
+    /**
+     * Create memoized version of the function, which evicts cached values by the policy.
+     *
+     * @param f function
+     * @param policy eviction policy
+     * @return memoized function
+     */
+    public static <X, Y> Function<X, Y> memoize(final Function<? super X, ? extends Y> f, final CachePolicy policy) {
+
+        final MemoCache memo = new MemoCache(policy);
+
+        return x -> {
+            final Object key = Memo.mask(x);
+            final Object val = memo.get(key);
+            return (val != null) ? Memo.unmask(val) : memo.put(key, f.apply(x));
+        };
+    }
+
+    public static <X0, X1, Y> BiFunction<X0, X1, Y> memoize(final BiFunction<? super X0, ? super X1, ? extends Y> f,
+        final CachePolicy policy) {
+
+        final MemoCache memo = new MemoCache(policy);
+
+        return (x0, x1) -> {
+            final Object key = new Memo.Key2(x0, x1);
+            final Object val = memo.get(key);
+            return (val != null) ? Memo.unmask(val) : memo.put(key, f.apply(x0, x1));
+        };
+    }
+
+    public static <X0, X1, X2, Y> Function3<X0, X1, X2, Y> memoize(
+        final Function3<? super X0, ? super X1, ? super X2, ? extends Y> f, final CachePolicy policy) {
+
+        final MemoCache memo = new MemoCache(policy);
+
+        return (x0, x1, x2) -> {
+            final Object key = new Memo.Key3(x0, x1, x2);
+            final Object val = memo.get(key);
+            return (val != null) ? Memo.unmask(val) : memo.put(key, f.apply(x0, x1, x2));
+        };
+    }
+
+    public static <X0, X1, X2, X3, Y> Function4<X0, X1, X2, X3, Y> memoize(
+        final Function4<? super X0, ? super X1, ? super X2, ? super X3, ? extends Y> f, final CachePolicy policy) {
+
+        final MemoCache memo = new MemoCache(policy);
+
+        return (x0, x1, x2, x3) -> {
+            final Object key = new Memo.Key4(x0, x1, x2, x3);
+            final Object val = memo.get(key);
+            return (val != null) ? Memo.unmask(val) : memo.put(key, f.apply(x0, x1, x2, x3));
+        };
+    }
+
+    public static <T> Predicate<T> memoize(final Predicate<? super T> f, final CachePolicy policy) {
+
+        final Function<T, Boolean> memoized = memoize(functionOf((final T x) -> f.test(x)), policy);
+
+        return memoized::apply;
+    }
+
+    public static <X0, X1> BiPredicate<X0, X1> memoize(final BiPredicate<? super X0, ? super X1> f,
+        final CachePolicy policy) {
+
+        final BiFunction<X0, X1, Boolean> memoized =
+            memoize(function2Of((final X0 x0, final X1 x1) -> f.test(x0, x1)), policy);
+
+        return memoized::apply;
+    }
+
+    public static <X0, X1, X2> Predicate3<X0, X1, X2> memoize(final Predicate3<? super X0, ? super X1, ? super X2> f,
+        final CachePolicy policy) {
+
+        final Function3<X0, X1, X2, Boolean> memoized =
+            memoize(function4Of((final X0 x0, final X1 x1, final X2 x2) -> f.test(x0, x1, x2)), policy);
+
+        return memoized::apply;
+    }
+
+    /**
+     * Create synchronized version of the function.
+     * Since the lock is reentrant, the function can call itself recursively.
+     *
+     * @param f function
+     * @return synchronized function
+     */
+    public static <X, Y> Function<X, Y> synchronize(final Function<? super X, ? extends Y> f) {
+
+        final Object lock = new Object();
+
+        return x -> {
+            synchronized (lock) {
+                return f.apply(x);
+            }
+        };
+    }
+
+    public static <X0, X1, Y> BiFunction<X0, X1, Y> synchronize(final BiFunction<? super X0, ? super X1, ? extends Y> f) {
+
+        final Object lock = new Object();
+
+        return (x0, x1) -> {
+            synchronized (lock) {
+                return f.apply(x0, x1);
+            }
+        };
+    }
+
+    public static <X0, X1, X2, Y> Function3<X0, X1, X2, Y> synchronize(
+        final Function3<? super X0, ? super X1, ? super X2, ? extends Y> f) {
+
+        final Object lock = new Object();
+
+        return (x0, x1, x2) -> {
+            synchronized (lock) {
+                return f.apply(x0, x1, x2);
+            }
+        };
+    }
+
+    public static <X0, X1, X2, X3, Y> Function4<X0, X1, X2, X3, Y> synchronize(
+        final Function4<? super X0, ? super X1, ? super X2, ? super X3, ? extends Y> f) {
+
+        final Object lock = new Object();
+
+        return (x0, x1, x2, x3) -> {
+            synchronized (lock) {
+                return f.apply(x0, x1, x2, x3);
+            }
+        };
+    }
+
+    public static <T> Predicate<T> synchronize(final Predicate<? super T> f) {
+
+        final Object lock = new Object();
+
+        return x -> {
+            synchronized (lock) {
+                return f.test(x);
+            }
+        };
+    }
+
+    public static <X0, X1> BiPredicate<X0, X1> synchronize(final BiPredicate<? super X0, ? super X1> f) {
+
+        final Object lock = new Object();
+
+        return (x0, x1) -> {
+            synchronized (lock) {
+                return f.test(x0, x1);
+            }
+        };
+    }
+
+    public static <X0, X1, X2> Predicate3<X0, X1, X2> synchronize(
+        final Predicate3<? super X0, ? super X1, ? super X2> f) {
+
+        final Object lock = new Object();
+
+        return (x0, x1, x2) -> {
+            synchronized (lock) {
+                return f.test(x0, x1, x2);
+            }
+        };
+    }
+
+    /**
+     * Create synchronized version of the function, which serializes only the calls of same key.
+     *
+     * @param f function
+     * @param keyFn a function which convert the argument to the lock key
+     * @param stripes the number of locks
+     * @return synchronized function
+     * @see StripedLock
+     */
+    public static <X, Y> Function<X, Y> synchronizeBy(final Function<? super X, ? extends Y> f,
+        final Function<? super X, ?> keyFn, final int stripes) {
+        return synchronizeBy(f, keyFn, StripedLock.of(stripes));
+    }
+
+    /**
+     * Create synchronized version of the function, which serializes only the calls of same key.
+     *
+     * @param f function
+     * @param keyFn a function which convert the argument to the lock key
+     * @param locks locks
+     * @return synchronized function
+     */
+    public static <X, Y> Function<X, Y> synchronizeBy(final Function<? super X, ? extends Y> f,
+        final Function<? super X, ?> keyFn, final StripedLock locks) {
+
+        requireNonNull(keyFn, "keyFn");
+        requireNonNull(locks, "locks");
+
+        return x -> {
+            final Lock lock = locks.lock(keyFn.apply(x));
+            try {
+                return f.apply(x);
+            } finally {
+                lock.unlock();
+            }
+        };
+    }
+
+    public static <T> Predicate<T> synchronizeBy(final Predicate<? super T> f, final Function<? super T, ?> keyFn,
+        final int stripes) {
+        return synchronizeBy(f, keyFn, StripedLock.of(stripes));
+    }
+
+    public static <T> Predicate<T> synchronizeBy(final Predicate<? super T> f, final Function<? super T, ?> keyFn,
+        final StripedLock locks) {
+
+        final Function<T, Boolean> synced = synchronizeBy(functionOf((final T x) -> f.test(x)), keyFn, locks);
+
+        return synced::apply;
+    }
+
     public static SBoolSuppl boolsuppl(final Consumer<? super BooleanSupplier> init,
         final Predicate<? super BooleanSupplier> body) {
         return function(init, body);
@@ -149,19 +483,17 @@ public class Functional {
         requireNonNull(init, "init");
         requireNonNull(body, "body");
 
-        final BoolRef initialized = ref(false);
+        final Once once = new Once();
 
         return new SBoolSuppl(self -> {
-            synchronized (initialized) {
-                initialized.negateIf(false, () -> init.accept(self));
-            }
+            once.run(init, self);
 
             return body.test(self);
         });
     }
 
     public static <T> SSuppl<T> $(final Supplier<? extends T> suppl) {
-        return suppl(self -> {}, self -> suppl.get());
+        return new SSuppl<>(self -> suppl.get());
     }
 
     public static <T> SSuppl<T> suppl(final Consumer<? super Supplier<T>> init,
@@ -175,19 +507,17 @@ public class Functional {
         requireNonNull(init, "init");
         requireNonNull(body, "body");
 
-        final BoolRef initialized = ref(false);
+        final Once once = new Once();
 
         return new SSuppl<>(self -> {
-            synchronized (initialized) {
-                initialized.negateIf(false, () -> init.accept(self));
-            }
+            once.run(init, self);
 
             return body.apply(self);
         });
     }
 
     public static <X, Y> SFunc<X, Y> $(final Function<? super X, ? extends Y> func) {
-        return func(self -> {}, (self, x) -> func.apply(x));
+        return new SFunc<>((self, x) -> func.apply(x));
     }
 
     public static <X, Y> SFunc<X, Y> func(final Consumer<? super Function<X, Y>> init,
@@ -202,19 +532,17 @@ public class Functional {
         requireNonNull(init, "init");
         requireNonNull(body, "body");
 
-        final BoolRef initialized = ref(false);
+        final Once once = new Once();
 
         return new SFunc<>((self, x) -> {
-            synchronized (initialized) {
-                initialized.negateIf(false, () -> init.accept(self));
-            }
+            once.run(init, self);
 
             return body.apply(self, x);
         });
     }
 
     public static <X0, X1, Y> SFunc2<X0, X1, Y> $(final BiFunction<? super X0, ? super X1, ? extends Y> func) {
-        return func2(self -> {}, (self, x0, x1) -> func.apply(x0, x1));
+        return new SFunc2<>((self, x0, x1) -> func.apply(x0, x1));
     }
 
     public static <X0, X1, Y> SFunc2<X0, X1, Y> func2(final Consumer<? super BiFunction<X0, X1, Y>> init,
@@ -229,12 +557,10 @@ public class Functional {
         requireNonNull(init, "init");
         requireNonNull(body, "body");
 
-        final BoolRef initialized = ref(false);
+        final Once once = new Once();
 
         return new SFunc2<>((self, x0, x1) -> {
-            synchronized (initialized) {
-                initialized.negateIf(false, () -> init.accept(self));
-            }
+            once.run(init, self);
 
             return body.apply(self, x0, x1);
         });
@@ -252,19 +578,17 @@ public class Functional {
         requireNonNull(init, "init");
         requireNonNull(body, "body");
 
-        final BoolRef initialized = ref(false);
+        final Once once = new Once();
 
         return new SFunc3<>((self, x0, x1, x2) -> {
-            synchronized (initialized) {
-                initialized.negateIf(false, () -> init.accept(self));
-            }
+            once.run(init, self);
 
             return body.apply(self, x0, x1, x2);
         });
     }
 
     public static <X> SPred<X> $(final Predicate<? super X> pred) {
-        return pred(self -> {}, (self, x) -> pred.test(x));
+        return new SPred<>((self, x) -> pred.test(x));
     }
 
     public static <X> SPred<X> pred(final Consumer<? super Predicate<X>> init,
@@ -279,19 +603,17 @@ public class Functional {
         requireNonNull(init, "init");
         requireNonNull(body, "body");
 
-        final BoolRef initialized = ref(false);
+        final Once once = new Once();
 
         return new SPred<>((self, x) -> {
-            synchronized (initialized) {
-                initialized.negateIf(false, () -> init.accept(self));
-            }
+            once.run(init, self);
 
             return body.test(self, x);
         });
     }
 
     public static <X0, X1> SPred2<X0, X1> $(final BiPredicate<X0, X1> pred) {
-        return pred2(self -> {}, (self, x0, x1) -> pred.test(x0, x1));
+        return new SPred2<>((self, x0, x1) -> pred.test(x0, x1));
     }
 
     public static <X0, X1> SPred2<X0, X1> pred2(final Consumer<? super BiPredicate<X0, X1>> init,
@@ -306,12 +628,10 @@ public class Functional {
         requireNonNull(init, "init");
         requireNonNull(body, "body");
 
-        final BoolRef initialized = ref(false);
+        final Once once = new Once();
 
         return new SPred2<>((self, x0, x1) -> {
-            synchronized (initialized) {
-                initialized.negateIf(false, () -> init.accept(self));
-            }
+            once.run(init, self);
 
             return body.test(self, x0, x1);
         });
@@ -16,7 +16,8 @@ package jp.root42.indolently;
 import java.util.Iterator;
 import java.util.NoSuchElementException;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 import static jp.root42.indolently.Indolently.*;
@@ -39,6 +40,10 @@ public interface Generator<T>
     }
 
     /**
+     * The signal of end of generation.
+     * This has no stack trace, because it's just a control flow. So it's cheap to construct.
+     * Don't share an instance; suppressed exceptions are added to it.
+     *
      * @author takahashikzn
      */
     final class Break
@@ -47,6 +52,94 @@ public interface Generator<T>
         private static final long serialVersionUID = -7710521845711826670L;
 
         private Break() {}
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+
+    /**
+     * The destination of values which a producer yields.
+     *
+     * @param <T> value type
+     * @see Generator#produce(Consumer)
+     */
+    @FunctionalInterface
+    interface Sink<T> {
+
+        /**
+         * Pass the value to the consumer.
+         * This blocks while the handoff buffer is full. If the consumer has been closed, this throws {@link Break}
+         * so that the producer is unwound; don't catch it.
+         *
+         * @param value value
+         */
+        void yield(T value);
+    }
+
+    /**
+     * A generator whose values are pushed by a producer running on another thread.
+     * If the consumer is interrupted while waiting for a value, the generator is closed and
+     * {@link java.util.concurrent.CancellationException} is thrown with the interrupt status kept.
+     *
+     * @param <T> value type
+     * @see Generator#produce(Consumer)
+     */
+    interface Produced<T>
+        extends Generator<T>, AutoCloseable {
+
+        /**
+         * Stop consuming. The producer is interrupted and unwound at its next {@link Sink#yield(Object)}.
+         * This may be called on another thread; then the consumer waiting for a value sees the end of values.
+         */
+        @Override
+        void close();
+    }
+
+    /**
+     * Create a generator from a yield-style producer.
+     * The producer runs on a new daemon thread, and hands values off through a buffer of 16 values.
+     *
+     * @param producer producer
+     * @return generator
+     */
+    static <T> Produced<T> produce(final Consumer<? super Sink<T>> producer) {
+        return produce(producer, 16);
+    }
+
+    /**
+     * Create a generator from a yield-style producer.
+     * The producer runs on a new daemon thread, and blocks while the buffer is full.
+     *
+     * @param producer producer
+     * @param capacity the number of values buffered
+     * @return generator
+     */
+    static <T> Produced<T> produce(final Consumer<? super Sink<T>> producer, final int capacity) {
+
+        return produce(producer, capacity, task -> {
+            final Thread t = new Thread(task, "generator-producer");
+            t.setDaemon(true);
+            t.start();
+        });
+    }
+
+    /**
+     * Create a generator from a yield-style producer.
+     * The producer runs on the executor (e.g. a virtual thread executor where available), and blocks while the
+     * buffer is full.
+     * An exception thrown by the producer is rethrown to the consumer after the values yielded before it.
+     *
+     * @param producer producer
+     * @param capacity the number of values buffered
+     * @param executor executor to run the producer
+     * @return generator
+     */
+    static <T> Produced<T> produce(final Consumer<? super Sink<T>> producer, final int capacity,
+        final Executor executor) {
+
+        return new ProducerGenerator<>(producer, capacity, executor);
     }
 
     /**
@@ -63,19 +156,20 @@ public interface Generator<T>
 
             private boolean stopped; // NOPMD
 
-            private Optional<T> cur; // NOPMD
+            /** {@link SIters#NONE} if not generated yet. */
+            private Object cur = SIters.NONE; // NOPMD
 
             @Override
             public boolean hasNext() {
                 if (this.stopped) {
                     return false;
-                } else if (!isNull(this.cur)) {
+                } else if (this.cur != SIters.NONE) {
                     return true;
                 }
 
                 //noinspection UnusedCatchParameter
                 try {
-                    this.cur = opt(next.apply(env));
+                    this.cur = next.apply(env);
                     return true;
                 } catch (final Break s) {
                     this.stopped = true;
@@ -83,15 +177,14 @@ public interface Generator<T>
                 }
             }
 
-            @SuppressWarnings("OptionalAssignedToNull")
             @Override
             public T next() {
                 if (!this.hasNext()) {
                     throw new NoSuchElementException();
                 }
 
-                final T val = this.cur.get();
-                this.cur = null;
+                final T val = cast(this.cur);
+                this.cur = SIters.NONE;
                 return val;
             }
         };
@@ -0,0 +1,129 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+
+/**
+ * {@link Spliterator} of {@link RandomAccess} list which splits by index.
+ * {@link List#spliterator()} of Java 8 is iterator based unless overridden, which splits poorly.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ */
+final class IndexSpliterator<T>
+    implements Spliterator<T> {
+
+    private final List<T> list;
+
+    private int index;
+
+    /** -1 until bound. */
+    private int fence;
+
+    private int expectedSize;
+
+    /**
+     * constructor.
+     *
+     * @param list random access list
+     */
+    IndexSpliterator(final List<T> list) {
+        this(list, 0, -1, 0);
+    }
+
+    private IndexSpliterator(final List<T> list, final int from, final int fence, final int expectedSize) {
+        this.list = list;
+        this.index = from;
+        this.fence = fence;
+        this.expectedSize = expectedSize;
+    }
+
+    private int fence() {
+        if (this.fence < 0) {
+            this.expectedSize = this.list.size();
+            this.fence = this.expectedSize;
+        }
+
+        return this.fence;
+    }
+
+    private void checkModification() {
+        if (this.list.size() != this.expectedSize) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super T> action) {
+
+        Objects.requireNonNull(action);
+
+        if (this.fence() <= this.index) {
+            return false;
+        }
+
+        action.accept(this.list.get(this.index++));
+        this.checkModification();
+
+        return true;
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super T> action) {
+
+        Objects.requireNonNull(action);
+
+        final int hi = this.fence();
+
+        for (int i = this.index; i < hi; i++) {
+            action.accept(this.list.get(i));
+        }
+
+        this.index = hi;
+        this.checkModification();
+    }
+
+    @Override
+    public Spliterator<T> trySplit() {
+
+        final int hi = this.fence();
+        final int lo = this.index;
+        final int mid = (lo + hi) >>> 1;
+
+        if (mid <= lo) {
+            return null;
+        }
+
+        this.index = mid;
+
+        return new IndexSpliterator<>(this.list, lo, mid, this.expectedSize);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.fence() - this.index;
+    }
+
+    @Override
+    public int characteristics() {
+        return ORDERED | SIZED | SUBSIZED;
+    }
+}
@@ -37,6 +37,8 @@ import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.function.AdaptivePredicate;
+import jp.root42.indolently.function.VarArgs;
 import jp.root42.indolently.ref.BoolRef;
 import jp.root42.indolently.ref.ByteRef;
 import jp.root42.indolently.ref.CharRef;
@@ -401,7 +403,13 @@ public class Indolently {
      * @return new list
      */
     public static <T> SList<T> list(final Iterable<? extends T> elems) {
-        return new SListImpl<T>().pushAll(opt(elems));
+
+        // an empty one is mostly an accumulator; keep the default capacity for it.
+        if (!(elems instanceof Collection) || ((Collection<?>) elems).isEmpty()) {
+            return new SListImpl<T>().pushAll(opt(elems));
+        }
+
+        return new SListImpl<T>(ObjFactory.getInstance().newList(((Collection<?>) elems).size())).pushAll(elems);
     }
 
     /**
@@ -415,12 +423,14 @@ public class Indolently {
     @SuppressWarnings({ "varargs", "RedundantSuppression" })
     public static <T> SList<T> list(final T... elems) {
 
-        final SList<T> list = new SListImpl<>();
-
-        if (elems != null) {
-            Collections.addAll(list, elems);
+        // no argument list() is mostly an accumulator; keep the default capacity for it.
+        if ((elems == null) || (elems.length == 0)) {
+            return new SListImpl<>();
         }
 
+        final SList<T> list = new SListImpl<>(ObjFactory.getInstance().newList(elems.length));
+        Collections.addAll(list, elems);
+
         return list;
     }
 
@@ -665,30 +675,24 @@ public class Indolently {
 
     /**
      * Create a list of {@code int}.
+     * Elements are never boxed. Use {@link SIntList#list()} to convert it to {@code SList<Integer>}.
      *
      * @param elems elements of array
      * @return int list
      */
-    public static SList<Integer> plist(final int... elems) {
-        final SList<Integer> list = list();
-        for (final int e : elems) {
-            list.add(e);
-        }
-        return list;
+    public static SIntList plist(final int... elems) {
+        return SIntList.of(elems);
     }
 
     /**
      * Create a list of {@code long}.
+     * Elements are never boxed. Use {@link SLongList#list()} to convert it to {@code SList<Long>}.
      *
      * @param elems elements of array
      * @return long list
      */
-    public static SList<Long> plist(final long... elems) {
-        final SList<Long> list = list();
-        for (final long e : elems) {
-            list.add(e);
-        }
-        return list;
+    public static SLongList plist(final long... elems) {
+        return SLongList.of(elems);
     }
 
     /**
@@ -721,16 +725,13 @@ public class Indolently {
 
     /**
      * Create a list of {@code double}.
+     * Elements are never boxed. Use {@link SDoubleList#list()} to convert it to {@code SList<Double>}.
      *
      * @param elems elements of array
      * @return double list
      */
-    public static SList<Double> plist(final double... elems) {
-        final SList<Double> list = list();
-        for (final double e : elems) {
-            list.add(e);
-        }
-        return list;
+    public static SDoubleList plist(final double... elems) {
+        return SDoubleList.of(elems);
     }
 
     /**
@@ -789,12 +790,14 @@ public class Indolently {
     @SuppressWarnings({ "varargs", "RedundantSuppression" })
     public static <T> SSet<T> set(final T... elems) {
 
-        final SSet<T> set = new SSetImpl<>();
-
-        if (elems != null) {
-            set.addAll(list(elems));
+        // no argument set() is mostly an accumulator; keep the default capacity for it.
+        if ((elems == null) || (elems.length == 0)) {
+            return new SSetImpl<>();
         }
 
+        final SSet<T> set = new SSetImpl<>(ObjFactory.getInstance().newSet(elems.length));
+        Collections.addAll(set, elems);
+
         return set;
     }
 
@@ -842,19 +845,82 @@ public class Indolently {
         return rslt;
     }
 
+    /**
+     * Remove duplicated elements. The first occurrence is kept, in the order of the original list.
+     * Elements are compared by {@link Object#equals(Object)} through hash lookup, so that costs {@code O(n)}.
+     *
+     * @param elems elements
+     * @return new list which doesn't contain duplication
+     */
     public static <T> SList<T> uniq(final List<? extends T> elems) {
-        return uniq(elems, (x, y) -> equal(x, y));
+        return uniqBy(elems, Function.identity());
     }
 
+    /**
+     * Remove duplicated elements. The first occurrence is kept, in the order of the original list.
+     * Each element is compared with every kept element, so that costs {@code O(n^2)}.
+     * Use {@link #uniqBy(List, Function)} instead of if the equality can be expressed by a key.
+     *
+     * @param elems elements
+     * @param f equality. first argument is the element to test, second one is the kept element.
+     * @return new list which doesn't contain duplication
+     */
     public static <T> SList<T> uniq(final List<? extends T> elems, final BiPredicate<? super T, ? super T> f) {
 
-        return $(elems).reduce(list(), (ret, x) -> {
-            if (ret.isEmpty() || !ret.some(y -> f.test(x, y))) {
+        final SList<T> ret = list();
+
+        for (final T x : elems) {
+            if (!contains(ret, x, f)) {
                 ret.add(x);
             }
+        }
 
-            return ret;
-        });
+        return ret;
+    }
+
+    private static <T> boolean contains(final List<T> list, final T x, final BiPredicate<? super T, ? super T> f) {
+
+        for (int i = 0, size = list.size(); i < size; i++) {
+            if (f.test(x, list.get(i))) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Remove elements which key is duplicated. The first occurrence is kept, in the order of the original list.
+     * Keys are compared by {@link Object#equals(Object)} through hash lookup, so that costs {@code O(n)}.
+     *
+     * @param elems elements
+     * @param f key of the element
+     * @return new list which doesn't contain duplication
+     */
+    public static <T, K> SList<T> uniqBy(final List<? extends T> elems, final Function<? super T, ? extends K> f) {
+
+        final Set<K> seen = ObjFactory.getInstance().newSet();
+        final SList<T> ret = list();
+        boolean seenNull = false;
+
+        for (final T x : elems) {
+
+            final K key = f.apply(x);
+
+            if (key == null) {
+                if (seenNull) {
+                    continue;
+                }
+
+                seenNull = true;
+            } else if (!seen.add(key)) {
+                continue;
+            }
+
+            ret.add(x);
+        }
+
+        return ret;
     }
 
     private static final Function freezer = x -> {
@@ -869,19 +935,59 @@ public class Indolently {
         }
     };
 
+    @SuppressWarnings("unchecked")
+    static <T> T frozen(final T x) {
+        return (T) freezer.apply(x);
+    }
+
+    private static boolean persistent(final Object x) {
+
+        final Object store = (x instanceof SListImpl) ? ((SListImpl<?>) x).getDelegate() //
+            : (x instanceof SSetImpl) ? ((SSetImpl<?>) x).getDelegate() //
+                : (x instanceof SMapImpl) ? ((SMapImpl<?, ?>) x).getDelegate() //
+                    : x;
+
+        return (store instanceof PersistentList) || (store instanceof PersistentSet)
+            || (store instanceof PersistentMap);
+    }
+
+    /**
+     * construct deeply frozen map.
+     * The result is a persistent map, so that {@link SMap#with(Object, Object)} / {@link SMap#without(Object)} of
+     * it cost {@code O(log n)}. Already frozen one is returned as is.
+     *
+     * @param map map to freeze
+     * @return frozen map
+     */
     @SuppressWarnings("unchecked")
     public static <K, V> SMap<K, V> freeze(final Map<? extends K, ? extends V> map) {
-        return $(Collections.unmodifiableMap($(map).map(freezer)));
+        return persistent(map) ? cast(map) : $(PersistentMap.of(map, freezer));
     }
 
+    /**
+     * construct deeply frozen set.
+     * The result is a persistent set, so that {@link SSet#with(Object)} / {@link SSet#without(Object)} of it cost
+     * {@code O(log n)}. Already frozen one is returned as is.
+     *
+     * @param elems set to freeze
+     * @return frozen set
+     */
     @SuppressWarnings("unchecked")
     public static <T> SSet<T> freeze(final Set<? extends T> elems) {
-        return $(Collections.unmodifiableSet($(elems).map(freezer)));
+        return persistent(elems) ? cast(elems) : $(PersistentSet.of(elems, freezer));
     }
 
+    /**
+     * construct deeply frozen list.
+     * The result is a persistent list, so that {@link SList#with(int, Object)} / {@link SList#map(int, Function)}
+     * of it cost {@code O(log n)}. Already frozen one is returned as is.
+     *
+     * @param elems list to freeze
+     * @return frozen list
+     */
     @SuppressWarnings("unchecked")
     public static <T> SList<T> freeze(final List<? extends T> elems) {
-        return $(Collections.unmodifiableList($(elems).map(freezer)));
+        return persistent(elems) ? cast(elems) : $(PersistentList.of(elems, freezer));
     }
 
     /**
@@ -1784,6 +1890,95 @@ public class Indolently {
         return new SMapImpl<>();
     }
 
+    /**
+     * Create new map which keys are {@code int}.
+     *
+     * @return new map
+     */
+    public static <V> SIntObjMap<V> intObjMap() {
+        return new SIntObjMapImpl<>();
+    }
+
+    /**
+     * Create new map which keys are {@code long}.
+     *
+     * @return new map
+     */
+    public static <V> SLongObjMap<V> longObjMap() {
+        return new SLongObjMapImpl<>();
+    }
+
+    /**
+     * Create new map which values are {@code int}.
+     *
+     * @return new map
+     */
+    public static <K> SObjIntMap<K> objIntMap() {
+        return new SObjIntMapImpl<>();
+    }
+
+    /**
+     * Create new map which values are {@code long}.
+     *
+     * @return new map
+     */
+    public static <K> SObjLongMap<K> objLongMap() {
+        return new SObjLongMapImpl<>();
+    }
+
+    /**
+     * Create new thread safe map.
+     * Destructive operations such as {@link SMap#update(Object, Function)} are performed atomically.
+     *
+     * @return new map
+     */
+    public static <K, V> SMap<K, V> cmap() {
+        return new SMapImpl<>(ObjFactory.getInstance().newConcurrentMap());
+    }
+
+    /**
+     * Create new thread safe map which contains all entries of the argument.
+     *
+     * @param map entries
+     * @return new map
+     * @see #cmap()
+     */
+    public static <K, V> SMap<K, V> cmap(final Map<? extends K, ? extends V> map) {
+        return Indolently.<K, V> cmap().pushAll(opt(map));
+    }
+
+    /**
+     * Create new thread safe sorted map.
+     *
+     * @param comp key comparator
+     * @return new map
+     * @see #cmap()
+     */
+    public static <K, V> SMap<K, V> cmap(final Comparator<? super K> comp) {
+        return new SMapImpl<>(
+            ObjFactory.getInstance().newConcurrentSortedMap(Objects.requireNonNull(comp, "comparator")));
+    }
+
+    /**
+     * Create new thread safe set.
+     *
+     * @return new set
+     */
+    public static <T> SSet<T> cset() {
+        return new SSetImpl<>(ObjFactory.getInstance().newConcurrentSet());
+    }
+
+    /**
+     * Create new thread safe set which contains all elements of the argument.
+     *
+     * @param elems elements
+     * @return new set
+     * @see #cset()
+     */
+    public static <T> SSet<T> cset(final Iterable<? extends T> elems) {
+        return Indolently.<T> cset().pushAll(opt(elems));
+    }
+
     /**
      * Just for producing compilation warning.
      *
@@ -2005,14 +2200,19 @@ public class Indolently {
         return (SMap<K, V>) map();
     }
 
-    @SuppressWarnings("unchecked")
+    /**
+     * initial capacity of literal map. most of literal maps have a few entries.
+     * A literal map up to 8 entries is a compact map which iterates in the order of insertion, but don't rely on it;
+     * a larger one is a hash map as same as {@link #map()}, so that the iteration order is unspecified.
+     */
+    private static final int LITERAL_MAP_SIZE = 4;
+
     public static <K, V> SMap<K, V> map(final K key, final V val) {
-        return (SMap<K, V>) map().push(key, val);
+        return new SMapImpl<K, V>(ObjFactory.getInstance().newMap(LITERAL_MAP_SIZE)).push(key, val);
     }
 
-    @SuppressWarnings("unchecked")
     public static <K, V> SMap<K, V> map(final K key, final Optional<? extends V> val) {
-        return (SMap<K, V>) map().push(key, val);
+        return new SMapImpl<K, V>(ObjFactory.getInstance().newMap(LITERAL_MAP_SIZE)).push(key, val);
     }
 
     /**
@@ -2209,7 +2409,10 @@ public class Indolently {
         final K k0, final V v0, final K k1, final V v1, final K k2, final V v2, final K k3, final V v3, final K k4,
         final V v4, final K k5, final V v5, final K k6, final V v6, final K k7, final V v7, final K k8, final V v8) {
 
-        return map(k0, v0, k1, v1, k2, v2, k3, v3, k4, v4, k5, v5, k6, v6, k7, v7).push(k8, v8);
+        // too large for compact map; start with hash map rather than promoting compact one halfway.
+        return new SMapImpl<K, V>(ObjFactory.getInstance().newMap()) //
+            .push(k0, v0).push(k1, v1).push(k2, v2).push(k3, v3).push(k4, v4) //
+            .push(k5, v5).push(k6, v6).push(k7, v7).push(k8, v8);
     }
 
     public static <K, V> SMap<K, V> map( //
@@ -2559,47 +2762,115 @@ public class Indolently {
 
     public static BooleanSupplier and(final BooleanSupplier x0, final BooleanSupplier x1, final BooleanSupplier... x2) {
 
+        if ((x2 == null) || (x2.length == 0)) {
+            Objects.requireNonNull(x0);
+            Objects.requireNonNull(x1);
+
+            return () -> x0.getAsBoolean() && x1.getAsBoolean();
+        }
+
+        final BooleanSupplier[] preds = VarArgs.flat(BooleanSupplier.class, x0, x1, x2);
+
         return () -> {
-            final SList<BooleanSupplier> preds =
-                cast(list(Objects.requireNonNull(x0), Objects.requireNonNull(x1)).pushAll(list(x2)));
+            for (final BooleanSupplier pred : preds) {
+                if (!pred.getAsBoolean()) {
+                    return false;
+                }
+            }
 
-            return preds.every(BooleanSupplier::getAsBoolean);
+            return true;
         };
     }
 
     public static BooleanSupplier or(final BooleanSupplier x0, final BooleanSupplier x1, final BooleanSupplier... x2) {
 
+        if ((x2 == null) || (x2.length == 0)) {
+            Objects.requireNonNull(x0);
+            Objects.requireNonNull(x1);
+
+            return () -> x0.getAsBoolean() || x1.getAsBoolean();
+        }
+
+        final BooleanSupplier[] preds = VarArgs.flat(BooleanSupplier.class, x0, x1, x2);
+
         return () -> {
-            final SList<BooleanSupplier> preds =
-                cast(list(Objects.requireNonNull(x0), Objects.requireNonNull(x1)).pushAll(list(x2)));
+            for (final BooleanSupplier pred : preds) {
+                if (pred.getAsBoolean()) {
+                    return true;
+                }
+            }
 
-            return preds.some(BooleanSupplier::getAsBoolean);
+            return false;
         };
     }
 
+    /**
+     * Create short-circuit conjunction of predicates.
+     * The arguments are flattened into an array once, so that evaluation doesn't allocate anything.
+     *
+     * @param x0 predicate
+     * @param x1 predicate
+     * @param x2 predicates
+     * @return conjunction
+     * @see AdaptivePredicate#and(Predicate, Predicate, Predicate...)
+     */
     @SafeVarargs
     @SuppressWarnings({ "varargs", "RedundantSuppression" })
     public static <T> Predicate<T> and(final Predicate<? super T> x0, final Predicate<? super T> x1,
         final Predicate<? super T>... x2) {
 
+        if ((x2 == null) || (x2.length == 0)) {
+            Objects.requireNonNull(x0);
+            Objects.requireNonNull(x1);
+
+            return y -> x0.test(y) && x1.test(y);
+        }
+
+        final Predicate<? super T>[] preds = VarArgs.flat(Predicate.class, x0, x1, x2);
+
         return y -> {
-            final SList<Predicate<? super T>> preds =
-                cast(list(Objects.requireNonNull(x0), Objects.requireNonNull(x1)).pushAll(list(x2)));
+            for (final Predicate<? super T> pred : preds) {
+                if (!pred.test(y)) {
+                    return false;
+                }
+            }
 
-            return preds.every(z -> z.test(y));
+            return true;
         };
     }
 
+    /**
+     * Create short-circuit disjunction of predicates.
+     * The arguments are flattened into an array once, so that evaluation doesn't allocate anything.
+     *
+     * @param x0 predicate
+     * @param x1 predicate
+     * @param x2 predicates
+     * @return disjunction
+     * @see AdaptivePredicate#or(Predicate, Predicate, Predicate...)
+     */
     @SafeVarargs
     @SuppressWarnings({ "varargs", "RedundantSuppression" })
     public static <T> Predicate<T> or(final Predicate<? super T> x0, final Predicate<? super T> x1,
         final Predicate<? super T>... x2) {
 
+        if ((x2 == null) || (x2.length == 0)) {
+            Objects.requireNonNull(x0);
+            Objects.requireNonNull(x1);
+
+            return y -> x0.test(y) || x1.test(y);
+        }
+
+        final Predicate<? super T>[] preds = VarArgs.flat(Predicate.class, x0, x1, x2);
+
         return y -> {
-            final SList<Predicate<? super T>> preds =
-                cast(list(Objects.requireNonNull(x0), Objects.requireNonNull(x1)).pushAll(list(x2)));
+            for (final Predicate<? super T> pred : preds) {
+                if (pred.test(y)) {
+                    return true;
+                }
+            }
 
-            return preds.some(z -> z.test(y));
+            return false;
         };
     }
 
@@ -2679,14 +2950,29 @@ public class Indolently {
         return eq(itself(), val);
     }
 
+    /**
+     * Create a membership predicate.
+     * If the argument is a {@link Set}, it is used as is. Otherwise, an index of the values is built.
+     *
+     * @param val values
+     * @return membership predicate
+     * @see Membership#of(Collection)
+     */
     public static <T> Predicate<T> in(final Collection<? extends T> val) {
-        return in(itself(), val);
+        return (val instanceof Set) ? val::contains : Membership.of(val);
     }
 
+    /**
+     * Create a membership predicate.
+     *
+     * @param val values
+     * @return membership predicate
+     * @see Membership#of(Collection)
+     */
     @SafeVarargs
     @SuppressWarnings({ "varargs", "RedundantSuppression" })
     public static <T> Predicate<T> in(final T... val) {
-        return in(itself(), val);
+        return Membership.of(val);
     }
 
     public static <X, T extends Comparable<T>> Predicate<X> lt(final Function<X, ? extends T> f, final T r) {
@@ -2770,11 +3056,32 @@ public class Indolently {
     @SafeVarargs
     @SuppressWarnings({ "varargs", "RedundantSuppression" })
     public static <X, T> Predicate<X> in(final Function<X, ? extends T> f, final T... val) {
-        return in(f, list(val));
+        return in(f, Membership.of(val));
     }
 
+    /**
+     * Create a membership predicate of the converted value.
+     * If the argument is a {@link Set}, it is used as is. Otherwise, an index of the values is built.
+     *
+     * @param f converter
+     * @param val values
+     * @return membership predicate
+     * @see Membership#of(Collection)
+     */
     public static <X, T> Predicate<X> in(final Function<X, ? extends T> f, final Collection<? extends T> val) {
-        return x -> val.contains(f.apply(x));
+        return (val instanceof Set) ? x -> val.contains(f.apply(x)) : in(f, Membership.of(val));
+    }
+
+    /**
+     * Create a membership predicate of the converted value.
+     * Use this method to share a large index across predicates.
+     *
+     * @param f converter
+     * @param index prebuilt index
+     * @return membership predicate
+     */
+    public static <X, T> Predicate<X> in(final Function<X, ? extends T> f, final Membership<? super T> index) {
+        return x -> index.test(f.apply(x));
     }
 
     private static final Consumer<?> nop = x -> {};
@@ -0,0 +1,232 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.function.IntConsumer;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+
+/**
+ * Arithmetic progression of {@code int} without boxing.
+ * The iterator is also a {@link PrimitiveIterator.OfInt}, and {@link #spliterator()} is a SIZED spliterator which
+ * splits evenly, so that parallel streams are balanced.
+ *
+ * @author takahashikzn
+ * @see Iterative#intRange(int, int, int)
+ */
+public final class IntRange
+    implements SIter<Integer>, PrimitiveIterator.OfInt {
+
+    private final long delta;
+
+    private long cur;
+
+    /** the number of remaining elements minus one, as unsigned. */
+    private long left;
+
+    private boolean done;
+
+    /**
+     * constructor.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @param step count stepping
+     */
+    IntRange(final int from, final int to, final int step) {
+
+        if (step <= 0) {
+            throw new IllegalArgumentException(String.format("(step = %d) <= 0", step));
+        }
+
+        this.delta = (from <= to) ? step : -step;
+        this.cur = from;
+        this.left = Long.divideUnsigned((from <= to) ? ((long) to - from) : ((long) from - to), step);
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !this.done;
+    }
+
+    @Override
+    public int nextInt() {
+
+        if (this.done) {
+            throw new NoSuchElementException();
+        }
+
+        final long val = this.cur;
+
+        if (this.left == 0) {
+            this.done = true;
+        } else {
+            this.left--;
+            this.cur += this.delta;
+        }
+
+        return (int) val;
+    }
+
+    @Override
+    public void forEachRemaining(final IntConsumer action) {
+
+        Objects.requireNonNull(action);
+
+        while (!this.done) {
+            action.accept(this.nextInt());
+        }
+    }
+
+    /**
+     * Create a spliterator of the remaining elements. This iterator is exhausted.
+     *
+     * @return spliterator
+     */
+    @Override
+    public Spliterator.OfInt spliterator() {
+
+        final Spliterator.OfInt ret = new Split(this.cur, this.left, this.delta, this.done);
+        this.done = true;
+
+        return ret;
+    }
+
+    /**
+     * Create a {@link IntStream} of the remaining elements. This iterator is exhausted.
+     *
+     * @return stream
+     */
+    public IntStream intStream() {
+        return StreamSupport.intStream(this.spliterator(), false);
+    }
+
+    /**
+     * Create a parallel {@link IntStream} of the remaining elements. This iterator is exhausted.
+     *
+     * @return parallel stream
+     */
+    public IntStream parallelIntStream() {
+        return StreamSupport.intStream(this.spliterator(), true);
+    }
+
+    private static final class Split
+        implements Spliterator.OfInt {
+
+        private final long delta;
+
+        private long cur;
+
+        private long left;
+
+        private boolean done;
+
+        Split(final long cur, final long left, final long delta, final boolean done) {
+            this.cur = cur;
+            this.left = left;
+            this.delta = delta;
+            this.done = done;
+        }
+
+        @Override
+        public boolean tryAdvance(final IntConsumer action) {
+
+            if (this.done) {
+                return false;
+            }
+
+            action.accept((int) this.cur);
+
+            if (this.left == 0) {
+                this.done = true;
+            } else {
+                this.left--;
+                this.cur += this.delta;
+            }
+
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(final IntConsumer action) {
+
+            if (this.done) {
+                return;
+            }
+
+            final long delta = this.delta;
+            long val = this.cur;
+            long n = this.left;
+            this.done = true;
+
+            while (true) {
+                action.accept((int) val);
+
+                if (n-- == 0) {
+                    break;
+                }
+
+                val += delta;
+            }
+        }
+
+        @Override
+        public Spliterator.OfInt trySplit() {
+
+            // floor of (left + 1) / 2 without overflow
+            final long prefix = (this.left >>> 1) + (this.left & 1);
+
+            if (this.done || (prefix == 0)) {
+                return null;
+            }
+
+            final Split ret = new Split(this.cur, prefix - 1, this.delta, false);
+            this.cur += this.delta * prefix;
+            this.left -= prefix;
+
+            return ret;
+        }
+
+        private boolean sized() {
+            return (0 <= this.left) && (this.left < Long.MAX_VALUE);
+        }
+
+        @Override
+        public long estimateSize() {
+            return this.done ? 0 : this.sized() ? this.left + 1 : Long.MAX_VALUE;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | IMMUTABLE | NONNULL | DISTINCT | (this.sized() ? SIZED | SUBSIZED : 0)
+                | ((0 < this.delta) ? SORTED : 0);
+        }
+
+        @Override
+        public Comparator<? super Integer> getComparator() {
+
+            if (0 < this.delta) {
+                return null;
+            }
+
+            throw new IllegalStateException();
+        }
+    }
+}
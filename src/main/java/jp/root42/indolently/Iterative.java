@@ -14,15 +14,11 @@
 package jp.root42.indolently;
 
 import java.util.Iterator;
-import java.util.NoSuchElementException;
 import java.util.function.BooleanSupplier;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
-import jp.root42.indolently.ref.LongRef;
-
-import static jp.root42.indolently.Expressive.*;
 import static jp.root42.indolently.Indolently.*;
 
 
@@ -236,8 +232,115 @@ public class Iterative {
      * @return integer iterator.
      */
     public static SIter<Integer> range(final int from, final int to, final int step) {
-        //noinspection UnnecessaryExplicitNumericCast
-        return range((long) from, (long) to, step).map(x -> x.intValue());
+        return intRange(from, to, step);
+    }
+
+    /**
+     * Generate {@code int} iterator without boxing.
+     * The elements are same as {@link #range(int, int)}.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @return integer iterator.
+     */
+    public static IntRange intRange(final int from, final int to) {
+        return intRange(from, to, 1);
+    }
+
+    /**
+     * Generate {@code int} iterator without boxing.
+     * The elements are same as {@link #range(int, int, int)}.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @param step count stepping
+     * @return integer iterator.
+     */
+    public static IntRange intRange(final int from, final int to, final int step) {
+        return new IntRange(from, to, step);
+    }
+
+    /**
+     * Generate {@code int} list without boxing.
+     * The elements are same as {@link #range(int, int)} but eagerly constructed.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @return integer list.
+     */
+    public static SIntList prange(final int from, final int to) {
+        return prange(from, to, 1);
+    }
+
+    /**
+     * Generate {@code int} list without boxing.
+     * The elements are same as {@link #range(int, int, int)} but eagerly constructed.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @param step count stepping
+     * @return integer list.
+     */
+    public static SIntList prange(final int from, final int to, final int step) {
+
+        final int len = rangeLength(from, to, step);
+        final long delta = (from <= to) ? step : -step;
+        final SIntList ret = new SIntList(len);
+
+        for (int i = 0; i < len; i++) {
+            ret.push((int) (from + (delta * i)));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Generate {@code long} list without boxing.
+     * The elements are same as {@link #range(long, long)} but eagerly constructed.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @return long list.
+     */
+    public static SLongList prange(final long from, final long to) {
+        return prange(from, to, 1);
+    }
+
+    /**
+     * Generate {@code long} list without boxing.
+     * The elements are same as {@link #range(long, long, int)} but eagerly constructed.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @param step count stepping
+     * @return long list.
+     */
+    public static SLongList prange(final long from, final long to, final int step) {
+
+        final int len = rangeLength(from, to, step);
+        final long delta = (from <= to) ? step : -step;
+        final SLongList ret = new SLongList(len);
+
+        for (int i = 0; i < len; i++) {
+            ret.push(from + (delta * i));
+        }
+
+        return ret;
+    }
+
+    private static int rangeLength(final long from, final long to, final int step) {
+        if (step <= 0) {
+            throw new IllegalArgumentException(String.format("(step = %d) <= 0", step));
+        }
+
+        // unsigned division avoids overflow of (to - from) on extreme bounds
+        final long len = Long.divideUnsigned((from <= to) ? (to - from) : (from - to), step) + 1;
+
+        if ((len <= 0) || (Integer.MAX_VALUE - 8 < len)) {
+            throw new IllegalArgumentException(String.format("too large range: [%d, %d] step %d", from, to, step));
+        }
+
+        return (int) len;
     }
 
     /**
@@ -278,17 +381,31 @@ public class Iterative {
      * @return integer iterator.
      */
     public static SIter<Long> range(final long from, final long to, final int step) {
-        if (step <= 0) {
-            throw new IllegalArgumentException(String.format("(step = %d) <= 0", step));
-        }
+        return longRange(from, to, step);
+    }
 
-        final Predicate<LongRef> pred = //
-            env -> when(from < to).then(() -> env.val <= to) //
-                .when(to < from).then(() -> to <= env.val) //
-                .none(() -> env.val == from);
+    /**
+     * Generate {@code long} iterator without boxing.
+     * The elements are same as {@link #range(long, long)}.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @return long iterator.
+     */
+    public static LongRange longRange(final long from, final long to) {
+        return longRange(from, to, 1);
+    }
 
-        return iterator(ref(from), pred, env -> match(env) //
-            .when(pred).then(x -> x.getThen(y -> y.val += (from <= to ? step : -step))) //
-            .raise(x -> new NoSuchElementException()));
+    /**
+     * Generate {@code long} iterator without boxing.
+     * The elements are same as {@link #range(long, long, int)}.
+     *
+     * @param from the value start from (inclusive).
+     * @param to the value end to (inclusive).
+     * @param step count stepping
+     * @return long iterator.
+     */
+    public static LongRange longRange(final long from, final long to, final int step) {
+        return new LongRange(from, to, step);
     }
 }
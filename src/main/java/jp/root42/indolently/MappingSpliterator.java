@@ -0,0 +1,81 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+
+/**
+ * {@link Spliterator} which converts each element of another one, keeping its size and splitting policy.
+ *
+ * @param <T> source value type
+ * @param <R> converted value type
+ * @author takahashikzn
+ */
+final class MappingSpliterator<T, R>
+    implements Spliterator<R> {
+
+    private final Spliterator<T> src;
+
+    private final Function<? super T, ? extends R> f;
+
+    /**
+     * constructor.
+     *
+     * @param src the source
+     * @param f converter
+     */
+    MappingSpliterator(final Spliterator<T> src, final Function<? super T, ? extends R> f) {
+        this.src = Objects.requireNonNull(src);
+        this.f = Objects.requireNonNull(f);
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super R> action) {
+
+        Objects.requireNonNull(action);
+
+        return this.src.tryAdvance(x -> action.accept(this.f.apply(x)));
+    }
+
+    @Override
+    public void forEachRemaining(final Consumer<? super R> action) {
+
+        Objects.requireNonNull(action);
+
+        this.src.forEachRemaining(x -> action.accept(this.f.apply(x)));
+    }
+
+    @Override
+    public Spliterator<R> trySplit() {
+
+        final Spliterator<T> split = this.src.trySplit();
+
+        return (split == null) ? null : new MappingSpliterator<>(split, this.f);
+    }
+
+    @Override
+    public long estimateSize() {
+        return this.src.estimateSize();
+    }
+
+    @Override
+    public int characteristics() {
+        // the converter may break distinctness, sort order and non-nullness of elements
+        return this.src.characteristics() & (ORDERED | SIZED | SUBSIZED | IMMUTABLE | CONCURRENT);
+    }
+}
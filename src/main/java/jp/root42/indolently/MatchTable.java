@@ -0,0 +1,195 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Compiled form of {@link Expressive.Matcher}.
+ * Cases are held in flat arrays and evaluated in declaration order without any allocation.
+ * If any case is a type test, the cases which may match are cached per class by {@link ClassValue}, so that type
+ * tests are never evaluated on the hot path. If every case is a type test, dispatch is a single lookup.
+ *
+ * @param <C> context type
+ * @param <T> result type
+ * @author takahashikzn
+ */
+final class MatchTable<C, T>
+    implements Function<C, T> {
+
+    private final Predicate<Object>[] preds;
+
+    private final Class<?>[] types;
+
+    private final Function<Object, T>[] thens;
+
+    private final Function<Object, T> none;
+
+    /** the candidate cases per argument class. {@code null} if no case is a type test. */
+    private final ClassValue<int[]> dispatch;
+
+    /** the candidate cases of {@code null}. */
+    private final int[] nullCandidates;
+
+    private MatchTable(final Predicate<Object>[] preds, final Class<?>[] types, final Function<Object, T>[] thens,
+        final Function<Object, T> none) {
+
+        this.preds = preds;
+        this.types = types;
+        this.thens = thens;
+        this.none = none;
+
+        boolean typeTest = false;
+        for (final Class<?> type : types) {
+            typeTest |= (type != null);
+        }
+
+        this.nullCandidates = candidates(types, null);
+        this.dispatch = !typeTest ? null : new ClassValue<int[]>() {
+
+            @Override
+            protected int[] computeValue(final Class<?> cls) {
+                return candidates(types, cls);
+            }
+        };
+    }
+
+    /**
+     * Select the cases which may match the instance of the class: every predicate case until the first type test
+     * which the class satisfies.
+     */
+    private static int[] candidates(final Class<?>[] types, final Class<?> cls) {
+
+        final int[] rslt = new int[types.length];
+        int n = 0;
+
+        for (int i = 0; i < types.length; i++) {
+
+            if (types[i] == null) {
+                rslt[n++] = i;
+            } else if ((cls != null) && types[i].isAssignableFrom(cls)) {
+                rslt[n++] = i;
+                break;
+            }
+        }
+
+        return Arrays.copyOf(rslt, n);
+    }
+
+    @Override
+    public T apply(final C ctx) {
+
+        if (this.dispatch == null) {
+
+            for (int i = 0; i < this.thens.length; i++) {
+                if (this.preds[i].test(ctx)) {
+                    return this.thens[i].apply(ctx);
+                }
+            }
+
+            return this.none.apply(ctx);
+        }
+
+        // a type test in candidates always matches
+        for (final int i : (ctx == null) ? this.nullCandidates : this.dispatch.get(ctx.getClass())) {
+            if ((this.types[i] != null) || this.preds[i].test(ctx)) {
+                return this.thens[i].apply(ctx);
+            }
+        }
+
+        return this.none.apply(ctx);
+    }
+
+    /**
+     * Declaration of cases.
+     *
+     * @param <C> context type
+     */
+    static final class Builder<C>
+        implements Expressive.Matcher<C> {
+
+        private final List<Predicate<Object>> preds = new ArrayList<>();
+
+        private final List<Class<?>> types = new ArrayList<>();
+
+        private final List<Function<Object, ?>> thens = new ArrayList<>();
+
+        private void add(final Predicate<? super C> pred, final Class<?> type) {
+            this.preds.add(cast(pred));
+            this.types.add(type);
+        }
+
+        private <T> Expressive.Matcher.Then<C, T> then(final Function<? super C, ? extends T> then) {
+            this.thens.add(cast(then));
+            return new ThenImpl<>();
+        }
+
+        private Expressive.Matcher.IntroCase<C> intro() {
+
+            return new Expressive.Matcher.IntroCase<C>() {
+
+                @Override
+                public <T> Expressive.Matcher.Then<C, T> then(final Function<? super C, ? extends T> then) {
+                    return Builder.this.then(then);
+                }
+            };
+        }
+
+        @Override
+        public Expressive.Matcher.IntroCase<C> when(final Predicate<? super C> pred) {
+            this.add(pred, null);
+            return this.intro();
+        }
+
+        @Override
+        public Expressive.Matcher.IntroCase<C> when(final Class<?> type) {
+            this.add(null, type);
+            return this.intro();
+        }
+
+        private final class ThenImpl<T>
+            implements Expressive.Matcher.Then<C, T> {
+
+            @Override
+            public Function<C, T> none(final Function<? super C, ? extends T> none) {
+
+                @SuppressWarnings("unchecked")
+                final Predicate<Object>[] p = Builder.this.preds.toArray(new Predicate[0]);
+                @SuppressWarnings("unchecked")
+                final Function<Object, T>[] f = Builder.this.thens.toArray(new Function[0]);
+
+                return new MatchTable<>(p, Builder.this.types.toArray(new Class<?>[0]), f, cast(none));
+            }
+
+            @Override
+            public Expressive.Matcher.Case<C, T> when(final Predicate<? super C> when) {
+                Builder.this.add(when, null);
+                return Builder.this::then;
+            }
+
+            @Override
+            public Expressive.Matcher.Case<C, T> when(final Class<?> type) {
+                Builder.this.add(null, type);
+                return Builder.this::then;
+            }
+        }
+    }
+}
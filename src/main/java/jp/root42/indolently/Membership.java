@@ -0,0 +1,58 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.function.Predicate;
+
+
+/**
+ * Membership test against a fixed set of values.
+ * The lookup structure is chosen when the index is built:
+ * a {@code ==} / {@code equals} chain for up to three values, a bitset for {@link Enum} or dense integers,
+ * a sorted array with binary search for sparse integers, and a hash set for others.
+ * The index is immutable, so that can be shared across predicates.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ * @see Indolently#in(java.util.function.Function, Membership)
+ */
+@FunctionalInterface
+public interface Membership<T>
+    extends Predicate<T> {
+
+    /**
+     * Build an index of the values.
+     *
+     * @param values values
+     * @return the index
+     */
+    @SafeVarargs
+    @SuppressWarnings({ "varargs", "RedundantSuppression" })
+    static <T> Membership<T> of(final T... values) {
+        return of(Arrays.asList(values));
+    }
+
+    /**
+     * Build an index of the values.
+     * The values are copied, so that any modification of the argument is not reflected to the index.
+     *
+     * @param values values
+     * @return the index
+     */
+    static <T> Membership<T> of(final Collection<? extends T> values) {
+        return Memberships.of(values);
+    }
+}
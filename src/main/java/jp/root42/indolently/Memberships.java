@@ -0,0 +1,152 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.bridge.ObjFactory;
+
+
+/**
+ * Lookup structure selection of {@link Membership}.
+ *
+ * @author takahashikzn
+ */
+final class Memberships {
+
+    private Memberships() {
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    static <T> Membership<T> of(final Collection<? extends T> values) {
+
+        final Object[] vals = values.toArray();
+
+        switch (vals.length) {
+        case 0:
+            return x -> false;
+        case 1:
+            return x -> Indolently.equal(x, vals[0]);
+        case 2:
+            return x -> Indolently.equal(x, vals[0]) || Indolently.equal(x, vals[1]);
+        case 3:
+            return x -> Indolently.equal(x, vals[0]) || Indolently.equal(x, vals[1]) || Indolently.equal(x, vals[2]);
+        default:
+            break;
+        }
+
+        final Class<?> type = commonType(vals);
+
+        if ((type != null) && type.isEnum()) {
+
+            final EnumSet set = EnumSet.noneOf((Class<Enum>) type);
+            for (final Object val : vals) {
+                set.add(val);
+            }
+
+            return set::contains;
+        } else if (type == Integer.class) {
+
+            final long[] longs = new long[vals.length];
+            for (int i = 0; i < vals.length; i++) {
+                longs[i] = (Integer) vals[i];
+            }
+
+            final Predicate<Object> index = integers(longs);
+
+            return x -> (x instanceof Integer) && index.test(x);
+        } else if (type == Long.class) {
+
+            final long[] longs = new long[vals.length];
+            for (int i = 0; i < vals.length; i++) {
+                longs[i] = (Long) vals[i];
+            }
+
+            final Predicate<Object> index = integers(longs);
+
+            return x -> (x instanceof Long) && index.test(x);
+        }
+
+        final Set<Object> set = ObjFactory.getInstance().newSet();
+        boolean hasNull = false;
+
+        for (final Object val : vals) {
+            if (val == null) {
+                hasNull = true;
+            } else {
+                set.add(val);
+            }
+        }
+
+        return hasNull ? (x -> (x == null) || set.contains(x)) : (x -> (x != null) && set.contains(x));
+    }
+
+    /**
+     * @return the class of all values if all of them have same class, otherwise {@code null}
+     */
+    private static Class<?> commonType(final Object[] vals) {
+
+        if (vals[0] == null) {
+            return null;
+        }
+
+        // enum constant which has a body is an instance of anonymous subclass
+        final Class<?> type = (vals[0] instanceof Enum) ? ((Enum<?>) vals[0]).getDeclaringClass() : vals[0].getClass();
+
+        for (final Object val : vals) {
+            if ((val == null) || ((val instanceof Enum) ? (((Enum<?>) val).getDeclaringClass() != type)
+                : (val.getClass() != type))) {
+                return null;
+            }
+        }
+
+        return type;
+    }
+
+    /**
+     * @param vals integer values
+     * @return bitset if the values are dense, otherwise sorted array
+     */
+    private static Predicate<Object> integers(final long[] vals) {
+
+        final long[] sorted = vals.clone();
+        Arrays.sort(sorted);
+
+        final long min = sorted[0];
+        final long max = sorted[sorted.length - 1];
+        final long range = max - min;
+
+        // range may overflow
+        if ((0 <= range) && (range < Math.max(64L * 64, 8L * vals.length))) {
+
+            final long[] bits = new long[(int) (range >>> 6) + 1];
+
+            for (final long val : sorted) {
+                final long offset = val - min;
+                bits[(int) (offset >>> 6)] |= 1L << offset;
+            }
+
+            return x -> {
+                final long offset = ((Number) x).longValue() - min;
+                return (0 <= offset) && (offset <= range) && ((bits[(int) (offset >>> 6)] & (1L << offset)) != 0);
+            };
+        }
+
+        return x -> Arrays.binarySearch(sorted, ((Number) x).longValue()) >= 0;
+    }
+}
@@ -0,0 +1,174 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Objects;
+import java.util.concurrent.ConcurrentMap;
+
+
+/**
+ * Storage helpers of memoized functions.
+ * Memoized values are stored into a {@link ConcurrentMap}, so that looking up a cached value never takes a lock.
+ * The value is computed outside of the map operation, so that a memoized function can call itself recursively.
+ * Two threads may compute a value of same key at the same time, but only the first one is stored and shared.
+ *
+ * @author takahashikzn
+ * @see Functional#memoize(Function4)
+ */
+final class Memo {
+
+    /** the marker of {@code null}, since {@link ConcurrentMap} doesn't accept it. */
+    private static final Object NULL = new Object();
+
+    private Memo() {
+    }
+
+    static Object mask(final Object o) {
+        return (o == null) ? NULL : o;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T unmask(final Object o) {
+        return (o == NULL) ? null : (T) o;
+    }
+
+    /**
+     * Store the computed value unless another thread has stored it already.
+     *
+     * @param memo storage
+     * @param key masked key
+     * @param val computed value
+     * @return the stored value
+     */
+    static <T> T put(final ConcurrentMap<Object, Object> memo, final Object key, final T val) {
+
+        final Object prev = memo.putIfAbsent(key, mask(val));
+
+        return (prev == null) ? val : unmask(prev);
+    }
+
+    static final class Key2 {
+
+        private final Object x0;
+
+        private final Object x1;
+
+        private final int hash;
+
+        Key2(final Object x0, final Object x1) {
+            this.x0 = x0;
+            this.x1 = x1;
+            this.hash = (31 * Objects.hashCode(x0)) + Objects.hashCode(x1);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Key2)) {
+                return false;
+            }
+
+            final Key2 that = (Key2) o;
+
+            return (this.hash == that.hash) && Objects.equals(this.x0, that.x0) && Objects.equals(this.x1, that.x1);
+        }
+    }
+
+    static final class Key3 {
+
+        private final Object x0;
+
+        private final Object x1;
+
+        private final Object x2;
+
+        private final int hash;
+
+        Key3(final Object x0, final Object x1, final Object x2) {
+            this.x0 = x0;
+            this.x1 = x1;
+            this.x2 = x2;
+            this.hash = (31 * ((31 * Objects.hashCode(x0)) + Objects.hashCode(x1))) + Objects.hashCode(x2);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Key3)) {
+                return false;
+            }
+
+            final Key3 that = (Key3) o;
+
+            return (this.hash == that.hash) && Objects.equals(this.x0, that.x0) && Objects.equals(this.x1, that.x1)
+                && Objects.equals(this.x2, that.x2);
+        }
+    }
+
+    static final class Key4 {
+
+        private final Object x0;
+
+        private final Object x1;
+
+        private final Object x2;
+
+        private final Object x3;
+
+        private final int hash;
+
+        Key4(final Object x0, final Object x1, final Object x2, final Object x3) {
+            this.x0 = x0;
+            this.x1 = x1;
+            this.x2 = x2;
+            this.x3 = x3;
+            this.hash = (31 * ((31 * ((31 * Objects.hashCode(x0)) + Objects.hashCode(x1))) + Objects.hashCode(x2)))
+                + Objects.hashCode(x3);
+        }
+
+        @Override
+        public int hashCode() {
+            return this.hash;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+
+            if (this == o) {
+                return true;
+            } else if (!(o instanceof Key4)) {
+                return false;
+            }
+
+            final Key4 that = (Key4) o;
+
+            return (this.hash == that.hash) && Objects.equals(this.x0, that.x0) && Objects.equals(this.x1, that.x1)
+                && Objects.equals(this.x2, that.x2) && Objects.equals(this.x3, that.x3);
+        }
+    }
+}
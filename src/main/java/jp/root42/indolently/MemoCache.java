@@ -0,0 +1,457 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+import jp.root42.indolently.bridge.ObjFactory;
+
+
+/**
+ * Bounded storage of memoized functions.
+ * Reading is lock-free; the access order is updated only if the lock is free at that moment, so that readers never
+ * wait for each other. Writing, eviction and the frequency sketch are guarded by the lock.
+ * Like {@link Memo}, a value is computed outside of the lock, so that a memoized function can call itself recursively.
+ * If the policy is neither bounded nor expiring, neither the lock nor the access order is used at all.
+ * Soft / weak values reclaimed by GC are purged through a {@link ReferenceQueue} at the next store.
+ *
+ * @author takahashikzn
+ * @see CachePolicy
+ */
+final class MemoCache {
+
+    private final CachePolicy policy;
+
+    private final ConcurrentMap<Object, Node> map = ObjFactory.getInstance().newConcurrentMap();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private final Sketch sketch;
+
+    /** whether the access order is maintained, that is, the policy is bounded or expiring. */
+    private final boolean ordered;
+
+    /** {@code null} unless values are soft / weak. */
+    private final ReferenceQueue<Object> reclaimed;
+
+    /** least recently used. */
+    private Node head;
+
+    /** most recently used. */
+    private Node tail;
+
+    private long weight;
+
+    MemoCache(final CachePolicy policy) {
+        this.policy = policy;
+        this.sketch = policy.admission ? new Sketch(policy.maxWeight) : null;
+        this.ordered = policy.bounded() || policy.expiring();
+        this.reclaimed = (policy.strength == CachePolicy.Strength.STRONG) ? null : new ReferenceQueue<>();
+    }
+
+    /**
+     * Look up the cached value.
+     *
+     * @param key masked key
+     * @return masked value, or {@code null} if not cached
+     */
+    Object get(final Object key) {
+
+        final Node node = this.map.get(key);
+        final Object val = (node == null) ? null : node.value();
+
+        if (val == null) {
+            this.miss();
+            return null;
+        }
+
+        if (this.policy.expiring()) {
+
+            final long now = this.policy.ticker.getAsLong();
+
+            if (this.expired(node, now)) {
+                this.miss();
+                return null;
+            }
+
+            node.accessed = now;
+        }
+
+        if (this.policy.stats != null) {
+            this.policy.stats.hit();
+        }
+
+        if (this.policy.bounded() && this.lock.tryLock()) {
+            try {
+                if (node.linked) {
+                    this.unlink(node);
+                    this.link(node);
+                }
+
+                if (this.sketch != null) {
+                    this.sketch.increment(key);
+                }
+            } finally {
+                this.lock.unlock();
+            }
+        }
+
+        return val;
+    }
+
+    /**
+     * Store the computed value unless another thread has stored it already, then evict entries if needed.
+     *
+     * @param key masked key
+     * @param val computed value
+     * @return the stored value
+     * @throws IllegalArgumentException if the weigher returns negative value
+     */
+    <T> T put(final Object key, final T val) {
+
+        final long w = this.policy.bounded() ? this.policy.weigher.applyAsLong(val) : 0;
+
+        if (w < 0) {
+            throw new IllegalArgumentException("negative weight: " + w);
+        }
+
+        if (!this.ordered) {
+            return this.putUnordered(key, val);
+        }
+
+        final long now = this.policy.expiring() ? this.policy.ticker.getAsLong() : 0;
+
+        this.lock.lock();
+        try {
+            this.purge();
+
+            if (this.sketch != null) {
+                this.sketch.increment(key);
+            }
+
+            final Node cur = this.map.get(key);
+
+            if (cur != null) {
+
+                final Object prev = cur.value();
+
+                if ((prev != null) && !this.expired(cur, now)) {
+                    return Memo.unmask(prev);
+                }
+
+                this.evict(cur);
+            }
+
+            while ((this.head != null) && ((this.head.value() == null) || this.expired(this.head, now))) {
+                this.evict(this.head);
+            }
+
+            if (this.policy.maxWeight < w) {
+                return val;
+            }
+
+            while (this.policy.maxWeight < this.weight + w) {
+
+                if ((this.sketch != null) && (this.sketch.frequency(key) <= this.sketch.frequency(this.head.key))) {
+                    return val;
+                }
+
+                this.evict(this.head);
+            }
+
+            final Node node = new Node(key, Memo.mask(val), this.policy.strength, this.reclaimed, w, now);
+            this.map.put(key, node);
+            this.link(node);
+            this.weight += w;
+
+            return val;
+        } finally {
+            this.lock.unlock();
+        }
+    }
+
+    /**
+     * Store the computed value without the lock; there is no access order to maintain.
+     */
+    private <T> T putUnordered(final Object key, final T val) {
+
+        this.purge();
+
+        final Node node = new Node(key, Memo.mask(val), this.policy.strength, this.reclaimed, 0, 0);
+
+        for (;;) {
+
+            final Node cur = this.map.putIfAbsent(key, node);
+
+            if (cur == null) {
+                return val;
+            }
+
+            final Object prev = cur.value();
+
+            if (prev != null) {
+                return Memo.unmask(prev);
+            }
+
+            // reclaimed by GC
+            if (this.map.replace(key, cur, node)) {
+                this.evicted();
+                return val;
+            }
+        }
+    }
+
+    /**
+     * Evict the entries whose value has been reclaimed by GC.
+     * Guarded by the lock if the access order is maintained.
+     */
+    private void purge() {
+
+        if (this.reclaimed == null) {
+            return;
+        }
+
+        for (Reference<?> ref; (ref = this.reclaimed.poll()) != null;) {
+
+            final Node node = ((Value) ref).node();
+
+            if (this.ordered) {
+                if (node.linked) {
+                    this.evict(node);
+                }
+            } else if (this.map.remove(node.key, node)) {
+                this.evicted();
+            }
+        }
+    }
+
+    private boolean expired(final Node node, final long now) {
+        return ((this.policy.expireAfterWrite != 0) && (this.policy.expireAfterWrite <= now - node.written))
+            || ((this.policy.expireAfterAccess != 0) && (this.policy.expireAfterAccess <= now - node.accessed));
+    }
+
+    private void miss() {
+        if (this.policy.stats != null) {
+            this.policy.stats.miss();
+        }
+    }
+
+    private void evict(final Node node) {
+
+        this.map.remove(node.key, node);
+        this.unlink(node);
+        this.weight -= node.weight;
+        this.evicted();
+    }
+
+    private void evicted() {
+        if (this.policy.stats != null) {
+            this.policy.stats.evict();
+        }
+    }
+
+    private void link(final Node node) {
+
+        node.prev = this.tail;
+        node.next = null;
+
+        if (this.tail == null) {
+            this.head = node;
+        } else {
+            this.tail.next = node;
+        }
+
+        this.tail = node;
+        node.linked = true;
+    }
+
+    private void unlink(final Node node) {
+
+        if (node.prev == null) {
+            this.head = node.next;
+        } else {
+            node.prev.next = node.next;
+        }
+
+        if (node.next == null) {
+            this.tail = node.prev;
+        } else {
+            node.next.prev = node.prev;
+        }
+
+        node.prev = node.next = null;
+        node.linked = false;
+    }
+
+    private static final class Node {
+
+        final Object key;
+
+        private final Object strong;
+
+        private final Reference<Object> ref;
+
+        final long weight;
+
+        final long written;
+
+        volatile long accessed;
+
+        Node prev;
+
+        Node next;
+
+        boolean linked;
+
+        Node(final Object key, final Object val, final CachePolicy.Strength strength,
+            final ReferenceQueue<Object> queue, final long weight, final long now) {
+
+            this.key = key;
+            this.strong = (strength == CachePolicy.Strength.STRONG) ? val : null;
+            this.ref = (strength == CachePolicy.Strength.SOFT) ? new SoftValue(val, queue, this)
+                : (strength == CachePolicy.Strength.WEAK) ? new WeakValue(val, queue, this) : null;
+            this.weight = weight;
+            this.written = now;
+            this.accessed = now;
+        }
+
+        /**
+         * @return masked value, or {@code null} if reclaimed by GC
+         */
+        Object value() {
+            return (this.ref == null) ? this.strong : this.ref.get();
+        }
+    }
+
+    /**
+     * A soft / weak reference to the value which knows its node, so that the node is evicted when reclaimed.
+     */
+    private interface Value {
+
+        Node node();
+    }
+
+    private static final class SoftValue
+        extends SoftReference<Object>
+        implements Value {
+
+        private final Node node;
+
+        SoftValue(final Object val, final ReferenceQueue<Object> queue, final Node node) {
+            super(val, queue);
+            this.node = node;
+        }
+
+        @Override
+        public Node node() {
+            return this.node;
+        }
+    }
+
+    private static final class WeakValue
+        extends WeakReference<Object>
+        implements Value {
+
+        private final Node node;
+
+        WeakValue(final Object val, final ReferenceQueue<Object> queue, final Node node) {
+            super(val, queue);
+            this.node = node;
+        }
+
+        @Override
+        public Node node() {
+            return this.node;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4 bit counters, which estimates access frequency of keys.
+     * All counters are halved periodically, so that old history fades out.
+     */
+    private static final class Sketch {
+
+        private static final int[] SEEDS = { 0x97CB3127, 0xB492B66F, 0x9AE16A3B, 0xC6A4A793 };
+
+        private static final int MAX = 15;
+
+        private final byte[] table;
+
+        private final int mask;
+
+        private final int sampleSize;
+
+        private int additions;
+
+        Sketch(final long maxWeight) {
+
+            // 16 counters per entry, up to 1M counters per row. clamp first, or a huge weight overflows.
+            final int width = Integer.highestOneBit((int) Math.max(64, Math.min(maxWeight, 1 << 16) * 16) * 2 - 1);
+
+            this.table = new byte[width * SEEDS.length];
+            this.mask = width - 1;
+            this.sampleSize = width * 10;
+        }
+
+        private int index(final int hash, final int row) {
+
+            int h = (hash + SEEDS[row]) * SEEDS[row];
+            h ^= h >>> 17;
+
+            return (row * (this.mask + 1)) + (h & this.mask);
+        }
+
+        void increment(final Object key) {
+
+            final int hash = key.hashCode();
+            boolean added = false;
+
+            for (int row = 0; row < SEEDS.length; row++) {
+
+                final int i = this.index(hash, row);
+
+                if (this.table[i] < MAX) {
+                    this.table[i]++;
+                    added = true;
+                }
+            }
+
+            if (added && (++this.additions == this.sampleSize)) {
+
+                for (int i = 0; i < this.table.length; i++) {
+                    this.table[i] >>>= 1;
+                }
+
+                this.additions >>>= 1;
+            }
+        }
+
+        int frequency(final Object key) {
+
+            final int hash = key.hashCode();
+            int freq = MAX;
+
+            for (int row = 0; row < SEEDS.length; row++) {
+                freq = Math.min(freq, this.table[this.index(hash, row)]);
+            }
+
+            return freq;
+        }
+    }
+}
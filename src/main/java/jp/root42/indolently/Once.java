@@ -0,0 +1,59 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.function.Consumer;
+
+
+/**
+ * Once-only initialization of the functions built by {@code Functional.function(init, body)}.
+ * After the initialization, {@link #run(Consumer, Object)} is a single volatile read and never takes a lock.
+ * Other threads wait for the initialization in progress, but a recursive call from the initializer itself
+ * doesn't run it again.
+ *
+ * @author takahashikzn
+ */
+final class Once {
+
+    private volatile boolean done;
+
+    /** guarded by {@code this}. */
+    private boolean running;
+
+    /**
+     * Run the initializer unless it has run already.
+     *
+     * @param init initializer
+     * @param self the argument of initializer
+     */
+    <T> void run(final Consumer<? super T> init, final T self) {
+        if (!this.done) {
+            this.init(init, self);
+        }
+    }
+
+    private synchronized <T> void init(final Consumer<? super T> init, final T self) {
+
+        if (this.done || this.running) {
+            return;
+        }
+
+        this.running = true;
+        try {
+            init.accept(self);
+        } finally {
+            this.done = true;
+        }
+    }
+}
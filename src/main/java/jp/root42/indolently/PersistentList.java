@@ -0,0 +1,401 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.RandomAccess;
+import java.util.function.Function;
+
+
+/**
+ * Persistent (immutable and structurally shared) list.
+ * Elements are stored into a 32-way trie and a tail chunk, so that {@link #with(int, Object)},
+ * {@link #plus(Object)} and {@link #minus()} cost {@code O(log32 n)} and share all the untouched chunks with the
+ * original. All the mutators inherited from {@link java.util.List} throw {@link UnsupportedOperationException}.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ * @see Indolently#freeze(java.util.List)
+ */
+final class PersistentList<T>
+    extends AbstractList<T>
+    implements RandomAccess, Serializable {
+
+    private static final long serialVersionUID = 5313462178404245063L;
+
+    private static final int BITS = 5;
+
+    private static final int WIDTH = 1 << BITS;
+
+    private static final int MASK = WIDTH - 1;
+
+    private static final Object[] EMPTY_NODE = new Object[WIDTH];
+
+    private static final PersistentList<?> EMPTY = new PersistentList<>(0, BITS, EMPTY_NODE, new Object[0]);
+
+    private final int size;
+
+    private final int shift;
+
+    private final Object[] root;
+
+    private final Object[] tail;
+
+    private PersistentList(final int size, final int shift, final Object[] root, final Object[] tail) {
+        this.size = size;
+        this.shift = shift;
+        this.root = root;
+        this.tail = tail;
+    }
+
+    /**
+     * @return empty list
+     */
+    @SuppressWarnings("unchecked")
+    static <T> PersistentList<T> empty() {
+        return (PersistentList<T>) EMPTY;
+    }
+
+    /**
+     * construct new list in {@code O(n)}.
+     *
+     * @param elems elements of the list
+     * @param f element converter
+     * @return new list
+     */
+    static <T> PersistentList<T> of(final Collection<?> elems, final Function<Object, ? extends T> f) {
+
+        final Object[] a = elems.toArray();
+
+        for (int i = 0; i < a.length; i++) {
+            a[i] = f.apply(a[i]);
+        }
+
+        return of(a);
+    }
+
+    private static <T> PersistentList<T> of(final Object[] a) {
+
+        final int n = a.length;
+
+        if (n == 0) {
+            return empty();
+        }
+
+        final int tailOff = tailOff(n);
+
+        // build the trie bottom up: leaves first, then group each 32 nodes into a parent node
+        Object[] nodes = new Object[tailOff >>> BITS];
+
+        for (int i = 0; i < nodes.length; i++) {
+            nodes[i] = Arrays.copyOfRange(a, i << BITS, (i + 1) << BITS);
+        }
+
+        int shift = BITS;
+
+        while (WIDTH < nodes.length) {
+
+            final Object[] parents = new Object[(nodes.length + MASK) >>> BITS];
+
+            for (int i = 0; i < parents.length; i++) {
+                parents[i] = Arrays.copyOf(Arrays.copyOfRange(nodes, i << BITS, Math.min((i + 1) << BITS, nodes.length)),
+                    WIDTH);
+            }
+
+            nodes = parents;
+            shift += BITS;
+        }
+
+        return new PersistentList<>(n, shift, Arrays.copyOf(nodes, WIDTH), Arrays.copyOfRange(a, tailOff, n));
+    }
+
+    private static int tailOff(final int size) {
+        return (size < WIDTH) ? 0 : (((size - 1) >>> BITS) << BITS);
+    }
+
+    private Object[] chunkFor(final int i) {
+
+        if (tailOff(this.size) <= i) {
+            return this.tail;
+        }
+
+        Object[] node = this.root;
+
+        for (int level = this.shift; 0 < level; level -= BITS) {
+            node = (Object[]) node[(i >>> level) & MASK];
+        }
+
+        return node;
+    }
+
+    private void checkIndex(final int i) {
+        if ((i < 0) || (this.size <= i)) {
+            throw new IndexOutOfBoundsException(String.format("(index = %d), (size = %d)", i, this.size));
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(final int i) {
+        this.checkIndex(i);
+        return (T) this.chunkFor(i)[i & MASK];
+    }
+
+    /**
+     * Return a list which the element at the position is replaced.
+     *
+     * @param i index of the element
+     * @param val the value
+     * @return new list
+     */
+    PersistentList<T> with(final int i, final T val) {
+
+        this.checkIndex(i);
+
+        if (tailOff(this.size) <= i) {
+            final Object[] newTail = this.tail.clone();
+            newTail[i & MASK] = val;
+            return new PersistentList<>(this.size, this.shift, this.root, newTail);
+        }
+
+        return new PersistentList<>(this.size, this.shift, assoc(this.shift, this.root, i, val), this.tail);
+    }
+
+    private static Object[] assoc(final int level, final Object[] node, final int i, final Object val) {
+
+        final Object[] ret = node.clone();
+
+        if (level == 0) {
+            ret[i & MASK] = val;
+        } else {
+            final int sub = (i >>> level) & MASK;
+            ret[sub] = assoc(level - BITS, (Object[]) node[sub], i, val);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Return a list which the value is appended.
+     *
+     * @param val the value
+     * @return new list
+     */
+    PersistentList<T> plus(final T val) {
+
+        if (this.size - tailOff(this.size) < WIDTH) {
+            final Object[] newTail = Arrays.copyOf(this.tail, this.tail.length + 1);
+            newTail[this.tail.length] = val;
+            return new PersistentList<>(this.size + 1, this.shift, this.root, newTail);
+        }
+
+        // the tail is full: push it into the trie
+        final Object[] newRoot;
+        int newShift = this.shift;
+
+        if ((1 << this.shift) < (this.size >>> BITS)) {
+            newRoot = new Object[WIDTH];
+            newRoot[0] = this.root;
+            newRoot[1] = newPath(this.shift, this.tail);
+            newShift += BITS;
+        } else {
+            newRoot = this.pushTail(this.shift, this.root, this.tail);
+        }
+
+        return new PersistentList<>(this.size + 1, newShift, newRoot, new Object[] { val });
+    }
+
+    private Object[] pushTail(final int level, final Object[] parent, final Object[] tailNode) {
+
+        final int sub = ((this.size - 1) >>> level) & MASK;
+        final Object[] ret = parent.clone();
+
+        if (level == BITS) {
+            ret[sub] = tailNode;
+        } else {
+            final Object[] child = (Object[]) parent[sub];
+            ret[sub] = (child == null) ? newPath(level - BITS, tailNode) : this.pushTail(level - BITS, child, tailNode);
+        }
+
+        return ret;
+    }
+
+    private static Object[] newPath(final int level, final Object[] node) {
+
+        if (level == 0) {
+            return node;
+        }
+
+        final Object[] ret = new Object[WIDTH];
+        ret[0] = newPath(level - BITS, node);
+        return ret;
+    }
+
+    /**
+     * Return a list which the last element is removed.
+     *
+     * @return new list
+     * @throws NoSuchElementException if empty
+     */
+    PersistentList<T> minus() {
+
+        if (this.size == 0) {
+            throw new NoSuchElementException();
+        } else if (this.size == 1) {
+            return empty();
+        } else if (1 < this.size - tailOff(this.size)) {
+            return new PersistentList<>(this.size - 1, this.shift, this.root,
+                Arrays.copyOf(this.tail, this.tail.length - 1));
+        }
+
+        // the tail becomes empty: pull the last leaf out of the trie
+        final Object[] newTail = this.chunkFor(this.size - 2);
+
+        Object[] newRoot = this.popTail(this.shift, this.root);
+        int newShift = this.shift;
+
+        if (newRoot == null) {
+            newRoot = EMPTY_NODE;
+        }
+
+        if ((BITS < this.shift) && (newRoot[1] == null)) {
+            newRoot = (Object[]) newRoot[0];
+            newShift -= BITS;
+        }
+
+        return new PersistentList<>(this.size - 1, newShift, newRoot, newTail);
+    }
+
+    private Object[] popTail(final int level, final Object[] node) {
+
+        final int sub = ((this.size - 2) >>> level) & MASK;
+
+        if (BITS < level) {
+
+            final Object[] child = this.popTail(level - BITS, (Object[]) node[sub]);
+
+            if ((child == null) && (sub == 0)) {
+                return null;
+            }
+
+            final Object[] ret = node.clone();
+            ret[sub] = child;
+            return ret;
+        } else if (sub == 0) {
+            return null;
+        }
+
+        final Object[] ret = node.clone();
+        ret[sub] = null;
+        return ret;
+    }
+
+    /**
+     * Return a list which the element at the position is removed.
+     * Removing the last element costs {@code O(log32 n)}; otherwise {@code O(n)} since all the following elements
+     * are shifted.
+     *
+     * @param i index of the element
+     * @return new list
+     */
+    PersistentList<T> without(final int i) {
+
+        this.checkIndex(i);
+
+        if (i == this.size - 1) {
+            return this.minus();
+        }
+
+        final Object[] all = this.toArray();
+        final Object[] a = new Object[this.size - 1];
+
+        System.arraycopy(all, 0, a, 0, i);
+        System.arraycopy(all, i + 1, a, i, this.size - i - 1);
+
+        return of(a);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+
+        return new Iterator<T>() {
+
+            private int i;
+
+            private Object[] chunk = (0 < PersistentList.this.size) ? PersistentList.this.chunkFor(0) : null;
+
+            @Override
+            public boolean hasNext() {
+                return this.i < PersistentList.this.size;
+            }
+
+            @SuppressWarnings("unchecked")
+            @Override
+            public T next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                if ((this.i != 0) && ((this.i & MASK) == 0)) {
+                    this.chunk = PersistentList.this.chunkFor(this.i);
+                }
+
+                return (T) this.chunk[this.i++ & MASK];
+            }
+        };
+    }
+
+    @Override
+    public Object[] toArray() {
+
+        final Object[] ret = new Object[this.size];
+
+        for (int i = 0; i < this.size; i += WIDTH) {
+            final Object[] chunk = this.chunkFor(i);
+            System.arraycopy(chunk, 0, ret, i, Math.min(WIDTH, this.size - i));
+        }
+
+        return ret;
+    }
+
+    private Object writeReplace() {
+        return new SerialForm(this.toArray());
+    }
+
+    private static final class SerialForm
+        implements Serializable {
+
+        private static final long serialVersionUID = -2938645826101374411L;
+
+        private final Object[] elems;
+
+        SerialForm(final Object[] elems) {
+            this.elems = elems;
+        }
+
+        private Object readResolve() {
+            return of(this.elems);
+        }
+    }
+}
@@ -0,0 +1,707 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import jp.root42.indolently.ref.BoolRef;
+
+
+/**
+ * Persistent (immutable and structurally shared) map.
+ * Entries are stored into a hash array mapped trie, so that {@link #with(Object, Object)} and
+ * {@link #without(Object)} cost {@code O(log32 n)} and share all the untouched nodes with the original.
+ * All the mutators inherited from {@link Map} throw {@link UnsupportedOperationException}.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author takahashikzn
+ * @see Indolently#freeze(Map)
+ */
+final class PersistentMap<K, V>
+    extends AbstractMap<K, V>
+    implements Serializable {
+
+    private static final long serialVersionUID = -6907346585546440658L;
+
+    private static final int BITS = 5;
+
+    private static final int MASK = (1 << BITS) - 1;
+
+    /** the depth of the trie never exceeds this, since every 5 bits of 32 bits hash consume a level. */
+    private static final int MAX_DEPTH = 8;
+
+    /** the marker of {@code null} key. */
+    private static final Object NULL = new Object();
+
+    private static final Object NOT_FOUND = new Object();
+
+    private static final PersistentMap<?, ?> EMPTY = new PersistentMap<>(BitmapNode.EMPTY, 0);
+
+    private final Node root;
+
+    private final int size;
+
+    private PersistentMap(final Node root, final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    /**
+     * @return empty map
+     */
+    @SuppressWarnings("unchecked")
+    static <K, V> PersistentMap<K, V> empty() {
+        return (PersistentMap<K, V>) EMPTY;
+    }
+
+    /**
+     * construct new map in {@code O(n)}.
+     *
+     * @param map entries of the map
+     * @param f value converter
+     * @return new map
+     */
+    static <K, V> PersistentMap<K, V> of(final Map<? extends K, ?> map, final Function<Object, ? extends V> f) {
+
+        final Object[] keys = new Object[map.size()];
+        final Object[] vals = new Object[keys.length];
+
+        int i = 0;
+        for (final Map.Entry<? extends K, ?> e : map.entrySet()) {
+            keys[i] = e.getKey();
+            vals[i] = f.apply(e.getValue());
+            i++;
+        }
+
+        return of(keys, vals);
+    }
+
+    /**
+     * construct new map in {@code O(n)}.
+     * If there are duplicated keys, one of them is taken.
+     *
+     * @param keys keys of the map
+     * @param vals values of the map
+     * @return new map
+     */
+    static <K, V> PersistentMap<K, V> of(final Object[] keys, final Object[] vals) {
+
+        if (keys.length == 0) {
+            return empty();
+        }
+
+        final Builder b = new Builder(keys, vals);
+        final Node root = b.build(0, 0, keys.length);
+
+        return new PersistentMap<>(root, b.size);
+    }
+
+    private static Object mask(final Object key) {
+        return (key == null) ? NULL : key;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T unmask(final Object key) {
+        return (key == NULL) ? null : (T) key;
+    }
+
+    private static int hash(final Object maskedKey) {
+        final int h = maskedKey.hashCode();
+        return h ^ (h >>> 16);
+    }
+
+    private static int bit(final int hash, final int shift) {
+        return 1 << ((hash >>> shift) & MASK);
+    }
+
+    private static boolean eq(final Object l, final Object r) {
+        return (l == r) || l.equals(r);
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    private Object find(final Object key) {
+        final Object k = mask(key);
+        return this.root.find(0, hash(k), k);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return this.find(key) != NOT_FOUND;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V get(final Object key) {
+
+        final Object v = this.find(key);
+
+        return (v == NOT_FOUND) ? null : (V) v;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+
+        final Object v = this.find(key);
+
+        return (v == NOT_FOUND) ? defaultValue : (V) v;
+    }
+
+    /**
+     * Return a map which the key is associated with the value.
+     *
+     * @param key the key
+     * @param val the value
+     * @return new map
+     */
+    PersistentMap<K, V> with(final K key, final V val) {
+
+        final Object k = mask(key);
+        final BoolRef added = Indolently.ref(false);
+        final Node newRoot = this.root.assoc(0, hash(k), k, val, added);
+
+        return (newRoot == this.root) ? this : new PersistentMap<>(newRoot, added.val ? this.size + 1 : this.size);
+    }
+
+    /**
+     * Return a map which the key is removed.
+     *
+     * @param key the key
+     * @return new map
+     */
+    PersistentMap<K, V> without(final Object key) {
+
+        final Object k = mask(key);
+        final Node newRoot = this.root.dissoc(0, hash(k), k);
+
+        if (newRoot == this.root) {
+            return this;
+        }
+
+        return (newRoot == null) ? empty() : new PersistentMap<>(newRoot, this.size - 1);
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+
+        return new AbstractSet<Map.Entry<K, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return PersistentMap.this.iterator((k, v) -> new AbstractMap.SimpleImmutableEntry<>(k, v));
+            }
+
+            @Override
+            public int size() {
+                return PersistentMap.this.size;
+            }
+        };
+    }
+
+    /**
+     * @param <R> iteration value type
+     * @param f convert key and value to iteration value
+     * @return iterator of all entries
+     */
+    <R> Iterator<R> iterator(final BiFunction<? super K, ? super V, ? extends R> f) {
+        return new NodeIterator<>(this.root, f);
+    }
+
+    private Object writeReplace() {
+
+        final Object[] keys = new Object[this.size];
+        final Object[] vals = new Object[this.size];
+
+        int i = 0;
+        for (final Map.Entry<K, V> e : this.entrySet()) {
+            keys[i] = e.getKey();
+            vals[i] = e.getValue();
+            i++;
+        }
+
+        return new SerialForm(keys, vals);
+    }
+
+    private static final class SerialForm
+        implements Serializable {
+
+        private static final long serialVersionUID = 3107561795937040385L;
+
+        private final Object[] keys;
+
+        private final Object[] vals;
+
+        SerialForm(final Object[] keys, final Object[] vals) {
+            this.keys = keys;
+            this.vals = vals;
+        }
+
+        private Object readResolve() {
+            return of(this.keys, this.vals);
+        }
+    }
+
+    /**
+     * trie node.
+     * The array of each node consists of key/value pairs; {@code null} key means the value is a child node.
+     */
+    private abstract static class Node {
+
+        final Object[] array;
+
+        Node(final Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node assoc(int shift, int hash, Object key, Object val, BoolRef added);
+
+        /**
+         * @return {@code null} if this node became empty
+         */
+        abstract Node dissoc(int shift, int hash, Object key);
+    }
+
+    private static final class BitmapNode
+        extends Node {
+
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(final int bitmap, final Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(this.bitmap & (bit - 1)) << 1;
+        }
+
+        @Override
+        Object find(final int shift, final int hash, final Object key) {
+
+            final int bit = bit(hash, shift);
+
+            if ((this.bitmap & bit) == 0) {
+                return NOT_FOUND;
+            }
+
+            final int i = this.index(bit);
+            final Object k = this.array[i];
+
+            if (k == null) {
+                return ((Node) this.array[i + 1]).find(shift + BITS, hash, key);
+            }
+
+            return eq(key, k) ? this.array[i + 1] : NOT_FOUND;
+        }
+
+        @Override
+        Node assoc(final int shift, final int hash, final Object key, final Object val, final BoolRef added) {
+
+            final int bit = bit(hash, shift);
+            final int i = this.index(bit);
+
+            if ((this.bitmap & bit) == 0) {
+
+                final Object[] a = new Object[this.array.length + 2];
+                System.arraycopy(this.array, 0, a, 0, i);
+                a[i] = key;
+                a[i + 1] = val;
+                System.arraycopy(this.array, i, a, i + 2, this.array.length - i);
+
+                added.val = true;
+
+                return new BitmapNode(this.bitmap | bit, a);
+            }
+
+            final Object k = this.array[i];
+            final Object v = this.array[i + 1];
+
+            final Object newVal;
+
+            if (k == null) {
+
+                newVal = ((Node) v).assoc(shift + BITS, hash, key, val, added);
+
+                if (newVal == v) {
+                    return this;
+                }
+            } else if (eq(key, k)) {
+
+                if (v == val) {
+                    return this;
+                }
+
+                newVal = val;
+            } else {
+                added.val = true;
+                return new BitmapNode(this.bitmap, set(this.array, i, null, pair(shift + BITS, k, v, hash, key, val)));
+            }
+
+            return new BitmapNode(this.bitmap, set(this.array, i, k, newVal));
+        }
+
+        @Override
+        Node dissoc(final int shift, final int hash, final Object key) {
+
+            final int bit = bit(hash, shift);
+
+            if ((this.bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int i = this.index(bit);
+            final Object k = this.array[i];
+
+            if (k == null) {
+
+                final Node child = (Node) this.array[i + 1];
+                final Node newChild = child.dissoc(shift + BITS, hash, key);
+
+                if (newChild == child) {
+                    return this;
+                } else if (newChild != null) {
+                    return new BitmapNode(this.bitmap, set(this.array, i, null, newChild));
+                }
+            } else if (!eq(key, k)) {
+                return this;
+            }
+
+            if (this.bitmap == bit) {
+                return null;
+            }
+
+            final Object[] a = new Object[this.array.length - 2];
+            System.arraycopy(this.array, 0, a, 0, i);
+            System.arraycopy(this.array, i + 2, a, i, a.length - i);
+
+            return new BitmapNode(this.bitmap ^ bit, a);
+        }
+
+        private static Object[] set(final Object[] array, final int i, final Object key, final Object val) {
+
+            final Object[] a = array.clone();
+            a[i] = key;
+            a[i + 1] = val;
+            return a;
+        }
+
+        private static Node pair(final int shift, final Object k1, final Object v1, final int h2, final Object k2,
+            final Object v2) {
+
+            final int h1 = hash(k1);
+
+            if (h1 == h2) {
+                return new CollisionNode(h1, new Object[] { k1, v1, k2, v2 });
+            }
+
+            final BoolRef added = Indolently.ref(false);
+
+            return EMPTY.assoc(shift, h1, k1, v1, added).assoc(shift, h2, k2, v2, added);
+        }
+    }
+
+    private static final class CollisionNode
+        extends Node {
+
+        private final int hash;
+
+        CollisionNode(final int hash, final Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        private int indexOf(final Object key) {
+
+            for (int i = 0; i < this.array.length; i += 2) {
+                if (eq(key, this.array[i])) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        Object find(final int shift, final int hash, final Object key) {
+
+            if (hash != this.hash) {
+                return NOT_FOUND;
+            }
+
+            final int i = this.indexOf(key);
+
+            return (i < 0) ? NOT_FOUND : this.array[i + 1];
+        }
+
+        @Override
+        Node assoc(final int shift, final int hash, final Object key, final Object val, final BoolRef added) {
+
+            if (hash != this.hash) {
+                return new BitmapNode(bit(this.hash, shift), new Object[] { null, this }) //
+                    .assoc(shift, hash, key, val, added);
+            }
+
+            final int i = this.indexOf(key);
+
+            if (0 <= i) {
+
+                if (this.array[i + 1] == val) {
+                    return this;
+                }
+
+                final Object[] a = this.array.clone();
+                a[i + 1] = val;
+                return new CollisionNode(hash, a);
+            }
+
+            final Object[] a = Arrays.copyOf(this.array, this.array.length + 2);
+            a[this.array.length] = key;
+            a[this.array.length + 1] = val;
+
+            added.val = true;
+
+            return new CollisionNode(hash, a);
+        }
+
+        @Override
+        Node dissoc(final int shift, final int hash, final Object key) {
+
+            final int i = (hash == this.hash) ? this.indexOf(key) : -1;
+
+            if (i < 0) {
+                return this;
+            } else if (this.array.length == 2) {
+                return null;
+            }
+
+            final Object[] a = new Object[this.array.length - 2];
+            System.arraycopy(this.array, 0, a, 0, i);
+            System.arraycopy(this.array, i + 2, a, i, a.length - i);
+
+            return new CollisionNode(hash, a);
+        }
+    }
+
+    /**
+     * builds a trie at once by partitioning entries with hash bits, so that no intermediate node is constructed.
+     */
+    private static final class Builder {
+
+        private final Object[] keys;
+
+        private final Object[] vals;
+
+        private final int[] hashes;
+
+        private final int[] idx;
+
+        private final int[] work;
+
+        int size;
+
+        Builder(final Object[] keys, final Object[] vals) {
+
+            this.keys = keys;
+            this.vals = vals;
+            this.hashes = new int[keys.length];
+            this.idx = new int[keys.length];
+            this.work = new int[keys.length];
+
+            for (int i = 0; i < keys.length; i++) {
+                keys[i] = mask(keys[i]);
+                this.hashes[i] = hash(keys[i]);
+                this.idx[i] = i;
+            }
+        }
+
+        Node build(final int shift, final int from, final int to) {
+
+            // counting sort by the hash bits of this level
+            final int[] count = new int[MASK + 2];
+
+            for (int i = from; i < to; i++) {
+                count[((this.hashes[this.idx[i]] >>> shift) & MASK) + 1]++;
+            }
+
+            int bitmap = 0;
+            int buckets = 0;
+
+            for (int b = 0; b <= MASK; b++) {
+                if (count[b + 1] != 0) {
+                    bitmap |= 1 << b;
+                    buckets++;
+                }
+
+                count[b + 1] += count[b];
+            }
+
+            for (int i = from; i < to; i++) {
+                this.work[from + count[(this.hashes[this.idx[i]] >>> shift) & MASK]++] = this.idx[i];
+            }
+
+            System.arraycopy(this.work, from, this.idx, from, to - from);
+
+            final Object[] array = new Object[buckets << 1];
+
+            int j = 0;
+            for (int lo = from; lo < to; ) {
+
+                final int bucket = (this.hashes[this.idx[lo]] >>> shift) & MASK;
+
+                int hi = lo + 1;
+                boolean sameHash = true;
+
+                while ((hi < to) && (((this.hashes[this.idx[hi]] >>> shift) & MASK) == bucket)) {
+                    sameHash &= this.hashes[this.idx[hi]] == this.hashes[this.idx[lo]];
+                    hi++;
+                }
+
+                if (hi - lo == 1) {
+                    array[j] = this.keys[this.idx[lo]];
+                    array[j + 1] = this.vals[this.idx[lo]];
+                    this.size++;
+                } else if (sameHash) {
+                    this.collision(array, j, lo, hi);
+                } else {
+                    array[j + 1] = this.build(shift + BITS, lo, hi);
+                }
+
+                j += 2;
+                lo = hi;
+            }
+
+            return new BitmapNode(bitmap, array);
+        }
+
+        private void collision(final Object[] array, final int j, final int lo, final int hi) {
+
+            Object[] a = new Object[0];
+
+            for (int i = lo; i < hi; i++) {
+
+                final Object k = this.keys[this.idx[i]];
+
+                int found = -1;
+                for (int x = 0; x < a.length; x += 2) {
+                    if (eq(k, a[x])) {
+                        found = x;
+                        break;
+                    }
+                }
+
+                if (found < 0) {
+                    a = Arrays.copyOf(a, a.length + 2);
+                    found = a.length - 2;
+                    a[found] = k;
+                    this.size++;
+                }
+
+                a[found + 1] = this.vals[this.idx[i]];
+            }
+
+            if (a.length == 2) {
+                array[j] = a[0];
+                array[j + 1] = a[1];
+            } else {
+                array[j + 1] = new CollisionNode(this.hashes[this.idx[lo]], a);
+            }
+        }
+    }
+
+    private static final class NodeIterator<K, V, R>
+        implements Iterator<R> {
+
+        private final BiFunction<? super K, ? super V, ? extends R> f;
+
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+
+        private final int[] pos = new int[MAX_DEPTH];
+
+        private int depth;
+
+        private int cur = -1;
+
+        NodeIterator(final Node root, final BiFunction<? super K, ? super V, ? extends R> f) {
+            this.f = Objects.requireNonNull(f);
+            this.arrays[0] = root.array;
+            this.advance();
+        }
+
+        private void advance() {
+
+            while (0 <= this.depth) {
+
+                final Object[] a = this.arrays[this.depth];
+                final int p = this.pos[this.depth];
+
+                if (a.length <= p) {
+                    this.depth--;
+                    continue;
+                }
+
+                this.pos[this.depth] = p + 2;
+
+                if (a[p] != null) {
+                    this.cur = p;
+                    return;
+                }
+
+                this.depth++;
+                this.arrays[this.depth] = ((Node) a[p + 1]).array;
+                this.pos[this.depth] = 0;
+            }
+
+            this.cur = -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return 0 <= this.cur;
+        }
+
+        @SuppressWarnings("unchecked")
+        @Override
+        public R next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Object[] a = this.arrays[this.depth];
+            final int p = this.cur;
+
+            this.advance();
+
+            return this.f.apply(unmask(a[p]), (V) a[p + 1]);
+        }
+    }
+}
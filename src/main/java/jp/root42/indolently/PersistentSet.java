@@ -0,0 +1,105 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Function;
+
+
+/**
+ * Persistent (immutable and structurally shared) set.
+ * This is a key set of {@link PersistentMap}, so that {@link #with(Object)} and {@link #without(Object)} cost
+ * {@code O(log32 n)}. All the mutators inherited from {@link Set} throw {@link UnsupportedOperationException}.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ * @see Indolently#freeze(Set)
+ */
+final class PersistentSet<T>
+    extends AbstractSet<T>
+    implements Serializable {
+
+    private static final long serialVersionUID = 2230546618047936281L;
+
+    private final PersistentMap<T, Boolean> map;
+
+    private PersistentSet(final PersistentMap<T, Boolean> map) {
+        this.map = map;
+    }
+
+    /**
+     * construct new set in {@code O(n)}.
+     *
+     * @param elems elements of the set
+     * @param f element converter
+     * @return new set
+     */
+    static <T> PersistentSet<T> of(final Collection<?> elems, final Function<Object, ? extends T> f) {
+
+        final Object[] keys = elems.toArray();
+        final Object[] vals = new Object[keys.length];
+
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = f.apply(keys[i]);
+            vals[i] = Boolean.TRUE;
+        }
+
+        return new PersistentSet<>(PersistentMap.of(keys, vals));
+    }
+
+    /**
+     * Return a set which contains the value.
+     *
+     * @param val the value
+     * @return new set
+     */
+    PersistentSet<T> with(final T val) {
+
+        final PersistentMap<T, Boolean> newMap = this.map.with(val, Boolean.TRUE);
+
+        return (newMap == this.map) ? this : new PersistentSet<>(newMap);
+    }
+
+    /**
+     * Return a set which doesn't contain the value.
+     *
+     * @param val the value
+     * @return new set
+     */
+    PersistentSet<T> without(final Object val) {
+
+        final PersistentMap<T, Boolean> newMap = this.map.without(val);
+
+        return (newMap == this.map) ? this : new PersistentSet<>(newMap);
+    }
+
+    @Override
+    public int size() {
+        return this.map.size();
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return this.map.containsKey(o);
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this.map.iterator((k, v) -> k);
+    }
+}
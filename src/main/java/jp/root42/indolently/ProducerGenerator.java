@@ -0,0 +1,210 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+
+
+/**
+ * {@link Generator.Produced} implementation.
+ * The producer pushes values into a bounded queue, and the consumer pulls them out of it.
+ * The end of values and a failure of the producer are passed through the queue as well, so that the consumer sees
+ * them after all values yielded before.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ */
+final class ProducerGenerator<T>
+    implements Generator.Produced<T> {
+
+    /** the marker of {@code null} value, because {@link BlockingQueue} doesn't accept it. */
+    private static final Object NULL = new Object();
+
+    /** the marker of end of values. */
+    private static final Object END = new Object();
+
+    private final BlockingQueue<Object> queue;
+
+    private volatile boolean closed;
+
+    /** the thread running the producer. guarded by {@code this}. */
+    private Thread producerThread;
+
+    /** volatile, because {@link #close()} may be called on another thread. */
+    private volatile Object cur = SIters.NONE;
+
+    private volatile boolean done;
+
+    ProducerGenerator(final Consumer<? super Generator.Sink<T>> producer, final int capacity,
+        final Executor executor) {
+
+        Objects.requireNonNull(producer);
+
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+
+        this.queue = new ArrayBlockingQueue<>(capacity);
+
+        executor.execute(() -> this.run(producer));
+    }
+
+    private void run(final Consumer<? super Generator.Sink<T>> producer) {
+
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            this.producerThread = Thread.currentThread();
+        }
+
+        final Generator.Sink<T> sink = this::yield;
+
+        try {
+            producer.accept(sink);
+            this.send(END);
+        } catch (final Generator.Break e) {
+            // cancelled by the consumer, or the producer just breaks.
+            this.send(END);
+        } catch (final Throwable e) {
+            this.send(new Failure(e));
+        } finally {
+            synchronized (this) {
+                this.producerThread = null;
+                // don't leave the interruption of close() to a pooled thread.
+                Thread.interrupted();
+            }
+        }
+    }
+
+    private void yield(final T value) {
+        if (!this.send((value == null) ? NULL : value)) {
+            Generator.breaks();
+        }
+    }
+
+    private boolean send(final Object value) {
+
+        if (this.closed) {
+            return false;
+        }
+
+        try {
+            this.queue.put(value);
+            return true;
+        } catch (final InterruptedException e) {
+            return false;
+        }
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        if (this.cur != SIters.NONE) {
+            return true;
+        }
+
+        if (this.done) {
+            return false;
+        }
+
+        final Object val;
+        try {
+            val = this.queue.take();
+        } catch (final InterruptedException e) {
+            // don't disguise the interruption as the end of values, which silently truncates them.
+            Thread.currentThread().interrupt();
+            this.close();
+            throw new CancellationException("interrupted while waiting for the producer");
+        }
+
+        if ((val == END) || this.closed) {
+            this.done = true;
+            return false;
+        }
+
+        if (val instanceof Failure) {
+            this.done = true;
+
+            final Throwable e = ((Failure) val).cause;
+
+            if (e instanceof RuntimeException) {
+                throw (RuntimeException) e;
+            } else if (e instanceof Error) {
+                throw (Error) e;
+            } else {
+                throw new Expressive.RaisedException(e);
+            }
+        }
+
+        this.cur = val;
+
+        return true;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T next() {
+
+        if (!this.hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        final Object val = this.cur;
+        this.cur = SIters.NONE;
+
+        return (val == NULL) ? null : (T) val;
+    }
+
+    @Override
+    public void close() {
+
+        synchronized (this) {
+            if (this.closed) {
+                return;
+            }
+
+            this.closed = true;
+
+            if (this.producerThread != null) {
+                this.producerThread.interrupt();
+            }
+        }
+
+        this.done = true;
+        this.cur = SIters.NONE;
+
+        // the producer never sends END after closed, so wake up the consumer blocked on the queue by itself.
+        // retry, because the producer may put a value just before it notices being closed.
+        do {
+            this.queue.clear();
+        } while (!this.queue.offer(END));
+    }
+
+    private static final class Failure {
+
+        final Throwable cause;
+
+        Failure(final Throwable cause) {
+            this.cause = cause;
+        }
+    }
+}
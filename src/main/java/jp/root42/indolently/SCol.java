@@ -24,6 +24,7 @@ import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import jp.root42.indolently.ref.IntRef;
+import jp.root42.indolently.trait.Aggregatable;
 import jp.root42.indolently.trait.EdgeAwareIterable;
 import jp.root42.indolently.trait.Filterable;
 import jp.root42.indolently.trait.Freezable;
@@ -47,7 +48,7 @@ import static jp.root42.indolently.Indolently.*;
  */
 public interface SCol<T, SELF extends SCol<T, SELF>>
     extends Collection<T>, EdgeAwareIterable<T>, ReducibleIterable<T>, Freezable<SELF>, Identical<SELF>,
-    Loopable<T, SELF>, Filterable<T, SELF>, Matchable<T> {
+    Loopable<T, SELF>, Filterable<T, SELF>, Matchable<T>, Aggregatable<T> {
 
     /**
      * add value then return this instance.
@@ -188,6 +189,16 @@ public interface SCol<T, SELF extends SCol<T, SELF>>
     @Override
     SIter<T> iterator();
 
+    /**
+     * Create a lazy evaluated view of this collection.
+     * Operations on the view are fused into a single pass, which runs on a terminal operation.
+     *
+     * @return a lazy evaluated view of this collection
+     */
+    default SView<T> lazy() {
+        return SView.of(this);
+    }
+
     /**
      * get rest elements of this collection.
      *
@@ -0,0 +1,731 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.OptionalDouble;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.DoubleBinaryOperator;
+import java.util.function.DoubleConsumer;
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+import java.util.stream.DoubleStream;
+
+import jp.root42.indolently.bridge.ObjFactory;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * {@code double} specialized list for indolent person.
+ * Elements are stored into a raw {@code double[]} so that no value is boxed.
+ * This class is intentionally NOT a {@code List<Double>}; use {@link #list()} / {@link #of(Iterable)} to convert
+ * from/to {@link SList} explicitly.
+ *
+ * @author takahashikzn
+ * @see Indolently#plist(double...)
+ */
+public final class SDoubleList
+    implements Iterable<Double>, Serializable, Cloneable {
+
+    private static final long serialVersionUID = -5618244911074533209L;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * {@code double} version of {@link java.util.Comparator}.
+     *
+     * @author takahashikzn
+     */
+    @FunctionalInterface
+    public interface DoubleComparator {
+
+        /**
+         * @param l left side value
+         * @param r right side value
+         * @return negative, zero or positive as {@link java.util.Comparator#compare(Object, Object)}
+         */
+        int compare(double l, double r);
+    }
+
+    private double[] store;
+
+    private int size;
+
+    /**
+     * constructor.
+     */
+    public SDoubleList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * constructor.
+     *
+     * @param capacity initial capacity
+     */
+    public SDoubleList(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format("(capacity = %d) < 0", capacity));
+        }
+
+        this.store = new double[capacity];
+    }
+
+    private SDoubleList(final double[] store, final int size) {
+        this.store = store;
+        this.size = size;
+    }
+
+    /**
+     * construct new list which contains specified elements.
+     *
+     * @param elems elements of the list
+     * @return new list
+     */
+    public static SDoubleList of(final double... elems) {
+        return (elems == null) ? new SDoubleList() : new SDoubleList(elems.clone(), elems.length);
+    }
+
+    /**
+     * construct new list which contains specified elements.
+     * This is the explicit unboxing conversion.
+     *
+     * @param elems elements of the list
+     * @return new list
+     * @throws NullPointerException if any element is null
+     */
+    public static SDoubleList of(final Iterable<Double> elems) {
+
+        final SDoubleList ret =
+            new SDoubleList((elems instanceof Collection) ? ((Collection<?>) elems).size() : INITIAL_CAPACITY);
+
+        if (elems != null) {
+            for (final Double e : elems) {
+                ret.push(e);
+            }
+        }
+
+        return ret;
+    }
+
+    private int idx(final int i) {
+        return 0 <= i ? i : this.size + i;
+    }
+
+    private int checkedIdx(final int i) {
+
+        final int x = this.idx(i);
+
+        if ((x < 0) || (this.size <= x)) {
+            throw new IndexOutOfBoundsException(String.format("(index = %d), (size = %d)", i, this.size));
+        }
+
+        return x;
+    }
+
+    private void ensureCapacity(final int min) {
+        if (this.store.length < min) {
+            final int grown = (this.store.length == 0) ? 4 : (this.store.length + (this.store.length >> 1) + 1);
+            this.store = Arrays.copyOf(this.store, Math.max(min, grown));
+        }
+    }
+
+    /**
+     * @return the number of elements
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return {@code true} if this list contains no element
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Return element at the position.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @return the element
+     * @throws IndexOutOfBoundsException if out of range
+     */
+    public double get(final int i) {
+        return this.store[this.checkedIdx(i)];
+    }
+
+    /**
+     * Return element at the position if exists.
+     * This method never throws {@link IndexOutOfBoundsException}.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @return the element if exists
+     */
+    public OptionalDouble opt(final int i) {
+
+        final int x = this.idx(i);
+
+        return (0 <= x) && (x < this.size) ? OptionalDouble.of(this.store[x]) : OptionalDouble.empty();
+    }
+
+    /**
+     * get first element.
+     *
+     * @return first element
+     * @throws NoSuchElementException if empty
+     */
+    public double head() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.store[0];
+    }
+
+    /**
+     * get last element.
+     *
+     * @return last element
+     * @throws NoSuchElementException if empty
+     */
+    public double last() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.store[this.size - 1];
+    }
+
+    /**
+     * add value then return this instance.
+     *
+     * @param value value to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SDoubleList push(final double value) {
+        this.ensureCapacity(this.size + 1);
+        this.store[this.size++] = value;
+        return this;
+    }
+
+    /**
+     * add all values then return this instance.
+     *
+     * @param values values to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SDoubleList pushAll(final double... values) {
+        return this.append(values, values.length);
+    }
+
+    /**
+     * add all values then return this instance.
+     *
+     * @param values values to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SDoubleList pushAll(final SDoubleList values) {
+        return this.append(values.store, values.size);
+    }
+
+    private SDoubleList append(final double[] values, final int len) {
+        this.ensureCapacity(this.size + len);
+        System.arraycopy(values, 0, this.store, this.size, len);
+        this.size += len;
+        return this;
+    }
+
+    /**
+     * Replace value at the position if exists.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @param val replacement value
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SDoubleList update(final int i, final double val) {
+        return this.update(i, x -> val);
+    }
+
+    /**
+     * Replace value at the position if exists.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SDoubleList update(final int i, final DoubleUnaryOperator f) {
+
+        final int x = this.idx(i);
+
+        if ((0 <= x) && (x < this.size)) {
+            this.store[x] = f.applyAsDouble(this.store[x]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Replace all values.
+     *
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SDoubleList update(final DoubleUnaryOperator f) {
+
+        for (int i = 0; i < this.size; i++) {
+            this.store[i] = f.applyAsDouble(this.store[i]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Find first index of the value.
+     *
+     * @param val the value
+     * @return found index, or {@code -1} if not found
+     */
+    public int indexOf(final double val) {
+
+        for (int i = 0; i < this.size; i++) {
+            if (Double.compare(this.store[i], val) == 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Test this list contains the value or not.
+     *
+     * @param val the value
+     * @return test result
+     */
+    public boolean has(final double val) {
+        return 0 <= this.indexOf(val);
+    }
+
+    /**
+     * internal iterator.
+     *
+     * @param f function
+     * @return {@code this} instance
+     */
+    public SDoubleList each(final DoubleConsumer f) {
+
+        for (int i = 0; i < this.size; i++) {
+            f.accept(this.store[i]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Test whether is there any value which satisfies condition.
+     *
+     * @param f condition
+     * @return test result
+     */
+    public boolean some(final DoublePredicate f) {
+
+        for (int i = 0; i < this.size; i++) {
+            if (f.test(this.store[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Test whether all values satisfy condition.
+     *
+     * @param f condition
+     * @return test result
+     */
+    public boolean every(final DoublePredicate f) {
+        return !this.some(f.negate());
+    }
+
+    /**
+     * Map operation: map value to another value.
+     *
+     * @param f function
+     * @return newly constructed list which contains converted values
+     */
+    public SDoubleList map(final DoubleUnaryOperator f) {
+
+        final double[] ret = new double[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            ret[i] = f.applyAsDouble(this.store[i]);
+        }
+
+        return new SDoubleList(ret, ret.length);
+    }
+
+    /**
+     * Map operation: map value to another type value.
+     *
+     * @param <R> mapped value type
+     * @param f function
+     * @return newly constructed list which contains converted values
+     */
+    public <R> SList<R> mapToObj(final DoubleFunction<? extends R> f) {
+
+        final SList<R> ret = Indolently.list();
+
+        for (int i = 0; i < this.size; i++) {
+            ret.add(f.apply(this.store[i]));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Filter operation: returns values which satisfying condition.
+     * This operation is constructive.
+     *
+     * @param f condition
+     * @return new filtered list
+     */
+    public SDoubleList filter(final DoublePredicate f) {
+
+        final double[] ret = new double[this.size];
+        int len = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            if (f.test(this.store[i])) {
+                ret[len++] = this.store[i];
+            }
+        }
+
+        return new SDoubleList(ret, len);
+    }
+
+    /**
+     * Reduce operation with initial value.
+     *
+     * @param initial initial value
+     * @param f function
+     * @return result value
+     */
+    public double reduce(final double initial, final DoubleBinaryOperator f) {
+
+        double rem = initial;
+
+        for (int i = 0; i < this.size; i++) {
+            rem = f.applyAsDouble(rem, this.store[i]);
+        }
+
+        return rem;
+    }
+
+    /**
+     * Reduce operation.
+     *
+     * @param f function
+     * @return result value, or empty if this list is empty
+     */
+    public OptionalDouble reduce(final DoubleBinaryOperator f) {
+
+        if (this.isEmpty()) {
+            return OptionalDouble.empty();
+        }
+
+        double rem = this.store[0];
+
+        for (int i = 1; i < this.size; i++) {
+            rem = f.applyAsDouble(rem, this.store[i]);
+        }
+
+        return OptionalDouble.of(rem);
+    }
+
+    /**
+     * Sum up all values.
+     *
+     * @return the sum
+     */
+    public double sum() {
+
+        double rem = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            rem += this.store[i];
+        }
+
+        return rem;
+    }
+
+    /**
+     * 'Group By' operation: returns grouped elements as {@link SMap} form.
+     *
+     * @param <K> key type
+     * @param fkey convert element to grouping key
+     * @return grouped elements
+     */
+    public <K> SMap<K, SDoubleList> group(final DoubleFunction<? extends K> fkey) {
+
+        final SMap<K, SDoubleList> ret = $(ObjFactory.getInstance().newFifoMap());
+
+        for (int i = 0; i < this.size; i++) {
+
+            final K key = fkey.apply(this.store[i]);
+
+            SDoubleList grp = ret.get(key);
+
+            if (grp == null) {
+                // most groups are small; let each group grow on demand.
+                grp = new SDoubleList(0);
+                ret.put(key, grp);
+            }
+
+            grp.push(this.store[i]);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Return newly constructed (detached) sub list.
+     *
+     * @param from from index (inclusive). negative index also acceptable.
+     * @return detached sub list
+     * @see SList#slice(int)
+     */
+    public SDoubleList slice(final int from) {
+        return this.slice(from, this.size);
+    }
+
+    /**
+     * Return newly constructed (detached) sub list.
+     * This method never throws {@link IndexOutOfBoundsException}.
+     *
+     * @param from from index (inclusive). negative index also acceptable.
+     * @param to to index (exclusive). negative index also acceptable.
+     * @return detached sub list
+     * @see SList#slice(int, int)
+     */
+    public SDoubleList slice(final int from, final int to) {
+
+        final int fromIndex = Math.max(this.idx(from), 0);
+
+        int toIndex = this.idx(to);
+
+        if (((from < 0) && (to == 0)) || (this.size < toIndex)) {
+            toIndex = this.size;
+        }
+
+        if (toIndex <= fromIndex) {
+            return new SDoubleList();
+        }
+
+        return new SDoubleList(Arrays.copyOfRange(this.store, fromIndex, toIndex), toIndex - fromIndex);
+    }
+
+    /**
+     * Return newly constructed sorted list in natural order.
+     *
+     * @return sorted list
+     */
+    public SDoubleList sort() {
+
+        final SDoubleList ret = this.clone();
+        Arrays.sort(ret.store, 0, ret.size);
+        return ret;
+    }
+
+    /**
+     * Return newly constructed sorted list using comparator.
+     * This sort is stable.
+     *
+     * @param comp comparator
+     * @return sorted list
+     */
+    public SDoubleList sortWith(final DoubleComparator comp) {
+
+        final SDoubleList ret = this.clone();
+        mergeSort(ret.store, Arrays.copyOf(ret.store, ret.size), 0, ret.size, comp);
+        return ret;
+    }
+
+    private static void mergeSort(final double[] dst, final double[] src, final int from, final int to,
+        final DoubleComparator comp) {
+
+        if (to - from < 2) {
+            return;
+        }
+
+        final int mid = (from + to) >>> 1;
+
+        // sort halves of dst into src, then merge them back into dst
+        mergeSort(src, dst, from, mid, comp);
+        mergeSort(src, dst, mid, to, comp);
+
+        for (int i = from, l = from, r = mid; i < to; i++) {
+            if ((r < to) && ((mid <= l) || (comp.compare(src[r], src[l]) < 0))) {
+                dst[i] = src[r++];
+            } else {
+                dst[i] = src[l++];
+            }
+        }
+    }
+
+    /**
+     * Reverse this list.
+     *
+     * @return newly constructed reversed list
+     */
+    public SDoubleList reverse() {
+
+        final double[] ret = new double[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            ret[i] = this.store[this.size - 1 - i];
+        }
+
+        return new SDoubleList(ret, ret.length);
+    }
+
+    /**
+     * Convert this list to {@code double[]}.
+     *
+     * @return newly constructed array
+     */
+    public double[] toArray() {
+        return Arrays.copyOf(this.store, this.size);
+    }
+
+    /**
+     * Convert this list to {@link SList}.
+     * This is the explicit boxing conversion.
+     *
+     * @return newly constructed list
+     */
+    public SList<Double> list() {
+
+        final SList<Double> ret = $(ObjFactory.getInstance().newList());
+
+        for (int i = 0; i < this.size; i++) {
+            ret.add(this.store[i]);
+        }
+
+        return ret;
+    }
+
+    /**
+     * create a {@link DoubleStream} view of this list.
+     *
+     * @return {@link DoubleStream} view of this list
+     */
+    public DoubleStream stream() {
+        return Arrays.stream(this.store, 0, this.size);
+    }
+
+    @Override
+    public Spliterator.OfDouble spliterator() {
+        return Spliterators.spliterator(this.store, 0, this.size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public PrimitiveIterator.OfDouble iterator() {
+
+        return new PrimitiveIterator.OfDouble() {
+
+            private int pos;
+
+            @Override
+            public boolean hasNext() {
+                return this.pos < SDoubleList.this.size;
+            }
+
+            @Override
+            public double nextDouble() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return SDoubleList.this.store[this.pos++];
+            }
+        };
+    }
+
+    /**
+     * Clone this instance.
+     *
+     * @return clone of this instance
+     * @see Cloneable
+     */
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public SDoubleList clone() {
+        return new SDoubleList(this.toArray(), this.size);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int h = 1;
+
+        for (int i = 0; i < this.size; i++) {
+            h = 31 * h + Double.hashCode(this.store[i]);
+        }
+
+        return h;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        } else if (!(o instanceof SDoubleList)) {
+            return false;
+        }
+
+        final SDoubleList that = (SDoubleList) o;
+
+        if (this.size != that.size) {
+            return false;
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            if (Double.compare(this.store[i], that.store[i]) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+}
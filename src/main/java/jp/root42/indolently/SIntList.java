@@ -0,0 +1,731 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.OptionalInt;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntBinaryOperator;
+import java.util.function.IntConsumer;
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+import jp.root42.indolently.bridge.ObjFactory;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * {@code int} specialized list for indolent person.
+ * Elements are stored into a raw {@code int[]} so that no value is boxed.
+ * This class is intentionally NOT a {@code List<Integer>}; use {@link #list()} / {@link #of(Iterable)} to convert
+ * from/to {@link SList} explicitly.
+ *
+ * @author takahashikzn
+ * @see Indolently#plist(int...)
+ */
+public final class SIntList
+    implements Iterable<Integer>, Serializable, Cloneable {
+
+    private static final long serialVersionUID = -2430166452780185071L;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * {@code int} version of {@link java.util.Comparator}.
+     *
+     * @author takahashikzn
+     */
+    @FunctionalInterface
+    public interface IntComparator {
+
+        /**
+         * @param l left side value
+         * @param r right side value
+         * @return negative, zero or positive as {@link java.util.Comparator#compare(Object, Object)}
+         */
+        int compare(int l, int r);
+    }
+
+    private int[] store;
+
+    private int size;
+
+    /**
+     * constructor.
+     */
+    public SIntList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * constructor.
+     *
+     * @param capacity initial capacity
+     */
+    public SIntList(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format("(capacity = %d) < 0", capacity));
+        }
+
+        this.store = new int[capacity];
+    }
+
+    private SIntList(final int[] store, final int size) {
+        this.store = store;
+        this.size = size;
+    }
+
+    /**
+     * construct new list which contains specified elements.
+     *
+     * @param elems elements of the list
+     * @return new list
+     */
+    public static SIntList of(final int... elems) {
+        return (elems == null) ? new SIntList() : new SIntList(elems.clone(), elems.length);
+    }
+
+    /**
+     * construct new list which contains specified elements.
+     * This is the explicit unboxing conversion.
+     *
+     * @param elems elements of the list
+     * @return new list
+     * @throws NullPointerException if any element is null
+     */
+    public static SIntList of(final Iterable<Integer> elems) {
+
+        final SIntList ret =
+            new SIntList((elems instanceof Collection) ? ((Collection<?>) elems).size() : INITIAL_CAPACITY);
+
+        if (elems != null) {
+            for (final Integer e : elems) {
+                ret.push(e);
+            }
+        }
+
+        return ret;
+    }
+
+    private int idx(final int i) {
+        return 0 <= i ? i : this.size + i;
+    }
+
+    private int checkedIdx(final int i) {
+
+        final int x = this.idx(i);
+
+        if ((x < 0) || (this.size <= x)) {
+            throw new IndexOutOfBoundsException(String.format("(index = %d), (size = %d)", i, this.size));
+        }
+
+        return x;
+    }
+
+    private void ensureCapacity(final int min) {
+        if (this.store.length < min) {
+            final int grown = (this.store.length == 0) ? 4 : (this.store.length + (this.store.length >> 1) + 1);
+            this.store = Arrays.copyOf(this.store, Math.max(min, grown));
+        }
+    }
+
+    /**
+     * @return the number of elements
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return {@code true} if this list contains no element
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Return element at the position.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @return the element
+     * @throws IndexOutOfBoundsException if out of range
+     */
+    public int get(final int i) {
+        return this.store[this.checkedIdx(i)];
+    }
+
+    /**
+     * Return element at the position if exists.
+     * This method never throws {@link IndexOutOfBoundsException}.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @return the element if exists
+     */
+    public OptionalInt opt(final int i) {
+
+        final int x = this.idx(i);
+
+        return (0 <= x) && (x < this.size) ? OptionalInt.of(this.store[x]) : OptionalInt.empty();
+    }
+
+    /**
+     * get first element.
+     *
+     * @return first element
+     * @throws NoSuchElementException if empty
+     */
+    public int head() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.store[0];
+    }
+
+    /**
+     * get last element.
+     *
+     * @return last element
+     * @throws NoSuchElementException if empty
+     */
+    public int last() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.store[this.size - 1];
+    }
+
+    /**
+     * add value then return this instance.
+     *
+     * @param value value to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SIntList push(final int value) {
+        this.ensureCapacity(this.size + 1);
+        this.store[this.size++] = value;
+        return this;
+    }
+
+    /**
+     * add all values then return this instance.
+     *
+     * @param values values to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SIntList pushAll(final int... values) {
+        return this.append(values, values.length);
+    }
+
+    /**
+     * add all values then return this instance.
+     *
+     * @param values values to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SIntList pushAll(final SIntList values) {
+        return this.append(values.store, values.size);
+    }
+
+    private SIntList append(final int[] values, final int len) {
+        this.ensureCapacity(this.size + len);
+        System.arraycopy(values, 0, this.store, this.size, len);
+        this.size += len;
+        return this;
+    }
+
+    /**
+     * Replace value at the position if exists.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @param val replacement value
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SIntList update(final int i, final int val) {
+        return this.update(i, x -> val);
+    }
+
+    /**
+     * Replace value at the position if exists.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SIntList update(final int i, final IntUnaryOperator f) {
+
+        final int x = this.idx(i);
+
+        if ((0 <= x) && (x < this.size)) {
+            this.store[x] = f.applyAsInt(this.store[x]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Replace all values.
+     *
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SIntList update(final IntUnaryOperator f) {
+
+        for (int i = 0; i < this.size; i++) {
+            this.store[i] = f.applyAsInt(this.store[i]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Find first index of the value.
+     *
+     * @param val the value
+     * @return found index, or {@code -1} if not found
+     */
+    public int indexOf(final int val) {
+
+        for (int i = 0; i < this.size; i++) {
+            if (Integer.compare(this.store[i], val) == 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Test this list contains the value or not.
+     *
+     * @param val the value
+     * @return test result
+     */
+    public boolean has(final int val) {
+        return 0 <= this.indexOf(val);
+    }
+
+    /**
+     * internal iterator.
+     *
+     * @param f function
+     * @return {@code this} instance
+     */
+    public SIntList each(final IntConsumer f) {
+
+        for (int i = 0; i < this.size; i++) {
+            f.accept(this.store[i]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Test whether is there any value which satisfies condition.
+     *
+     * @param f condition
+     * @return test result
+     */
+    public boolean some(final IntPredicate f) {
+
+        for (int i = 0; i < this.size; i++) {
+            if (f.test(this.store[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Test whether all values satisfy condition.
+     *
+     * @param f condition
+     * @return test result
+     */
+    public boolean every(final IntPredicate f) {
+        return !this.some(f.negate());
+    }
+
+    /**
+     * Map operation: map value to another value.
+     *
+     * @param f function
+     * @return newly constructed list which contains converted values
+     */
+    public SIntList map(final IntUnaryOperator f) {
+
+        final int[] ret = new int[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            ret[i] = f.applyAsInt(this.store[i]);
+        }
+
+        return new SIntList(ret, ret.length);
+    }
+
+    /**
+     * Map operation: map value to another type value.
+     *
+     * @param <R> mapped value type
+     * @param f function
+     * @return newly constructed list which contains converted values
+     */
+    public <R> SList<R> mapToObj(final IntFunction<? extends R> f) {
+
+        final SList<R> ret = Indolently.list();
+
+        for (int i = 0; i < this.size; i++) {
+            ret.add(f.apply(this.store[i]));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Filter operation: returns values which satisfying condition.
+     * This operation is constructive.
+     *
+     * @param f condition
+     * @return new filtered list
+     */
+    public SIntList filter(final IntPredicate f) {
+
+        final int[] ret = new int[this.size];
+        int len = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            if (f.test(this.store[i])) {
+                ret[len++] = this.store[i];
+            }
+        }
+
+        return new SIntList(ret, len);
+    }
+
+    /**
+     * Reduce operation with initial value.
+     *
+     * @param initial initial value
+     * @param f function
+     * @return result value
+     */
+    public int reduce(final int initial, final IntBinaryOperator f) {
+
+        int rem = initial;
+
+        for (int i = 0; i < this.size; i++) {
+            rem = f.applyAsInt(rem, this.store[i]);
+        }
+
+        return rem;
+    }
+
+    /**
+     * Reduce operation.
+     *
+     * @param f function
+     * @return result value, or empty if this list is empty
+     */
+    public OptionalInt reduce(final IntBinaryOperator f) {
+
+        if (this.isEmpty()) {
+            return OptionalInt.empty();
+        }
+
+        int rem = this.store[0];
+
+        for (int i = 1; i < this.size; i++) {
+            rem = f.applyAsInt(rem, this.store[i]);
+        }
+
+        return OptionalInt.of(rem);
+    }
+
+    /**
+     * Sum up all values.
+     *
+     * @return the sum
+     */
+    public int sum() {
+
+        int rem = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            rem += this.store[i];
+        }
+
+        return rem;
+    }
+
+    /**
+     * 'Group By' operation: returns grouped elements as {@link SMap} form.
+     *
+     * @param <K> key type
+     * @param fkey convert element to grouping key
+     * @return grouped elements
+     */
+    public <K> SMap<K, SIntList> group(final IntFunction<? extends K> fkey) {
+
+        final SMap<K, SIntList> ret = $(ObjFactory.getInstance().newFifoMap());
+
+        for (int i = 0; i < this.size; i++) {
+
+            final K key = fkey.apply(this.store[i]);
+
+            SIntList grp = ret.get(key);
+
+            if (grp == null) {
+                // most groups are small; let each group grow on demand.
+                grp = new SIntList(0);
+                ret.put(key, grp);
+            }
+
+            grp.push(this.store[i]);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Return newly constructed (detached) sub list.
+     *
+     * @param from from index (inclusive). negative index also acceptable.
+     * @return detached sub list
+     * @see SList#slice(int)
+     */
+    public SIntList slice(final int from) {
+        return this.slice(from, this.size);
+    }
+
+    /**
+     * Return newly constructed (detached) sub list.
+     * This method never throws {@link IndexOutOfBoundsException}.
+     *
+     * @param from from index (inclusive). negative index also acceptable.
+     * @param to to index (exclusive). negative index also acceptable.
+     * @return detached sub list
+     * @see SList#slice(int, int)
+     */
+    public SIntList slice(final int from, final int to) {
+
+        final int fromIndex = Math.max(this.idx(from), 0);
+
+        int toIndex = this.idx(to);
+
+        if (((from < 0) && (to == 0)) || (this.size < toIndex)) {
+            toIndex = this.size;
+        }
+
+        if (toIndex <= fromIndex) {
+            return new SIntList();
+        }
+
+        return new SIntList(Arrays.copyOfRange(this.store, fromIndex, toIndex), toIndex - fromIndex);
+    }
+
+    /**
+     * Return newly constructed sorted list in natural order.
+     *
+     * @return sorted list
+     */
+    public SIntList sort() {
+
+        final SIntList ret = this.clone();
+        Arrays.sort(ret.store, 0, ret.size);
+        return ret;
+    }
+
+    /**
+     * Return newly constructed sorted list using comparator.
+     * This sort is stable.
+     *
+     * @param comp comparator
+     * @return sorted list
+     */
+    public SIntList sortWith(final IntComparator comp) {
+
+        final SIntList ret = this.clone();
+        mergeSort(ret.store, Arrays.copyOf(ret.store, ret.size), 0, ret.size, comp);
+        return ret;
+    }
+
+    private static void mergeSort(final int[] dst, final int[] src, final int from, final int to,
+        final IntComparator comp) {
+
+        if (to - from < 2) {
+            return;
+        }
+
+        final int mid = (from + to) >>> 1;
+
+        // sort halves of dst into src, then merge them back into dst
+        mergeSort(src, dst, from, mid, comp);
+        mergeSort(src, dst, mid, to, comp);
+
+        for (int i = from, l = from, r = mid; i < to; i++) {
+            if ((r < to) && ((mid <= l) || (comp.compare(src[r], src[l]) < 0))) {
+                dst[i] = src[r++];
+            } else {
+                dst[i] = src[l++];
+            }
+        }
+    }
+
+    /**
+     * Reverse this list.
+     *
+     * @return newly constructed reversed list
+     */
+    public SIntList reverse() {
+
+        final int[] ret = new int[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            ret[i] = this.store[this.size - 1 - i];
+        }
+
+        return new SIntList(ret, ret.length);
+    }
+
+    /**
+     * Convert this list to {@code int[]}.
+     *
+     * @return newly constructed array
+     */
+    public int[] toArray() {
+        return Arrays.copyOf(this.store, this.size);
+    }
+
+    /**
+     * Convert this list to {@link SList}.
+     * This is the explicit boxing conversion.
+     *
+     * @return newly constructed list
+     */
+    public SList<Integer> list() {
+
+        final SList<Integer> ret = $(ObjFactory.getInstance().newList());
+
+        for (int i = 0; i < this.size; i++) {
+            ret.add(this.store[i]);
+        }
+
+        return ret;
+    }
+
+    /**
+     * create a {@link IntStream} view of this list.
+     *
+     * @return {@link IntStream} view of this list
+     */
+    public IntStream stream() {
+        return Arrays.stream(this.store, 0, this.size);
+    }
+
+    @Override
+    public Spliterator.OfInt spliterator() {
+        return Spliterators.spliterator(this.store, 0, this.size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public PrimitiveIterator.OfInt iterator() {
+
+        return new PrimitiveIterator.OfInt() {
+
+            private int pos;
+
+            @Override
+            public boolean hasNext() {
+                return this.pos < SIntList.this.size;
+            }
+
+            @Override
+            public int nextInt() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return SIntList.this.store[this.pos++];
+            }
+        };
+    }
+
+    /**
+     * Clone this instance.
+     *
+     * @return clone of this instance
+     * @see Cloneable
+     */
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public SIntList clone() {
+        return new SIntList(this.toArray(), this.size);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int h = 1;
+
+        for (int i = 0; i < this.size; i++) {
+            h = 31 * h + Integer.hashCode(this.store[i]);
+        }
+
+        return h;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        } else if (!(o instanceof SIntList)) {
+            return false;
+        }
+
+        final SIntList that = (SIntList) o;
+
+        if (this.size != that.size) {
+            return false;
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            if (Integer.compare(this.store[i], that.store[i]) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+}
@@ -0,0 +1,121 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.bridge.IntObjMap;
+
+
+/**
+ * {@link SMap} which keys are {@code int}.
+ * Lookup / update via {@code int} key never boxes the key.
+ *
+ * @param <V> value type
+ * @author takahashikzn
+ * @see Indolently#intObjMap()
+ */
+public interface SIntObjMap<V>
+    extends SMap<Integer, V>, IntObjMap<V> {
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    default SIntObjMap<V> clone() {
+        return Indolently.<V> intObjMap().pushAll(this);
+    }
+
+    /**
+     * put key/value pair then return this instance.
+     *
+     * @param key key to put
+     * @param value value to put
+     * @return {@code this} instance
+     */
+    @Destructive
+    default SIntObjMap<V> push(final int key, final V value) {
+        this.put(key, value);
+        return this;
+    }
+
+    @Destructive
+    @Override
+    default SIntObjMap<V> push(final Integer key, final V value) {
+        this.put(key, value);
+        return this;
+    }
+
+    @Destructive
+    @Override
+    default SIntObjMap<V> pushAll(final Map<? extends Integer, ? extends V> map) {
+        this.putAll(map);
+        return this;
+    }
+
+    /**
+     * Just an alias of {@link #containsKey(int)}
+     *
+     * @param key key of map
+     * @return the result of {@link #containsKey(int)}
+     */
+    default boolean has(final int key) {
+        return this.containsKey(key);
+    }
+
+    /**
+     * Get value of the key which is contained by this instance.
+     *
+     * @param key the key of value
+     * @return optional representation of the value
+     */
+    default Optional<V> opt(final int key) {
+        return Indolently.opt(this.get(key));
+    }
+
+    /**
+     * Replace value of the key if exists.
+     * As same as {@link SMap#update(Object, Function)}, the key mapped to {@code null} is skipped.
+     *
+     * @param key key of map
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    default SIntObjMap<V> update(final int key, final Function<? super V, ? extends V> f) {
+        this.updateValue(key, f);
+        return this;
+    }
+
+    @Override
+    default SIntObjMap<V> filter(final Predicate<? super V> f) {
+        return this.filter((key, val) -> f.test(val));
+    }
+
+    @Override
+    default SIntObjMap<V> filter(final BiPredicate<? super Integer, ? super V> f) {
+
+        final SIntObjMap<V> ret = Indolently.intObjMap();
+
+        for (final Map.Entry<Integer, V> e : this.entrySet()) {
+            if (f.test(e.getKey(), e.getValue())) {
+                ret.put(e.getKey(), e.getValue());
+            }
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+import java.util.function.Function;
+
+import jp.root42.indolently.bridge.MapDelegate;
+import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.bridge.IntObjMap;
+
+
+/**
+ * Simple implementation of {@link SIntObjMap}.
+ *
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class SIntObjMapImpl<V>
+    extends MapDelegate<Integer, V>
+    implements SIntObjMap<V>, Serializable {
+
+    private static final long serialVersionUID = 7705230120720228643L;
+
+    private final IntObjMap<V> store;
+
+    public SIntObjMapImpl() {
+        this(ObjFactory.getInstance().newIntObjMap());
+    }
+
+    public SIntObjMapImpl(final IntObjMap<V> store) {
+        this.store = store;
+    }
+
+    @Override
+    protected IntObjMap<V> getDelegate() {
+        return this.store;
+    }
+
+    @Override
+    public SIntObjMap<V> clone() {
+        return SIntObjMap.super.clone();
+    }
+
+    @Override
+    public boolean containsKey(final int key) {
+        return this.store.containsKey(key);
+    }
+
+    @Override
+    public V get(final int key) {
+        return this.store.get(key);
+    }
+
+    @Override
+    public V put(final int key, final V value) {
+        return this.store.put(key, value);
+    }
+
+    @Override
+    public V remove(final int key) {
+        return this.store.remove(key);
+    }
+
+    @Override
+    public boolean updateValue(final int key, final Function<? super V, ? extends V> f) {
+        return this.store.updateValue(key, f);
+    }
+}
@@ -15,9 +15,7 @@ package jp.root42.indolently;
 
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.NoSuchElementException;
-import java.util.Objects;
-import java.util.Optional;
+import java.util.Spliterator;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
@@ -25,6 +23,7 @@ import java.util.function.Supplier;
 import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
+import jp.root42.indolently.trait.Aggregatable;
 import jp.root42.indolently.trait.EdgeAwareIterable;
 import jp.root42.indolently.trait.Filterable;
 import jp.root42.indolently.trait.Loopable;
@@ -41,7 +40,7 @@ import jp.root42.indolently.trait.ReducibleIterable;
  */
 public interface SIter<T>
     extends Iterator<T>, Supplier<T>, EdgeAwareIterable<T>, Loopable<T, SIter<T>>, Filterable<T, SIter<T>>,
-    ReducibleIterable<T>, Matchable<T> {
+    ReducibleIterable<T>, Matchable<T>, Aggregatable<T> {
 
     @Override
     default T get() {
@@ -76,24 +75,7 @@ public interface SIter<T>
     static <E, T> SIter<T> of(final E env, final Predicate<? super E> hasNext,
         final Function<? super E, ? extends T> next) {
 
-        Objects.requireNonNull(next);
-
-        return new SIter<T>() {
-
-            @Override
-            public boolean hasNext() {
-                return hasNext.test(env);
-            }
-
-            @Override
-            public T next() {
-                if (!this.hasNext()) {
-                    throw new NoSuchElementException();
-                }
-
-                return next.apply(env);
-            }
-        };
+        return new SIters.Of<>(env, hasNext, next);
     }
 
     @Override
@@ -107,43 +89,7 @@ public interface SIter<T>
 
     @Override
     default SIter<T> filter(final Predicate<? super T> f) {
-
-        //noinspection IteratorHasNextCallsIteratorNext
-        return new SIter<T>() {
-
-            private Optional<T> cur;
-
-            @Override
-            public boolean hasNext() {
-
-                while (true) {
-                    if (!Indolently.isNull(this.cur)) {
-                        return true;
-                    } else if (!SIter.this.hasNext()) {
-                        return false;
-                    }
-
-                    final T val = SIter.this.next();
-
-                    if (f.test(val)) {
-                        this.cur = Optional.ofNullable(val);
-                        return true;
-                    }
-                }
-            }
-
-            @Override
-            public T next() {
-                if (!this.hasNext()) {
-                    throw new NoSuchElementException();
-                }
-
-                final T val = this.cur.get();
-                //noinspection OptionalAssignedToNull
-                this.cur = null;
-                return val;
-            }
-        };
+        return new SIters.Filtered<>(this, f);
     }
 
     /**
@@ -154,7 +100,7 @@ public interface SIter<T>
      * @return newly constructed iterator which iterates converted values
      */
     default <R> SIter<R> map(final Function<? super T, ? extends R> f) {
-        return of(this, x -> x.hasNext(), x -> f.apply(x.next()));
+        return new SIters.Mapped<>(this, f);
     }
 
     /**
@@ -166,6 +112,11 @@ public interface SIter<T>
         return Indolently.list(this);
     }
 
+    @Override
+    default Spliterator<T> spliterator() {
+        return new BatchSpliterator<>(this, Spliterator.ORDERED);
+    }
+
     /**
      * create a {@link Stream} view of this iterator.
      *
@@ -191,35 +142,6 @@ public interface SIter<T>
     }
 
     default <R> SIter<R> flatten(final Function<? super T, ? extends Iterable<? extends R>> f) {
-        Objects.requireNonNull(f);
-
-        // noinspection IteratorHasNextCallsIteratorNext
-        return new SIter<R>() {
-
-            private Iterator<? extends R> cur = Iterative.iterator();
-
-            @Override
-            public boolean hasNext() {
-
-                if (this.cur.hasNext()) {
-                    return true;
-                }
-
-                while (SIter.this.hasNext()) {
-                    this.cur = f.apply(SIter.this.next()).iterator();
-
-                    if (this.cur.hasNext()) {
-                        return true;
-                    }
-                }
-
-                return false;
-            }
-
-            @Override
-            public R next() {
-                return this.hasNext() ? this.cur.next() : Expressive.raise(NoSuchElementException::new);
-            }
-        };
+        return new SIters.Flattened<>(this, f);
     }
 }
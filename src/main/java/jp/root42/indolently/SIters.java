@@ -0,0 +1,219 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * {@link SIter} implementations of the combinators.
+ * The lookahead value is held with a sentinel instead of {@link java.util.Optional}, so that iteration allocates
+ * nothing per element. {@link Iterator#forEachRemaining(Consumer)} is delegated to the source, so that terminal
+ * loops run as internal iteration of the source.
+ *
+ * @author takahashikzn
+ */
+final class SIters {
+
+    /** the marker of 'no lookahead value'. */
+    static final Object NONE = new Object();
+
+    private SIters() {
+    }
+
+    static final class Of<E, T>
+        implements SIter<T> {
+
+        private final E env;
+
+        private final Predicate<? super E> hasNext;
+
+        private final Function<? super E, ? extends T> next;
+
+        Of(final E env, final Predicate<? super E> hasNext, final Function<? super E, ? extends T> next) {
+            this.env = env;
+            this.hasNext = Objects.requireNonNull(hasNext);
+            this.next = Objects.requireNonNull(next);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.hasNext.test(this.env);
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return this.next.apply(this.env);
+        }
+    }
+
+    static final class Mapped<T, R>
+        implements SIter<R> {
+
+        private final Iterator<? extends T> src;
+
+        private final Function<? super T, ? extends R> f;
+
+        Mapped(final Iterator<? extends T> src, final Function<? super T, ? extends R> f) {
+            this.src = src;
+            this.f = Objects.requireNonNull(f);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.src.hasNext();
+        }
+
+        @Override
+        public R next() {
+            return this.f.apply(this.src.next());
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super R> action) {
+
+            Objects.requireNonNull(action);
+
+            final Function<? super T, ? extends R> f = this.f;
+            this.src.forEachRemaining(x -> action.accept(f.apply(x)));
+        }
+    }
+
+    static final class Filtered<T>
+        implements SIter<T> {
+
+        private final Iterator<? extends T> src;
+
+        private final Predicate<? super T> f;
+
+        private Object cur = NONE;
+
+        Filtered(final Iterator<? extends T> src, final Predicate<? super T> f) {
+            this.src = src;
+            this.f = Objects.requireNonNull(f);
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            if (this.cur != NONE) {
+                return true;
+            }
+
+            while (this.src.hasNext()) {
+
+                final T val = this.src.next();
+
+                if (this.f.test(val)) {
+                    this.cur = val;
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public T next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final T val = cast(this.cur);
+            this.cur = NONE;
+            return val;
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super T> action) {
+
+            Objects.requireNonNull(action);
+
+            if (this.cur != NONE) {
+                action.accept(this.next());
+            }
+
+            final Predicate<? super T> f = this.f;
+            this.src.forEachRemaining(x -> {
+                if (f.test(x)) {
+                    action.accept(x);
+                }
+            });
+        }
+    }
+
+    static final class Flattened<T, R>
+        implements SIter<R> {
+
+        private final Iterator<? extends T> src;
+
+        private final Function<? super T, ? extends Iterable<? extends R>> f;
+
+        private Iterator<? extends R> cur = Iterative.iterator();
+
+        Flattened(final Iterator<? extends T> src, final Function<? super T, ? extends Iterable<? extends R>> f) {
+            this.src = src;
+            this.f = Objects.requireNonNull(f);
+        }
+
+        @Override
+        public boolean hasNext() {
+
+            if (this.cur.hasNext()) {
+                return true;
+            }
+
+            while (this.src.hasNext()) {
+                this.cur = this.f.apply(this.src.next()).iterator();
+
+                if (this.cur.hasNext()) {
+                    return true;
+                }
+            }
+
+            return false;
+        }
+
+        @Override
+        public R next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            return this.cur.next();
+        }
+
+        @Override
+        public void forEachRemaining(final Consumer<? super R> action) {
+
+            Objects.requireNonNull(action);
+
+            this.cur.forEachRemaining(action);
+
+            final Function<? super T, ? extends Iterable<? extends R>> f = this.f;
+            this.src.forEachRemaining(x -> f.apply(x).forEach(action));
+        }
+    }
+}
@@ -361,6 +361,18 @@ public interface SList<T>
         return Indolently.uniq(this, f);
     }
 
+    /**
+     * Remove elements which key is duplicated.
+     * This operation is constructive.
+     *
+     * @param f key of the element
+     * @return new list which doesn't contain duplication
+     * @see Indolently#uniqBy(List, Function)
+     */
+    default <K> SList<T> uniqBy(final Function<? super T, ? extends K> f) {
+        return Indolently.uniqBy(this, f);
+    }
+
     /**
      * Replace value at the position if exists.
      *
@@ -413,6 +425,40 @@ public interface SList<T>
         return this.clone().update(idx, f);
     }
 
+    /**
+     * Return a list which the element at the position is replaced, if exists.
+     * This operation is constructive. If this list is frozen, the result is also frozen and shares the structure
+     * with this list, so that costs {@code O(log n)}.
+     *
+     * @param idx index of the element. negative index also acceptable.
+     * @param val replacement value
+     * @return newly constructed list
+     * @see #freeze()
+     */
+    default SList<T> with(final int idx, final T val) {
+        return this.map(idx, x -> val);
+    }
+
+    /**
+     * Return a list which the element at the position is removed, if exists.
+     * This operation is constructive. If this list is frozen, the result is also frozen.
+     *
+     * @param idx index of the element. negative index also acceptable.
+     * @return newly constructed list
+     * @see #freeze()
+     */
+    default SList<T> without(final int idx) {
+
+        final SList<T> ret = this.clone();
+        final int i = idx(this, idx);
+
+        if ((0 <= i) && (i < ret.size())) {
+            ret.remove(i);
+        }
+
+        return ret;
+    }
+
     /**
      * Test this list starts with given elements or not.
      *
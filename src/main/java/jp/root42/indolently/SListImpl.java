@@ -14,8 +14,12 @@
 package jp.root42.indolently;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.function.Function;
 
 import jp.root42.indolently.bridge.ListDelegate;
 import jp.root42.indolently.bridge.ObjFactory;
@@ -53,11 +57,52 @@ class SListImpl<T>
         return SList.super.clone();
     }
 
+    @Override
+    public SList<T> map(final int idx, final Function<? super T, ? extends T> f) {
+
+        if (!(this.store instanceof PersistentList)) {
+            return SList.super.map(idx, f);
+        }
+
+        final PersistentList<T> p = (PersistentList<T>) this.store;
+        final int i = Indolently.idx(this, idx);
+
+        return ((0 <= i) && (i < p.size())) ? new SListImpl<>(p.with(i, Indolently.frozen(f.apply(p.get(i))))) : this;
+    }
+
+    @Override
+    public SList<T> without(final int idx) {
+
+        if (!(this.store instanceof PersistentList)) {
+            return SList.super.without(idx);
+        }
+
+        final PersistentList<T> p = (PersistentList<T>) this.store;
+        final int i = Indolently.idx(this, idx);
+
+        return ((0 <= i) && (i < p.size())) ? new SListImpl<>(p.without(i)) : this;
+    }
+
     @Override
     public SIter<T> iterator() {
         return Indolently.$(this.store.iterator());
     }
 
+    @Override
+    public Spliterator<T> spliterator() {
+
+        if ((this.store instanceof ArrayList) || !(this.store instanceof RandomAccess)) {
+            return this.store.spliterator();
+        }
+
+        final Spliterator<T> s = this.store.spliterator();
+
+        // keep snapshot semantics of concurrent list, otherwise split by index since the default one is iterator
+        // based (even though it's reported as SUBSIZED), which splits poorly
+        return (s.hasCharacteristics(Spliterator.IMMUTABLE) || s.hasCharacteristics(Spliterator.CONCURRENT)) ? s
+            : new IndexSpliterator<>(this.store);
+    }
+
     // keep original order
     @Override
     public SSet<T> set() {
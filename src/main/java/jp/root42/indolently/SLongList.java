@@ -0,0 +1,731 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.OptionalLong;
+import java.util.PrimitiveIterator;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.LongBinaryOperator;
+import java.util.function.LongConsumer;
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+import java.util.stream.LongStream;
+
+import jp.root42.indolently.bridge.ObjFactory;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * {@code long} specialized list for indolent person.
+ * Elements are stored into a raw {@code long[]} so that no value is boxed.
+ * This class is intentionally NOT a {@code List<Long>}; use {@link #list()} / {@link #of(Iterable)} to convert
+ * from/to {@link SList} explicitly.
+ *
+ * @author takahashikzn
+ * @see Indolently#plist(long...)
+ */
+public final class SLongList
+    implements Iterable<Long>, Serializable, Cloneable {
+
+    private static final long serialVersionUID = 7316802339581266512L;
+
+    private static final int INITIAL_CAPACITY = 32;
+
+    /**
+     * {@code long} version of {@link java.util.Comparator}.
+     *
+     * @author takahashikzn
+     */
+    @FunctionalInterface
+    public interface LongComparator {
+
+        /**
+         * @param l left side value
+         * @param r right side value
+         * @return negative, zero or positive as {@link java.util.Comparator#compare(Object, Object)}
+         */
+        int compare(long l, long r);
+    }
+
+    private long[] store;
+
+    private int size;
+
+    /**
+     * constructor.
+     */
+    public SLongList() {
+        this(INITIAL_CAPACITY);
+    }
+
+    /**
+     * constructor.
+     *
+     * @param capacity initial capacity
+     */
+    public SLongList(final int capacity) {
+        if (capacity < 0) {
+            throw new IllegalArgumentException(String.format("(capacity = %d) < 0", capacity));
+        }
+
+        this.store = new long[capacity];
+    }
+
+    private SLongList(final long[] store, final int size) {
+        this.store = store;
+        this.size = size;
+    }
+
+    /**
+     * construct new list which contains specified elements.
+     *
+     * @param elems elements of the list
+     * @return new list
+     */
+    public static SLongList of(final long... elems) {
+        return (elems == null) ? new SLongList() : new SLongList(elems.clone(), elems.length);
+    }
+
+    /**
+     * construct new list which contains specified elements.
+     * This is the explicit unboxing conversion.
+     *
+     * @param elems elements of the list
+     * @return new list
+     * @throws NullPointerException if any element is null
+     */
+    public static SLongList of(final Iterable<Long> elems) {
+
+        final SLongList ret =
+            new SLongList((elems instanceof Collection) ? ((Collection<?>) elems).size() : INITIAL_CAPACITY);
+
+        if (elems != null) {
+            for (final Long e : elems) {
+                ret.push(e);
+            }
+        }
+
+        return ret;
+    }
+
+    private int idx(final int i) {
+        return 0 <= i ? i : this.size + i;
+    }
+
+    private int checkedIdx(final int i) {
+
+        final int x = this.idx(i);
+
+        if ((x < 0) || (this.size <= x)) {
+            throw new IndexOutOfBoundsException(String.format("(index = %d), (size = %d)", i, this.size));
+        }
+
+        return x;
+    }
+
+    private void ensureCapacity(final int min) {
+        if (this.store.length < min) {
+            final int grown = (this.store.length == 0) ? 4 : (this.store.length + (this.store.length >> 1) + 1);
+            this.store = Arrays.copyOf(this.store, Math.max(min, grown));
+        }
+    }
+
+    /**
+     * @return the number of elements
+     */
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * @return {@code true} if this list contains no element
+     */
+    public boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * Return element at the position.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @return the element
+     * @throws IndexOutOfBoundsException if out of range
+     */
+    public long get(final int i) {
+        return this.store[this.checkedIdx(i)];
+    }
+
+    /**
+     * Return element at the position if exists.
+     * This method never throws {@link IndexOutOfBoundsException}.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @return the element if exists
+     */
+    public OptionalLong opt(final int i) {
+
+        final int x = this.idx(i);
+
+        return (0 <= x) && (x < this.size) ? OptionalLong.of(this.store[x]) : OptionalLong.empty();
+    }
+
+    /**
+     * get first element.
+     *
+     * @return first element
+     * @throws NoSuchElementException if empty
+     */
+    public long head() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.store[0];
+    }
+
+    /**
+     * get last element.
+     *
+     * @return last element
+     * @throws NoSuchElementException if empty
+     */
+    public long last() {
+        if (this.isEmpty()) {
+            throw new NoSuchElementException();
+        }
+
+        return this.store[this.size - 1];
+    }
+
+    /**
+     * add value then return this instance.
+     *
+     * @param value value to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SLongList push(final long value) {
+        this.ensureCapacity(this.size + 1);
+        this.store[this.size++] = value;
+        return this;
+    }
+
+    /**
+     * add all values then return this instance.
+     *
+     * @param values values to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SLongList pushAll(final long... values) {
+        return this.append(values, values.length);
+    }
+
+    /**
+     * add all values then return this instance.
+     *
+     * @param values values to add
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SLongList pushAll(final SLongList values) {
+        return this.append(values.store, values.size);
+    }
+
+    private SLongList append(final long[] values, final int len) {
+        this.ensureCapacity(this.size + len);
+        System.arraycopy(values, 0, this.store, this.size, len);
+        this.size += len;
+        return this;
+    }
+
+    /**
+     * Replace value at the position if exists.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @param val replacement value
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SLongList update(final int i, final long val) {
+        return this.update(i, x -> val);
+    }
+
+    /**
+     * Replace value at the position if exists.
+     *
+     * @param i index of the element. negative index also acceptable.
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SLongList update(final int i, final LongUnaryOperator f) {
+
+        final int x = this.idx(i);
+
+        if ((0 <= x) && (x < this.size)) {
+            this.store[x] = f.applyAsLong(this.store[x]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Replace all values.
+     *
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    public SLongList update(final LongUnaryOperator f) {
+
+        for (int i = 0; i < this.size; i++) {
+            this.store[i] = f.applyAsLong(this.store[i]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Find first index of the value.
+     *
+     * @param val the value
+     * @return found index, or {@code -1} if not found
+     */
+    public int indexOf(final long val) {
+
+        for (int i = 0; i < this.size; i++) {
+            if (Long.compare(this.store[i], val) == 0) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    /**
+     * Test this list contains the value or not.
+     *
+     * @param val the value
+     * @return test result
+     */
+    public boolean has(final long val) {
+        return 0 <= this.indexOf(val);
+    }
+
+    /**
+     * internal iterator.
+     *
+     * @param f function
+     * @return {@code this} instance
+     */
+    public SLongList each(final LongConsumer f) {
+
+        for (int i = 0; i < this.size; i++) {
+            f.accept(this.store[i]);
+        }
+
+        return this;
+    }
+
+    /**
+     * Test whether is there any value which satisfies condition.
+     *
+     * @param f condition
+     * @return test result
+     */
+    public boolean some(final LongPredicate f) {
+
+        for (int i = 0; i < this.size; i++) {
+            if (f.test(this.store[i])) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Test whether all values satisfy condition.
+     *
+     * @param f condition
+     * @return test result
+     */
+    public boolean every(final LongPredicate f) {
+        return !this.some(f.negate());
+    }
+
+    /**
+     * Map operation: map value to another value.
+     *
+     * @param f function
+     * @return newly constructed list which contains converted values
+     */
+    public SLongList map(final LongUnaryOperator f) {
+
+        final long[] ret = new long[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            ret[i] = f.applyAsLong(this.store[i]);
+        }
+
+        return new SLongList(ret, ret.length);
+    }
+
+    /**
+     * Map operation: map value to another type value.
+     *
+     * @param <R> mapped value type
+     * @param f function
+     * @return newly constructed list which contains converted values
+     */
+    public <R> SList<R> mapToObj(final LongFunction<? extends R> f) {
+
+        final SList<R> ret = Indolently.list();
+
+        for (int i = 0; i < this.size; i++) {
+            ret.add(f.apply(this.store[i]));
+        }
+
+        return ret;
+    }
+
+    /**
+     * Filter operation: returns values which satisfying condition.
+     * This operation is constructive.
+     *
+     * @param f condition
+     * @return new filtered list
+     */
+    public SLongList filter(final LongPredicate f) {
+
+        final long[] ret = new long[this.size];
+        int len = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            if (f.test(this.store[i])) {
+                ret[len++] = this.store[i];
+            }
+        }
+
+        return new SLongList(ret, len);
+    }
+
+    /**
+     * Reduce operation with initial value.
+     *
+     * @param initial initial value
+     * @param f function
+     * @return result value
+     */
+    public long reduce(final long initial, final LongBinaryOperator f) {
+
+        long rem = initial;
+
+        for (int i = 0; i < this.size; i++) {
+            rem = f.applyAsLong(rem, this.store[i]);
+        }
+
+        return rem;
+    }
+
+    /**
+     * Reduce operation.
+     *
+     * @param f function
+     * @return result value, or empty if this list is empty
+     */
+    public OptionalLong reduce(final LongBinaryOperator f) {
+
+        if (this.isEmpty()) {
+            return OptionalLong.empty();
+        }
+
+        long rem = this.store[0];
+
+        for (int i = 1; i < this.size; i++) {
+            rem = f.applyAsLong(rem, this.store[i]);
+        }
+
+        return OptionalLong.of(rem);
+    }
+
+    /**
+     * Sum up all values.
+     *
+     * @return the sum
+     */
+    public long sum() {
+
+        long rem = 0;
+
+        for (int i = 0; i < this.size; i++) {
+            rem += this.store[i];
+        }
+
+        return rem;
+    }
+
+    /**
+     * 'Group By' operation: returns grouped elements as {@link SMap} form.
+     *
+     * @param <K> key type
+     * @param fkey convert element to grouping key
+     * @return grouped elements
+     */
+    public <K> SMap<K, SLongList> group(final LongFunction<? extends K> fkey) {
+
+        final SMap<K, SLongList> ret = $(ObjFactory.getInstance().newFifoMap());
+
+        for (int i = 0; i < this.size; i++) {
+
+            final K key = fkey.apply(this.store[i]);
+
+            SLongList grp = ret.get(key);
+
+            if (grp == null) {
+                // most groups are small; let each group grow on demand.
+                grp = new SLongList(0);
+                ret.put(key, grp);
+            }
+
+            grp.push(this.store[i]);
+        }
+
+        return ret;
+    }
+
+    /**
+     * Return newly constructed (detached) sub list.
+     *
+     * @param from from index (inclusive). negative index also acceptable.
+     * @return detached sub list
+     * @see SList#slice(int)
+     */
+    public SLongList slice(final int from) {
+        return this.slice(from, this.size);
+    }
+
+    /**
+     * Return newly constructed (detached) sub list.
+     * This method never throws {@link IndexOutOfBoundsException}.
+     *
+     * @param from from index (inclusive). negative index also acceptable.
+     * @param to to index (exclusive). negative index also acceptable.
+     * @return detached sub list
+     * @see SList#slice(int, int)
+     */
+    public SLongList slice(final int from, final int to) {
+
+        final int fromIndex = Math.max(this.idx(from), 0);
+
+        int toIndex = this.idx(to);
+
+        if (((from < 0) && (to == 0)) || (this.size < toIndex)) {
+            toIndex = this.size;
+        }
+
+        if (toIndex <= fromIndex) {
+            return new SLongList();
+        }
+
+        return new SLongList(Arrays.copyOfRange(this.store, fromIndex, toIndex), toIndex - fromIndex);
+    }
+
+    /**
+     * Return newly constructed sorted list in natural order.
+     *
+     * @return sorted list
+     */
+    public SLongList sort() {
+
+        final SLongList ret = this.clone();
+        Arrays.sort(ret.store, 0, ret.size);
+        return ret;
+    }
+
+    /**
+     * Return newly constructed sorted list using comparator.
+     * This sort is stable.
+     *
+     * @param comp comparator
+     * @return sorted list
+     */
+    public SLongList sortWith(final LongComparator comp) {
+
+        final SLongList ret = this.clone();
+        mergeSort(ret.store, Arrays.copyOf(ret.store, ret.size), 0, ret.size, comp);
+        return ret;
+    }
+
+    private static void mergeSort(final long[] dst, final long[] src, final int from, final int to,
+        final LongComparator comp) {
+
+        if (to - from < 2) {
+            return;
+        }
+
+        final int mid = (from + to) >>> 1;
+
+        // sort halves of dst into src, then merge them back into dst
+        mergeSort(src, dst, from, mid, comp);
+        mergeSort(src, dst, mid, to, comp);
+
+        for (int i = from, l = from, r = mid; i < to; i++) {
+            if ((r < to) && ((mid <= l) || (comp.compare(src[r], src[l]) < 0))) {
+                dst[i] = src[r++];
+            } else {
+                dst[i] = src[l++];
+            }
+        }
+    }
+
+    /**
+     * Reverse this list.
+     *
+     * @return newly constructed reversed list
+     */
+    public SLongList reverse() {
+
+        final long[] ret = new long[this.size];
+
+        for (int i = 0; i < this.size; i++) {
+            ret[i] = this.store[this.size - 1 - i];
+        }
+
+        return new SLongList(ret, ret.length);
+    }
+
+    /**
+     * Convert this list to {@code long[]}.
+     *
+     * @return newly constructed array
+     */
+    public long[] toArray() {
+        return Arrays.copyOf(this.store, this.size);
+    }
+
+    /**
+     * Convert this list to {@link SList}.
+     * This is the explicit boxing conversion.
+     *
+     * @return newly constructed list
+     */
+    public SList<Long> list() {
+
+        final SList<Long> ret = $(ObjFactory.getInstance().newList());
+
+        for (int i = 0; i < this.size; i++) {
+            ret.add(this.store[i]);
+        }
+
+        return ret;
+    }
+
+    /**
+     * create a {@link LongStream} view of this list.
+     *
+     * @return {@link LongStream} view of this list
+     */
+    public LongStream stream() {
+        return Arrays.stream(this.store, 0, this.size);
+    }
+
+    @Override
+    public Spliterator.OfLong spliterator() {
+        return Spliterators.spliterator(this.store, 0, this.size, Spliterator.ORDERED);
+    }
+
+    @Override
+    public PrimitiveIterator.OfLong iterator() {
+
+        return new PrimitiveIterator.OfLong() {
+
+            private int pos;
+
+            @Override
+            public boolean hasNext() {
+                return this.pos < SLongList.this.size;
+            }
+
+            @Override
+            public long nextLong() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+
+                return SLongList.this.store[this.pos++];
+            }
+        };
+    }
+
+    /**
+     * Clone this instance.
+     *
+     * @return clone of this instance
+     * @see Cloneable
+     */
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    public SLongList clone() {
+        return new SLongList(this.toArray(), this.size);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int h = 1;
+
+        for (int i = 0; i < this.size; i++) {
+            h = 31 * h + Long.hashCode(this.store[i]);
+        }
+
+        return h;
+    }
+
+    @Override
+    public boolean equals(final Object o) {
+        if (o == this) {
+            return true;
+        } else if (!(o instanceof SLongList)) {
+            return false;
+        }
+
+        final SLongList that = (SLongList) o;
+
+        if (this.size != that.size) {
+            return false;
+        }
+
+        for (int i = 0; i < this.size; i++) {
+            if (Long.compare(this.store[i], that.store[i]) != 0) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(this.toArray());
+    }
+}
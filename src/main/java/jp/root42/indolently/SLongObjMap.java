@@ -0,0 +1,121 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.bridge.LongObjMap;
+
+
+/**
+ * {@link SMap} which keys are {@code long}.
+ * Lookup / update via {@code long} key never boxes the key.
+ *
+ * @param <V> value type
+ * @author takahashikzn
+ * @see Indolently#longObjMap()
+ */
+public interface SLongObjMap<V>
+    extends SMap<Long, V>, LongObjMap<V> {
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    default SLongObjMap<V> clone() {
+        return Indolently.<V> longObjMap().pushAll(this);
+    }
+
+    /**
+     * put key/value pair then return this instance.
+     *
+     * @param key key to put
+     * @param value value to put
+     * @return {@code this} instance
+     */
+    @Destructive
+    default SLongObjMap<V> push(final long key, final V value) {
+        this.put(key, value);
+        return this;
+    }
+
+    @Destructive
+    @Override
+    default SLongObjMap<V> push(final Long key, final V value) {
+        this.put(key, value);
+        return this;
+    }
+
+    @Destructive
+    @Override
+    default SLongObjMap<V> pushAll(final Map<? extends Long, ? extends V> map) {
+        this.putAll(map);
+        return this;
+    }
+
+    /**
+     * Just an alias of {@link #containsKey(long)}
+     *
+     * @param key key of map
+     * @return the result of {@link #containsKey(long)}
+     */
+    default boolean has(final long key) {
+        return this.containsKey(key);
+    }
+
+    /**
+     * Get value of the key which is contained by this instance.
+     *
+     * @param key the key of value
+     * @return optional representation of the value
+     */
+    default Optional<V> opt(final long key) {
+        return Indolently.opt(this.get(key));
+    }
+
+    /**
+     * Replace value of the key if exists.
+     * As same as {@link SMap#update(Object, Function)}, the key mapped to {@code null} is skipped.
+     *
+     * @param key key of map
+     * @param f function
+     * @return {@code this} instance
+     */
+    @Destructive
+    default SLongObjMap<V> update(final long key, final Function<? super V, ? extends V> f) {
+        this.updateValue(key, f);
+        return this;
+    }
+
+    @Override
+    default SLongObjMap<V> filter(final Predicate<? super V> f) {
+        return this.filter((key, val) -> f.test(val));
+    }
+
+    @Override
+    default SLongObjMap<V> filter(final BiPredicate<? super Long, ? super V> f) {
+
+        final SLongObjMap<V> ret = Indolently.longObjMap();
+
+        for (final Map.Entry<Long, V> e : this.entrySet()) {
+            if (f.test(e.getKey(), e.getValue())) {
+                ret.put(e.getKey(), e.getValue());
+            }
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,80 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+import java.util.function.Function;
+
+import jp.root42.indolently.bridge.MapDelegate;
+import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.bridge.LongObjMap;
+
+
+/**
+ * Simple implementation of {@link SLongObjMap}.
+ *
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class SLongObjMapImpl<V>
+    extends MapDelegate<Long, V>
+    implements SLongObjMap<V>, Serializable {
+
+    private static final long serialVersionUID = -446257748954559217L;
+
+    private final LongObjMap<V> store;
+
+    public SLongObjMapImpl() {
+        this(ObjFactory.getInstance().newLongObjMap());
+    }
+
+    public SLongObjMapImpl(final LongObjMap<V> store) {
+        this.store = store;
+    }
+
+    @Override
+    protected LongObjMap<V> getDelegate() {
+        return this.store;
+    }
+
+    @Override
+    public SLongObjMap<V> clone() {
+        return SLongObjMap.super.clone();
+    }
+
+    @Override
+    public boolean containsKey(final long key) {
+        return this.store.containsKey(key);
+    }
+
+    @Override
+    public V get(final long key) {
+        return this.store.get(key);
+    }
+
+    @Override
+    public V put(final long key, final V value) {
+        return this.store.put(key, value);
+    }
+
+    @Override
+    public V remove(final long key) {
+        return this.store.remove(key);
+    }
+
+    @Override
+    public boolean updateValue(final long key, final Function<? super V, ? extends V> f) {
+        return this.store.updateValue(key, f);
+    }
+}
@@ -16,6 +16,7 @@ package jp.root42.indolently;
 import java.util.Comparator;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Spliterator;
 import java.util.function.BiConsumer;
 import java.util.function.BiFunction;
 import java.util.function.BiPredicate;
@@ -87,6 +88,36 @@ public interface SMap<K, V>
         return Indolently.freeze(this);
     }
 
+    /**
+     * Return a map which the key is associated with the value.
+     * This operation is constructive. If this map is frozen, the result is also frozen and shares the structure
+     * with this map, so that costs {@code O(log n)}.
+     *
+     * @param key the key
+     * @param value the value
+     * @return newly constructed map
+     * @see #freeze()
+     */
+    default SMap<K, V> with(final K key, final V value) {
+        return this.clone().push(key, value);
+    }
+
+    /**
+     * Return a map which doesn't contain the key.
+     * This operation is constructive. If this map is frozen, the result is also frozen and shares the structure
+     * with this map, so that costs {@code O(log n)}.
+     *
+     * @param key the key
+     * @return newly constructed map
+     * @see #freeze()
+     */
+    default SMap<K, V> without(final K key) {
+
+        final SMap<K, V> ret = this.clone();
+        ret.remove(key);
+        return ret;
+    }
+
     /**
      * put key/value pair then return this instance.
      *
@@ -303,6 +334,11 @@ public interface SMap<K, V>
         return Indolently.$(this.entrySet().iterator()).map(SEntry::new);
     }
 
+    @Override
+    default Spliterator<SEntry<K, V>> spliterator() {
+        return new MappingSpliterator<>(this.entrySet().spliterator(), SEntry::new);
+    }
+
     /**
      * construct new map which having keys you specify.
      * any keys which does not contained by this instance are ignored.
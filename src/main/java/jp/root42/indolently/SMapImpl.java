@@ -15,6 +15,11 @@ package jp.root42.indolently;
 
 import java.io.Serializable;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 import jp.root42.indolently.bridge.MapDelegate;
 import jp.root42.indolently.bridge.ObjFactory;
@@ -50,6 +55,74 @@ final class SMapImpl<K, V>
 
     @Override
     public SMap<K, V> clone() {
+
+        // keep thread safety (and key order) of concurrent map; map(key, f) relies on this as well
+        if (this.store instanceof ConcurrentNavigableMap) {
+            return new SMapImpl<K, V>(ObjFactory.getInstance()
+                .newConcurrentSortedMap(((ConcurrentNavigableMap<K, V>) this.store).comparator())).pushAll(this);
+        } else if (this.store instanceof ConcurrentMap) {
+            return new SMapImpl<K, V>(ObjFactory.getInstance().newConcurrentMap()).pushAll(this);
+        }
+
         return SMap.super.clone();
     }
+
+    @Override
+    public SMap<K, V> with(final K key, final V value) {
+        return (this.store instanceof PersistentMap)
+            ? new SMapImpl<>(((PersistentMap<K, V>) this.store).with(key, Indolently.frozen(value)))
+            : SMap.super.with(key, value);
+    }
+
+    @Override
+    public SMap<K, V> without(final K key) {
+        return (this.store instanceof PersistentMap) ? new SMapImpl<>(((PersistentMap<K, V>) this.store).without(key))
+            : SMap.super.without(key);
+    }
+
+    @Override
+    public SMap<K, V> map(final K key, final Function<? super V, ? extends V> f) {
+
+        if (!(this.store instanceof PersistentMap)) {
+            return SMap.super.map(key, f);
+        }
+
+        final PersistentMap<K, V> p = (PersistentMap<K, V>) this.store;
+
+        return p.containsKey(key) ? this.with(key, f.apply(p.get(key))) : this;
+    }
+
+    @Override
+    public Optional<V> opt(final K key) {
+        // concurrent map never contains null, so that single lookup is enough
+        return (this.store instanceof ConcurrentMap) ? Indolently.opt(this.store.get(key)) : SMap.super.opt(key);
+    }
+
+    @Override
+    public SMap<K, V> update(final K key, final Function<? super V, ? extends V> f) {
+
+        if (this.store instanceof ConcurrentMap) {
+            this.store.computeIfPresent(key, (k, v) -> f.apply(v));
+            return this;
+        }
+
+        return SMap.super.update(key, f);
+    }
+
+    @Override
+    public SMap<K, V> delete(final BiPredicate<? super K, ? super V> f) {
+
+        if (this.store instanceof ConcurrentMap) {
+            // removes the entry only if it has not been changed since tested
+            this.store.forEach((k, v) -> {
+                if (f.test(k, v)) {
+                    this.store.remove(k, v);
+                }
+            });
+
+            return this;
+        }
+
+        return SMap.super.delete(f);
+    }
 }
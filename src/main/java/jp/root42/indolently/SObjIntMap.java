@@ -0,0 +1,111 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.function.BiPredicate;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.bridge.ObjIntMap;
+
+
+/**
+ * {@link SMap} which values are {@code int}.
+ * Lookup / update via {@code int} value never boxes the value.
+ *
+ * @param <K> key type
+ * @author takahashikzn
+ * @see Indolently#objIntMap()
+ */
+public interface SObjIntMap<K>
+    extends SMap<K, Integer>, ObjIntMap<K> {
+
+    @SuppressWarnings("MethodDoesntCallSuperMethod")
+    @Override
+    default SObjIntMap<K> clone() {
+        return Indolently.<K> objIntMap().pushAll(this);
+    }
+
+    /**
+     * put key/value pair then return this instance.
+     *
+     * @param key key to put
+     * @param value value to put
+     * @return {@code this} instance
+     */
+    @Destructive
+    default SObjIntMap<K> push(final K key, final int value) {
+        this.put(key, value);
+        return this;
+    }
+
+    @Destructive
+    @Override
+    default SObjIntMap<K> push(final K key, final Integer value) {
+        this.put(key, value);
+        return this;
+    }
+
+    @Destructive
+    @Override
+    default SObjIntMap<K> pushAll(final Map<? extends K, ? extends Integer> map) {
+        this.putAll(map);
+        return this;
+    }
+
+    /**
+     * Add the value to the current value of the key then return this instance.
+     * Absent value is treated as {@code 0}.
+     *
+     * @param key key of map
+     * @param addition the value to add
+     * @return {@code this} instance
+     * @see #addValue(Object, int)
+     */
+    @Destructive
+    default SObjIntMap<K> add(final K key, final int addition) {
+        this.addValue(key, addition);
+        return this;
+    }
+
+    /**
+     * Get value of the key which is contained by this instance.
+     *
+     * @param key the key of value
+     * @return optional representation of the value
+     */
+    default OptionalInt optInt(final K key) {
+        return this.containsKey(key) ? OptionalInt.of(this.getInt(key)) : OptionalInt.empty();
+    }
+
+    @Override
+    default SObjIntMap<K> filter(final Predicate<? super Integer> f) {
+        return this.filter((key, val) -> f.test(val));
+    }
+
+    @Override
+    default SObjIntMap<K> filter(final BiPredicate<? super K, ? super Integer> f) {
+
+        final SObjIntMap<K> ret = Indolently.objIntMap();
+
+        for (final Map.Entry<K, Integer> e : this.entrySet()) {
+            if (f.test(e.getKey(), e.getValue())) {
+                ret.put(e.getKey(), e.getValue());
+            }
+        }
+
+        return ret;
+    }
+}
@@ -0,0 +1,79 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+
+import jp.root42.indolently.bridge.MapDelegate;
+import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.bridge.ObjIntMap;
+
+
+/**
+ * Simple implementation of {@link SObjIntMap}.
+ *
+ * @param <K> key type
+ * @author takahashikzn
+ */
+final class SObjIntMapImpl<K>
+    extends MapDelegate<K, Integer>
+    implements SObjIntMap<K>, Serializable {
+
+    private static final long serialVersionUID = 1098115065532423352L;
+
+    private final ObjIntMap<K> store;
+
+    public SObjIntMapImpl() {
+        this(ObjFactory.getInstance().newObjIntMap());
+    }
+
+    public SObjIntMapImpl(final ObjIntMap<K> store) {
+        this.store = store;
+    }
+
+    @Override
+    protected ObjIntMap<K> getDelegate() {
+        return this.store;
+    }
+
+    @Override
+    public SObjIntMap<K> clone() {
+        return SObjIntMap.super.clone();
+    }
+
+    @Override
+    public int getInt(final Object key) {
+        return this.store.getInt(key);
+    }
+
+    @Override
+    public int getOrDefault(final Object key, final int defaultValue) {
+        return this.store.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public int put(final K key, final int value) {
+        return this.store.put(key, value);
+    }
+
+    @Override
+    public int addValue(final K key, final int addition) {
+        return this.store.addValue(key, addition);
+    }
+
+    @Override
+    public int removeAsInt(final Object key) {
+        return this.store.removeAsInt(key);
+    }
+}
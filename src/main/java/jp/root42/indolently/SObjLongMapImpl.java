@@ -0,0 +1,79 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.Serializable;
+
+import jp.root42.indolently.bridge.MapDelegate;
+import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.bridge.ObjLongMap;
+
+
+/**
+ * Simple implementation of {@link SObjLongMap}.
+ *
+ * @param <K> key type
+ * @author takahashikzn
+ */
+final class SObjLongMapImpl<K>
+    extends MapDelegate<K, Long>
+    implements SObjLongMap<K>, Serializable {
+
+    private static final long serialVersionUID = 6763413101797666243L;
+
+    private final ObjLongMap<K> store;
+
+    public SObjLongMapImpl() {
+        this(ObjFactory.getInstance().newObjLongMap());
+    }
+
+    public SObjLongMapImpl(final ObjLongMap<K> store) {
+        this.store = store;
+    }
+
+    @Override
+    protected ObjLongMap<K> getDelegate() {
+        return this.store;
+    }
+
+    @Override
+    public SObjLongMap<K> clone() {
+        return SObjLongMap.super.clone();
+    }
+
+    @Override
+    public long getLong(final Object key) {
+        return this.store.getLong(key);
+    }
+
+    @Override
+    public long getOrDefault(final Object key, final long defaultValue) {
+        return this.store.getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public long put(final K key, final long value) {
+        return this.store.put(key, value);
+    }
+
+    @Override
+    public long addValue(final K key, final long addition) {
+        return this.store.addValue(key, addition);
+    }
+
+    @Override
+    public long removeAsLong(final Object key) {
+        return this.store.removeAsLong(key);
+    }
+}
@@ -20,6 +20,8 @@ import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.bridge.ObjFactory;
+
 
 /**
  * Extended {@link Set} class for indolent person.
@@ -61,6 +63,32 @@ public interface SSet<T>
         return Indolently.freeze(this);
     }
 
+    /**
+     * Return a set which contains the value.
+     * This operation is constructive. If this set is frozen, the result is also frozen and shares the structure
+     * with this set, so that costs {@code O(log n)}.
+     *
+     * @param val the value
+     * @return newly constructed set
+     * @see #freeze()
+     */
+    default SSet<T> with(final T val) {
+        return this.clone().push(val);
+    }
+
+    /**
+     * Return a set which doesn't contain the value.
+     * This operation is constructive. If this set is frozen, the result is also frozen and shares the structure
+     * with this set, so that costs {@code O(log n)}.
+     *
+     * @param val the value
+     * @return newly constructed set
+     * @see #freeze()
+     */
+    default SSet<T> without(final T val) {
+        return this.clone().delete(val);
+    }
+
     @Override
     default SSet<T> tail() {
         return Indolently.set(this.list().tail());
@@ -133,23 +161,122 @@ public interface SSet<T>
 
     /**
      * compute intersection of set.
+     * The smaller one is iterated and the larger one is probed, so that costs {@code O(min(n, m))} if the argument
+     * is a {@link Set}.
      *
      * @param values values
      * @return newly constructed set as a computed intersection.
      */
     default SSet<T> intersect(final Iterable<? extends T> values) {
-        return this.union(values).delete(this.diff(values));
+
+        final SSet<T> rslt = Indolently.set();
+
+        if ((values instanceof Set) && (((Set<?>) values).size() >= this.size())) {
+            for (final T val : this) {
+                if (((Set<?>) values).contains(val)) {
+                    rslt.add(val);
+                }
+            }
+        } else {
+            for (final T val : values) {
+                if (this.contains(val)) {
+                    rslt.add(val);
+                }
+            }
+        }
+
+        return rslt;
     }
 
     /**
-     * compute difference of set.
+     * compute symmetric difference of set.
      *
      * @param values values
      * @return newly constructed set as a computed difference.
      */
-    @SuppressWarnings("unchecked")
     default SSet<T> diff(final Iterable<? extends T> values) {
-        return this.clone().delete(values).union(Indolently.set(values).delete((Set) this));
+
+        final SSet<T> rslt = this.clone();
+
+        // the argument must be distinct to toggle membership
+        for (final T val : (values instanceof Set) ? values : Indolently.set(values)) {
+            if (this.contains(val)) {
+                rslt.remove(val);
+            } else {
+                rslt.add(val);
+            }
+        }
+
+        return rslt;
+    }
+
+    /**
+     * Retain values only contained by the argument, then return this instance.
+     *
+     * @param values values to retain
+     * @return {@code this} instance
+     * @see #retainAll(java.util.Collection)
+     */
+    @Destructive
+    default SSet<T> retain(final Iterable<?> values) {
+        this.retainAll((values instanceof Set) ? (Set<?>) values : Indolently.set(values));
+        return this;
+    }
+
+    /**
+     * Remove values contained by the argument, then return this instance.
+     * The smaller one is iterated and the larger one is probed.
+     *
+     * @param values values to remove
+     * @return {@code this} instance
+     * @see #removeAll(java.util.Collection)
+     */
+    @Destructive
+    default SSet<T> subtract(final Iterable<?> values) {
+
+        if ((values instanceof Set) && (((Set<?>) values).size() > this.size())) {
+            this.removeIf(((Set<?>) values)::contains);
+        } else {
+            values.forEach(this::remove);
+        }
+
+        return this;
+    }
+
+    /**
+     * Create a lazily evaluated, read only view of union of set.
+     * Any modification of this set or the argument is reflected to the view.
+     * Note that {@code size()} of the view costs {@code O(n)}.
+     *
+     * @param values values
+     * @return union view
+     */
+    default SSet<T> unionView(final Set<? extends T> values) {
+        return Indolently.$(SetView.union(this, values));
+    }
+
+    /**
+     * Create a lazily evaluated, read only view of intersection of set.
+     * Any modification of this set or the argument is reflected to the view.
+     * Note that {@code size()} of the view costs {@code O(n)}.
+     *
+     * @param values values
+     * @return intersection view
+     */
+    default SSet<T> intersectView(final Set<?> values) {
+        return Indolently.$(SetView.intersect(this, values));
+    }
+
+    /**
+     * Create a lazily evaluated, read only view of this set excluding the values.
+     * Any modification of this set or the argument is reflected to the view.
+     * Note that {@code size()} of the view costs {@code O(n)}.
+     *
+     * @param values values
+     * @return difference view
+     */
+    default SSet<T> subtractView(final Set<?> values) {
+        return Indolently.$(SetView.subtract(this, values));
     }
 
     /**
@@ -190,9 +317,14 @@ public interface SSet<T>
     @Override
     default <K> SMap<K, SSet<T>> group(final Function<? super T, ? extends K> fkey) {
 
-        return Expressive.eval( //
-            this.list().group(fkey), //
-            (final SMap<K, SList<T>> grp) -> grp.map((k, v) -> v.set()));
+        final SMap<K, SSet<T>> rslt = Indolently.$(ObjFactory.getInstance().newFifoMap());
+
+        for (final T val : this) {
+
+            rslt.computeIfAbsent(fkey.apply(val), k -> Indolently.set()).add(val);
+        }
+
+        return rslt;
     }
 
     @Override
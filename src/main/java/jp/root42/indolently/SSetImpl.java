@@ -52,6 +52,18 @@ final class SSetImpl<T>
         return SSet.super.clone();
     }
 
+    @Override
+    public SSet<T> with(final T val) {
+        return (this.store instanceof PersistentSet)
+            ? new SSetImpl<>(((PersistentSet<T>) this.store).with(Indolently.frozen(val))) : SSet.super.with(val);
+    }
+
+    @Override
+    public SSet<T> without(final T val) {
+        return (this.store instanceof PersistentSet) ? new SSetImpl<>(((PersistentSet<T>) this.store).without(val))
+            : SSet.super.without(val);
+    }
+
     @Override
     public SIter<T> iterator() {
         return Indolently.$(this.store.iterator());
@@ -14,11 +14,16 @@
 package jp.root42.indolently;
 
 import java.util.Spliterator;
-import java.util.Spliterators;
+import java.util.function.BiFunction;
+import java.util.function.BinaryOperator;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
+import java.util.function.ToLongFunction;
 import java.util.stream.Stream;
 
+import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.trait.Aggregatable;
 import jp.root42.indolently.trait.EdgeAwareIterable;
 import jp.root42.indolently.trait.Filterable;
 import jp.root42.indolently.trait.Loopable;
@@ -35,7 +40,7 @@ import jp.root42.indolently.trait.ReducibleIterable;
  */
 public interface SStream<T>
     extends Stream<T>, EdgeAwareIterable<T>, Loopable<T, SStream<T>>, Filterable<T, SStream<T>>, ReducibleIterable<T>,
-    Matchable<T> {
+    Matchable<T>, Aggregatable<T> {
 
     @Override
     default void forEach(final Consumer<? super T> action) {
@@ -66,6 +71,41 @@ public interface SStream<T>
 
     @Override
     default Spliterator<T> spliterator() {
-        return Spliterators.spliteratorUnknownSize(this.iterator(), 0);
+        return new BatchSpliterator<>(this.iterator(), 0);
+    }
+
+    /**
+     * 'Group By' operation then reduce each group.
+     * If this stream is parallel, each thread aggregates into its own map then those are merged.
+     *
+     * @param <K> key type
+     * @param <R> result type
+     * @param fkey convert element to grouping key
+     * @param initial initial value of each group
+     * @param f reducer. first argument is the accumulated value, second one is the element.
+     * @param merge merge partially reduced values of same group
+     * @return reduced value of each group
+     * @see #groupReduce(Function, Object, BiFunction)
+     */
+    default <K, R> SMap<K, R> groupReduce(final Function<? super T, ? extends K> fkey, final R initial,
+        final BiFunction<? super R, ? super T, ? extends R> f, final BinaryOperator<R> merge) {
+
+        return this.collect( //
+            () -> Indolently.$(ObjFactory.getInstance().<K, R> newFifoMap()), //
+            (rslt, val) -> rslt.compute(fkey.apply(val), (k, acc) -> f.apply(acc == null ? initial : acc, val)), //
+            (l, r) -> r.forEach((k, v) -> l.merge(k, v, merge)));
+    }
+
+    /**
+     * If this stream is parallel, each thread aggregates into its own map then those are merged.
+     */
+    @Override
+    default <K> SObjLongMap<K> groupSumLong(final Function<? super T, ? extends K> fkey,
+        final ToLongFunction<? super T> fval) {
+
+        return this.collect( //
+            Indolently::<K> objLongMap, //
+            (rslt, val) -> rslt.addValue(fkey.apply(val), fval.applyAsLong(val)), //
+            (l, r) -> r.forEach(l::addValue));
     }
 }
@@ -0,0 +1,336 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.bridge.ObjFactory;
+import jp.root42.indolently.function.Function3;
+import jp.root42.indolently.trait.Reducible;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Lazy evaluated view of a collection.
+ * {@link #map(Function)} / {@link #filter(Predicate)} / {@link #flatten(Function)} / {@link #narrow(int, int)} only
+ * record the operation; all recorded operations are fused into a single pass which runs on each terminal operation
+ * ({@link #list()}, {@link #set()}, {@link #reduce(Optional, Function3)}, {@link #each(Consumer)}, {@link #group(Function)}
+ * and so on), so that no intermediate collection is constructed.
+ * A view is re-evaluated against the source on every terminal operation.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ * @see SCol#lazy()
+ */
+@FunctionalInterface
+public interface SView<T>
+    extends Reducible<T> {
+
+    /**
+     * Push each element of this view into the sink in order.
+     *
+     * @param sink element receiver. returning {@code false} stops pushing.
+     * @return {@code false} if the sink stopped pushing
+     */
+    boolean forEachWhile(Predicate<? super T> sink);
+
+    /**
+     * construct new view of the elements.
+     *
+     * @param elems the source elements
+     * @return a view of the elements
+     */
+    static <T> SView<T> of(final Iterable<? extends T> elems) {
+
+        Objects.requireNonNull(elems);
+
+        return sink -> {
+            for (final T x : elems) {
+                if (!sink.test(x)) {
+                    return false;
+                }
+            }
+
+            return true;
+        };
+    }
+
+    /**
+     * Map operation: map value to another type value.
+     *
+     * @param <R> mapped value type
+     * @param f function
+     * @return a view which contains converted values
+     */
+    default <R> SView<R> map(final Function<? super T, ? extends R> f) {
+
+        Objects.requireNonNull(f);
+
+        return sink -> this.forEachWhile(x -> sink.test(f.apply(x)));
+    }
+
+    /**
+     * Filter operation: returns values which satisfying condition.
+     *
+     * @param f condition
+     * @return a view which contains filtered values
+     */
+    default SView<T> filter(final Predicate<? super T> f) {
+
+        Objects.requireNonNull(f);
+
+        return sink -> this.forEachWhile(x -> !f.test(x) || sink.test(x));
+    }
+
+    /**
+     * Flatten this view.
+     *
+     * @param <R> value type
+     * @param f value generator
+     * @return a view which contains flatten values
+     */
+    default <R> SView<R> flatten(final Function<? super T, ? extends Iterable<? extends R>> f) {
+
+        Objects.requireNonNull(f);
+
+        return sink -> this.forEachWhile(x -> {
+            for (final R y : f.apply(x)) {
+                if (!sink.test(y)) {
+                    return false;
+                }
+            }
+
+            return true;
+        });
+    }
+
+    /**
+     * Almost same as {@link SList#narrow(int)}, but negative index is not acceptable since the size of this view
+     * isn't known until evaluated.
+     *
+     * @param from from index (inclusive)
+     * @return a view which contains narrowed values
+     */
+    default SView<T> narrow(final int from) {
+        return this.narrow(from, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Almost same as {@link SList#narrow(int, int)}, but negative index is not acceptable since the size of this
+     * view isn't known until evaluated. Evaluation stops as soon as reached to {@code to}.
+     *
+     * @param from from index (inclusive)
+     * @param to to index (exclusive)
+     * @return a view which contains narrowed values
+     */
+    default SView<T> narrow(final int from, final int to) {
+        if (from < 0) {
+            throw new IllegalArgumentException(String.format("(from = %d) < 0", from));
+        } else if (to < 0) {
+            throw new IllegalArgumentException(String.format("(to = %d) < 0", to));
+        }
+
+        return sink -> {
+            if (to <= from) {
+                return true;
+            }
+
+            // reaching to 'to' also stops the upstream, but it must not be reported as the sink's answer.
+            final class Step
+                implements Predicate<T> {
+
+                private int i;
+
+                private boolean stopped;
+
+                @Override
+                public boolean test(final T x) {
+
+                    final int n = this.i++;
+
+                    if (n < from) {
+                        return true;
+                    } else if (!sink.test(x)) {
+                        this.stopped = true;
+                        return false;
+                    } else {
+                        return n + 1 < to;
+                    }
+                }
+            }
+
+            final Step step = new Step();
+
+            this.forEachWhile(step);
+
+            return !step.stopped;
+        };
+    }
+
+    /**
+     * Terminal operation: construct new list which contains all elements of this view.
+     *
+     * @return a list
+     */
+    default SList<T> list() {
+
+        final SList<T> ret = Indolently.list();
+
+        this.forEachWhile(ret::add);
+
+        return ret;
+    }
+
+    /**
+     * Terminal operation: construct new set which contains all elements of this view.
+     *
+     * @return a set
+     */
+    default SSet<T> set() {
+
+        final SSet<T> ret = Indolently.set();
+
+        this.forEachWhile(x -> {
+            ret.add(x);
+            return true;
+        });
+
+        return ret;
+    }
+
+    /**
+     * Terminal operation: internal iterator.
+     *
+     * @param f function
+     */
+    default void each(final Consumer<? super T> f) {
+        this.forEachWhile(x -> {
+            f.accept(x);
+            return true;
+        });
+    }
+
+    /**
+     * Terminal operation: test whether is there any value which satisfies condition.
+     * Evaluation stops as soon as found.
+     *
+     * @param f condition
+     * @return test result
+     */
+    default boolean some(final Predicate<? super T> f) {
+        return !this.forEachWhile(f.negate());
+    }
+
+    /**
+     * Terminal operation: test whether are all values satisfy condition.
+     * Evaluation stops as soon as found a value which doesn't satisfy.
+     *
+     * @param f condition
+     * @return test result
+     */
+    default boolean every(final Predicate<? super T> f) {
+        return this.forEachWhile(f);
+    }
+
+    /**
+     * Terminal operation: 'Group By' operation.
+     *
+     * @param <K> key type
+     * @param fkey convert element to grouping key
+     * @return grouped elements
+     * @see SList#group(Function)
+     */
+    default <K> SMap<K, SList<T>> group(final Function<? super T, ? extends K> fkey) {
+
+        final SMap<K, SList<T>> ret = $(ObjFactory.getInstance().newFifoMap());
+
+        this.forEachWhile(x -> {
+
+            final K key = fkey.apply(x);
+
+            SList<T> grp = ret.get(key);
+
+            if (grp == null) {
+                grp = Indolently.list();
+                ret.put(key, grp);
+            }
+
+            grp.add(x);
+
+            return true;
+        });
+
+        return ret;
+    }
+
+    @Override
+    default <R> Optional<R> reduce(final Optional<? extends R> initial,
+        final Function3<Integer, ? super R, ? super T, ? extends R> f) {
+
+        final class Step
+            implements Predicate<T> {
+
+            private R rem = initial.orElse(null);
+
+            private int idx;
+
+            @Override
+            public boolean test(final T x) {
+                this.rem = f.apply(this.idx++, this.rem, x);
+                return true;
+            }
+        }
+
+        final Step step = new Step();
+
+        this.forEachWhile(step);
+
+        return Optional.ofNullable(step.rem);
+    }
+
+    @Override
+    default <R> Optional<R> mapred(final Function<? super T, ? extends R> fm,
+        final Function3<Integer, ? super R, ? super R, ? extends R> fr) {
+
+        final class Step
+            implements Predicate<T> {
+
+            private R rem;
+
+            private int idx = -1;
+
+            @Override
+            public boolean test(final T x) {
+
+                final R val = fm.apply(x);
+
+                this.rem = (this.idx < 0) ? val : fr.apply(this.idx, this.rem, val);
+                this.idx++;
+
+                return true;
+            }
+        }
+
+        final Step step = new Step();
+
+        this.forEachWhile(step);
+
+        return Optional.ofNullable(step.rem);
+    }
+}
@@ -0,0 +1,95 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+
+/**
+ * Read only, lazily evaluated set which is computed from other sets.
+ * Any modification of the source sets are reflected to the view.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ */
+final class SetView<T>
+    extends AbstractSet<T> {
+
+    private final Supplier<? extends Iterator<T>> iter;
+
+    private final Predicate<Object> has;
+
+    private SetView(final Supplier<? extends Iterator<T>> iter, final Predicate<Object> has) {
+        this.iter = iter;
+        this.has = has;
+    }
+
+    static <T> SetView<T> union(final Set<? extends T> l, final Set<? extends T> r) {
+
+        final Iterable<T> rest = () -> Indolently.<T> $(r.iterator()).filter(x -> !l.contains(x));
+
+        return new SetView<>( //
+            () -> Indolently.<Iterable<? extends T>> list(l, rest).iterator().flatten(x -> x), //
+            x -> l.contains(x) || r.contains(x));
+    }
+
+    static <T> SetView<T> intersect(final Set<? extends T> l, final Set<?> r) {
+
+        return new SetView<>( //
+            () -> (l.size() <= r.size()) //
+                ? Indolently.<T> $(l.iterator()).filter(r::contains)
+                : Indolently.<T> $(Indolently.<Iterator<T>> cast(r.iterator())).filter(l::contains), //
+            x -> l.contains(x) && r.contains(x));
+    }
+
+    static <T> SetView<T> subtract(final Set<? extends T> l, final Set<?> r) {
+        return new SetView<>( //
+            () -> Indolently.<T> $(l.iterator()).filter(x -> !r.contains(x)), //
+            x -> l.contains(x) && !r.contains(x));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this.iter.get();
+    }
+
+    @Override
+    public boolean contains(final Object o) {
+        return this.has.test(o);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return !this.iterator().hasNext();
+    }
+
+    /**
+     * This operation costs {@code O(n)}.
+     */
+    @Override
+    public int size() {
+
+        int size = 0;
+
+        for (final Iterator<T> i = this.iterator(); i.hasNext(); i.next()) {
+            size++;
+        }
+
+        return size;
+    }
+}
@@ -0,0 +1,153 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+
+/**
+ * Array of locks, which serializes only the tasks of same key.
+ * The key is mapped to one of the stripes by its hash code, so that unrelated keys rarely share a lock.
+ * Each stripe is a {@link ReentrantLock}, because a synchronized function may call itself recursively.
+ *
+ * @author takahashikzn
+ * @see jp.root42.indolently.function.SFunc#synchronizeBy(java.util.function.Function, StripedLock)
+ */
+public final class StripedLock {
+
+    private final ReentrantLock[] locks;
+
+    private final LongAdder acquisitions = new LongAdder();
+
+    private final LongAdder contentions = new LongAdder();
+
+    private final LongAdder waitNanos = new LongAdder();
+
+    private StripedLock(final int stripes, final boolean fair) {
+
+        if (stripes <= 0) {
+            throw new IllegalArgumentException("stripes must be positive: " + stripes);
+        }
+
+        this.locks = new ReentrantLock[Integer.highestOneBit(Math.min(stripes, 1 << 30) * 2 - 1)];
+
+        for (int i = 0; i < this.locks.length; i++) {
+            this.locks[i] = new ReentrantLock(fair);
+        }
+    }
+
+    /**
+     * Create unfair striped lock.
+     *
+     * @param stripes the number of stripes, rounded up to a power of two
+     * @return striped lock
+     */
+    public static StripedLock of(final int stripes) {
+        return of(stripes, false);
+    }
+
+    /**
+     * Create striped lock.
+     *
+     * @param stripes the number of stripes, rounded up to a power of two
+     * @param fair use fair ordering policy or not
+     * @return striped lock
+     */
+    public static StripedLock of(final int stripes, final boolean fair) {
+        return new StripedLock(stripes, fair);
+    }
+
+    /**
+     * @return the number of stripes
+     */
+    public int stripes() {
+        return this.locks.length;
+    }
+
+    /**
+     * Acquire the lock of the key.
+     *
+     * @param key key. {@code null} is allowed.
+     * @return the acquired lock, which the caller must unlock
+     */
+    public Lock lock(final Object key) {
+
+        final ReentrantLock lock = this.locks[this.index(key)];
+
+        if (!tryLockNow(lock)) {
+
+            final long start = System.nanoTime();
+            lock.lock();
+
+            this.waitNanos.add(System.nanoTime() - start);
+            this.contentions.increment();
+        }
+
+        this.acquisitions.increment();
+
+        return lock;
+    }
+
+    private static boolean tryLockNow(final ReentrantLock lock) {
+
+        if (!lock.isFair()) {
+            return lock.tryLock();
+        }
+
+        // tryLock() barges even if the lock is fair; the timed one honors the queue.
+        try {
+            return lock.tryLock(0, TimeUnit.NANOSECONDS);
+        } catch (final InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private int index(final Object key) {
+
+        final int h = (key == null) ? 0 : key.hashCode();
+
+        return (h ^ (h >>> 16)) & (this.locks.length - 1);
+    }
+
+    /**
+     * @return the number of acquisitions
+     */
+    public long acquisitions() {
+        return this.acquisitions.sum();
+    }
+
+    /**
+     * @return the number of acquisitions which had to wait for another thread
+     */
+    public long contentions() {
+        return this.contentions.sum();
+    }
+
+    /**
+     * @return total time spent to wait for locks, in nanoseconds
+     */
+    public long waitNanos() {
+        return this.waitNanos.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "StripedLock[stripes=" + this.stripes() + ", acquisitions=" + this.acquisitions() + ", contentions="
+            + this.contentions() + ", waitNanos=" + this.waitNanos() + "]";
+    }
+}
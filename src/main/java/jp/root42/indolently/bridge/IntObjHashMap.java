@@ -0,0 +1,410 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+
+/**
+ * Built-in implementation of {@link IntObjMap}.
+ * Keys are stored into a raw {@code int[]} and values into a parallel {@code Object[]} so that neither the key nor
+ * the entry is boxed until iterated via {@link #entrySet()}.
+ *
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class IntObjHashMap<V>
+    extends AbstractMap<Integer, V>
+    implements IntObjMap<V>, Serializable {
+
+    private static final long serialVersionUID = -7827295928210573878L;
+
+    private transient int[] keys;
+
+    /** {@code null} means free slot. */
+    private transient Object[] vals;
+
+    private transient int size;
+
+    /** the number of live slots plus removed slots. */
+    private transient int used;
+
+    private transient int modCount;
+
+    /**
+     * constructor.
+     */
+    IntObjHashMap() {
+        this(OpenHash.INITIAL_CAPACITY);
+    }
+
+    /**
+     * constructor.
+     *
+     * @param expected expected number of entries
+     */
+    IntObjHashMap(final int expected) {
+        this.init(OpenHash.capacity(expected));
+    }
+
+    private void init(final int capacity) {
+        this.keys = new int[capacity];
+        this.vals = new Object[capacity];
+        this.size = 0;
+        this.used = 0;
+    }
+
+    private int indexOf(final int key) {
+
+        final int[] keys = this.keys;
+        final Object[] vals = this.vals;
+        final int mask = keys.length - 1;
+
+        for (int i = OpenHash.mix(key) & mask; ; i = (i + 1) & mask) {
+
+            final Object v = vals[i];
+
+            if (v == null) {
+                return -1;
+            } else if ((v != OpenHash.REMOVED) && (keys[i] == key)) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * @return the index of the key if exists, otherwise {@code -(insertion point) - 1}
+     */
+    private int insertionIndexOf(final int key) {
+
+        final int[] keys = this.keys;
+        final Object[] vals = this.vals;
+        final int mask = keys.length - 1;
+
+        int removed = -1;
+
+        for (int i = OpenHash.mix(key) & mask; ; i = (i + 1) & mask) {
+
+            final Object v = vals[i];
+
+            if (v == null) {
+                return -((removed < 0) ? i : removed) - 1;
+            } else if (v == OpenHash.REMOVED) {
+                if (removed < 0) {
+                    removed = i;
+                }
+            } else if (keys[i] == key) {
+                return i;
+            }
+        }
+    }
+
+    private void rehash(final int capacity) {
+
+        final int[] oldKeys = this.keys;
+        final Object[] oldVals = this.vals;
+
+        this.init(capacity);
+
+        final int mask = capacity - 1;
+
+        for (int j = 0; j < oldVals.length; j++) {
+
+            final Object v = oldVals[j];
+
+            if ((v == null) || (v == OpenHash.REMOVED)) {
+                continue;
+            }
+
+            int i = OpenHash.mix(oldKeys[j]) & mask;
+
+            while (this.vals[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            this.keys[i] = oldKeys[j];
+            this.vals[i] = v;
+            this.size++;
+        }
+
+        this.used = this.size;
+    }
+
+    private void removeAt(final int i) {
+
+        this.vals[i] = OpenHash.REMOVED;
+        this.size--;
+        this.modCount++;
+
+        if (this.size == 0) {
+            Arrays.fill(this.vals, null);
+            this.used = 0;
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final int key) {
+        return 0 <= this.indexOf(key);
+    }
+
+    @Override
+    public V get(final int key) {
+
+        final int i = this.indexOf(key);
+
+        return (i < 0) ? null : OpenHash.unmask(this.vals[i]);
+    }
+
+    @Override
+    public V put(final int key, final V value) {
+
+        final int i = this.insertionIndexOf(key);
+
+        if (0 <= i) {
+            final V old = OpenHash.unmask(this.vals[i]);
+            this.vals[i] = OpenHash.mask(value);
+            return old;
+        }
+
+        final int slot = -i - 1;
+
+        if (this.vals[slot] == null) {
+            this.used++;
+        }
+
+        this.keys[slot] = key;
+        this.vals[slot] = OpenHash.mask(value);
+        this.size++;
+        this.modCount++;
+
+        if (OpenHash.threshold(this.keys.length) < this.used) {
+            this.rehash(OpenHash.grow(this.keys.length, this.size));
+        }
+
+        return null;
+    }
+
+    @Override
+    public V remove(final int key) {
+
+        final int i = this.indexOf(key);
+
+        if (i < 0) {
+            return null;
+        }
+
+        final V old = OpenHash.unmask(this.vals[i]);
+        this.removeAt(i);
+        return old;
+    }
+
+    @Override
+    public boolean updateValue(final int key, final Function<? super V, ? extends V> f) {
+
+        final int i = this.indexOf(key);
+        final V val = (i < 0) ? null : OpenHash.unmask(this.vals[i]);
+
+        if (val == null) {
+            return false;
+        }
+
+        this.vals[i] = OpenHash.mask(f.apply(val));
+        return true;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return (key instanceof Integer) && this.containsKey(((Integer) key).intValue());
+    }
+
+    @Override
+    public V get(final Object key) {
+        return (key instanceof Integer) ? this.get(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public V put(final Integer key, final V value) {
+        return this.put(Objects.requireNonNull(key, "key").intValue(), value);
+    }
+
+    @Override
+    public V remove(final Object key) {
+        return (key instanceof Integer) ? this.remove(((Integer) key).intValue()) : null;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+
+        final Object v = OpenHash.mask(value);
+
+        for (final Object x : this.vals) {
+            if ((x != null) && (x != OpenHash.REMOVED) && Objects.equals(x, v)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        if (this.used != 0) {
+            Arrays.fill(this.vals, null);
+            this.size = 0;
+            this.used = 0;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<Integer, V>> entrySet() {
+
+        return new AbstractSet<Map.Entry<Integer, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<Integer, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return IntObjHashMap.this.size;
+            }
+
+            @Override
+            public void clear() {
+                IntObjHashMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator
+        implements Iterator<Map.Entry<Integer, V>> {
+
+        private int next = this.seek(0);
+
+        private int last = -1;
+
+        private int expectedModCount = IntObjHashMap.this.modCount;
+
+        private int seek(final int from) {
+
+            final Object[] vals = IntObjHashMap.this.vals;
+
+            for (int i = from; i < vals.length; i++) {
+                if ((vals[i] != null) && (vals[i] != OpenHash.REMOVED)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return 0 <= this.next;
+        }
+
+        @Override
+        public Map.Entry<Integer, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            } else if (this.expectedModCount != IntObjHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            this.last = this.next;
+            this.next = this.seek(this.next + 1);
+
+            return new Entry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            } else if (this.expectedModCount != IntObjHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            IntObjHashMap.this.removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = IntObjHashMap.this.modCount;
+        }
+    }
+
+    private final class Entry
+        extends AbstractMap.SimpleEntry<Integer, V> {
+
+        private static final long serialVersionUID = -2173562786755557787L;
+
+        private final int index;
+
+        Entry(final int index) {
+            super(IntObjHashMap.this.keys[index], OpenHash.unmask(IntObjHashMap.this.vals[index]));
+            this.index = index;
+        }
+
+        @Override
+        public V setValue(final V value) {
+            IntObjHashMap.this.vals[this.index] = OpenHash.mask(value);
+            return super.setValue(value);
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+
+        out.defaultWriteObject();
+        out.writeInt(this.size);
+
+        for (int i = 0; i < this.vals.length; i++) {
+            if ((this.vals[i] != null) && (this.vals[i] != OpenHash.REMOVED)) {
+                out.writeInt(this.keys[i]);
+                out.writeObject(OpenHash.unmask(this.vals[i]));
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+
+        final int n = in.readInt();
+
+        this.init(OpenHash.capacity(n));
+
+        for (int i = 0; i < n; i++) {
+            this.put(in.readInt(), (V) in.readObject());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.util.Map;
+import java.util.function.Function;
+
+
+/**
+ * {@link Map} which keys are {@code int}.
+ * The primitive methods never box the key.
+ *
+ * @param <V> value type
+ * @author takahashikzn
+ * @see ObjFactory#newIntObjMap()
+ */
+public interface IntObjMap<V>
+    extends Map<Integer, V> {
+
+    /**
+     * @param key the key
+     * @return {@code true} if this map contains the key
+     * @see Map#containsKey(Object)
+     */
+    boolean containsKey(int key);
+
+    /**
+     * @param key the key
+     * @return the value, or {@code null} if not exists
+     * @see Map#get(Object)
+     */
+    V get(int key);
+
+    /**
+     * @param key the key
+     * @param value the value
+     * @return previous value, or {@code null} if not exists
+     * @see Map#put(Object, Object)
+     */
+    V put(int key, V value);
+
+    /**
+     * @param key the key
+     * @return removed value, or {@code null} if not exists
+     * @see Map#remove(Object)
+     */
+    V remove(int key);
+
+    /**
+     * Replace the value of the key with {@code f(value)} if the key is mapped to non-null value, looking up the key
+     * only once. Like {@link Map#computeIfPresent(Object, java.util.function.BiFunction)}, {@code f} is never applied
+     * to {@code null}; unlike it, a {@code null} result is stored as is.
+     *
+     * @param key the key
+     * @param f function
+     * @return {@code true} if {@code f} has been applied
+     */
+    boolean updateValue(int key, Function<? super V, ? extends V> f);
+}
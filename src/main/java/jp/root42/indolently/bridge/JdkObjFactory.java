@@ -72,4 +72,17 @@ class JdkObjFactory
     public <V> List<V> newList() {
         return new ArrayList<>(INITIAL_CAPACITY);
     }
+
+    @Override
+    public <V> Set<V> newSet(final int expectedSize) {
+        return new HashSet<>(capacity(expectedSize));
+    }
+
+    /**
+     * @param expectedSize the expected number of entries
+     * @return the capacity of {@link HashMap} / {@link HashSet} which never rehashes until reaching the expected size
+     */
+    static int capacity(final int expectedSize) {
+        return (int) (expectedSize / 0.75f) + 1;
+    }
 }
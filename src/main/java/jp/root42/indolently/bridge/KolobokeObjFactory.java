@@ -15,7 +15,12 @@ package jp.root42.indolently.bridge;
 
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 
+import net.openhft.koloboke.collect.map.hash.HashIntObjMaps;
+import net.openhft.koloboke.collect.map.hash.HashLongObjMaps;
+import net.openhft.koloboke.collect.map.hash.HashObjIntMaps;
+import net.openhft.koloboke.collect.map.hash.HashObjLongMaps;
 import net.openhft.koloboke.collect.map.hash.HashObjObjMaps;
 import net.openhft.koloboke.collect.set.hash.HashObjSets;
 
@@ -57,6 +62,13 @@ final class KolobokeObjFactory
             HashObjSets.newMutableSet();
         }
 
+        KolobokeHashSet() {
+        }
+
+        KolobokeHashSet(final int expectedSize) {
+            super(HashObjSets.newMutableSet(expectedSize));
+        }
+
         @Override
         protected Set<V> newSet() {
             return HashObjSets.newMutableSet(INITIAL_CAPACITY);
@@ -79,6 +91,214 @@ final class KolobokeObjFactory
         }
     }
 
+    private static final class KolobokeIntObjMap<V>
+        extends SerializableMap<Integer, V>
+        implements IntObjMap<V> {
+
+        private static final long serialVersionUID = -8636501268456997211L;
+
+        static {
+            // HashIntObjMaps isn't thread-safe, so synchronized initialization is required.
+            HashIntObjMaps.newMutableMap();
+        }
+
+        @Override
+        protected Map<Integer, V> newMap() {
+            return HashIntObjMaps.newMutableMap(INITIAL_CAPACITY);
+        }
+
+        private net.openhft.koloboke.collect.map.IntObjMap<V> store() {
+            return (net.openhft.koloboke.collect.map.IntObjMap<V>) this.getDelegate();
+        }
+
+        @Override
+        public boolean containsKey(final int key) {
+            return this.store().containsKey(key);
+        }
+
+        @Override
+        public V get(final int key) {
+            return this.store().get(key);
+        }
+
+        @Override
+        public V put(final int key, final V value) {
+            return this.store().put(key, value);
+        }
+
+        @Override
+        public V remove(final int key) {
+            return this.store().remove(key);
+        }
+
+        @Override
+        public boolean updateValue(final int key, final Function<? super V, ? extends V> f) {
+
+            final boolean[] applied = { false };
+            final V rslt = this.store().computeIfPresent(key, (k, v) -> {
+                applied[0] = true;
+                return f.apply(v);
+            });
+
+            // computeIfPresent removes the key if the result is null
+            if (applied[0] && (rslt == null)) {
+                this.store().put(key, null);
+            }
+
+            return applied[0];
+        }
+    }
+
+    private static final class KolobokeObjIntMap<K>
+        extends SerializableMap<K, Integer>
+        implements ObjIntMap<K> {
+
+        private static final long serialVersionUID = 2745325317815442321L;
+
+        static {
+            // HashObjIntMaps isn't thread-safe, so synchronized initialization is required.
+            HashObjIntMaps.newMutableMap();
+        }
+
+        @Override
+        protected Map<K, Integer> newMap() {
+            return HashObjIntMaps.newMutableMap(INITIAL_CAPACITY);
+        }
+
+        private net.openhft.koloboke.collect.map.ObjIntMap<K> store() {
+            return (net.openhft.koloboke.collect.map.ObjIntMap<K>) this.getDelegate();
+        }
+
+        @Override
+        public int getInt(final Object key) {
+            return this.store().getInt(key);
+        }
+
+        @Override
+        public int getOrDefault(final Object key, final int defaultValue) {
+            return this.store().getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public int put(final K key, final int value) {
+            return this.store().put(key, value);
+        }
+
+        @Override
+        public int addValue(final K key, final int addition) {
+            return this.store().addValue(key, addition);
+        }
+
+        @Override
+        public int removeAsInt(final Object key) {
+            return this.store().removeAsInt(key);
+        }
+    }
+
+    private static final class KolobokeLongObjMap<V>
+        extends SerializableMap<Long, V>
+        implements LongObjMap<V> {
+
+        private static final long serialVersionUID = 4629197121522666818L;
+
+        static {
+            // HashLongObjMaps isn't thread-safe, so synchronized initialization is required.
+            HashLongObjMaps.newMutableMap();
+        }
+
+        @Override
+        protected Map<Long, V> newMap() {
+            return HashLongObjMaps.newMutableMap(INITIAL_CAPACITY);
+        }
+
+        private net.openhft.koloboke.collect.map.LongObjMap<V> store() {
+            return (net.openhft.koloboke.collect.map.LongObjMap<V>) this.getDelegate();
+        }
+
+        @Override
+        public boolean containsKey(final long key) {
+            return this.store().containsKey(key);
+        }
+
+        @Override
+        public V get(final long key) {
+            return this.store().get(key);
+        }
+
+        @Override
+        public V put(final long key, final V value) {
+            return this.store().put(key, value);
+        }
+
+        @Override
+        public V remove(final long key) {
+            return this.store().remove(key);
+        }
+
+        @Override
+        public boolean updateValue(final long key, final Function<? super V, ? extends V> f) {
+
+            final boolean[] applied = { false };
+            final V rslt = this.store().computeIfPresent(key, (k, v) -> {
+                applied[0] = true;
+                return f.apply(v);
+            });
+
+            // computeIfPresent removes the key if the result is null
+            if (applied[0] && (rslt == null)) {
+                this.store().put(key, null);
+            }
+
+            return applied[0];
+        }
+    }
+
+    private static final class KolobokeObjLongMap<K>
+        extends SerializableMap<K, Long>
+        implements ObjLongMap<K> {
+
+        private static final long serialVersionUID = 5757871831548763782L;
+
+        static {
+            // HashObjLongMaps isn't thread-safe, so synchronized initialization is required.
+            HashObjLongMaps.newMutableMap();
+        }
+
+        @Override
+        protected Map<K, Long> newMap() {
+            return HashObjLongMaps.newMutableMap(INITIAL_CAPACITY);
+        }
+
+        private net.openhft.koloboke.collect.map.ObjLongMap<K> store() {
+            return (net.openhft.koloboke.collect.map.ObjLongMap<K>) this.getDelegate();
+        }
+
+        @Override
+        public long getLong(final Object key) {
+            return this.store().getLong(key);
+        }
+
+        @Override
+        public long getOrDefault(final Object key, final long defaultValue) {
+            return this.store().getOrDefault(key, defaultValue);
+        }
+
+        @Override
+        public long put(final K key, final long value) {
+            return this.store().put(key, value);
+        }
+
+        @Override
+        public long addValue(final K key, final long addition) {
+            return this.store().addValue(key, addition);
+        }
+
+        @Override
+        public long removeAsLong(final Object key) {
+            return this.store().removeAsLong(key);
+        }
+    }
+
     @Override
     public <K, V> Map<K, V> newMap() {
         return new KolobokeHashMap<>();
@@ -88,4 +308,29 @@ final class KolobokeObjFactory
     public <V> Set<V> newSet() {
         return new KolobokeHashSet<>();
     }
+
+    @Override
+    public <V> Set<V> newSet(final int expectedSize) {
+        return new KolobokeHashSet<>(expectedSize);
+    }
+
+    @Override
+    public <V> IntObjMap<V> newIntObjMap() {
+        return new KolobokeIntObjMap<>();
+    }
+
+    @Override
+    public <V> LongObjMap<V> newLongObjMap() {
+        return new KolobokeLongObjMap<>();
+    }
+
+    @Override
+    public <K> ObjIntMap<K> newObjIntMap() {
+        return new KolobokeObjIntMap<>();
+    }
+
+    @Override
+    public <K> ObjLongMap<K> newObjLongMap() {
+        return new KolobokeObjLongMap<>();
+    }
 }
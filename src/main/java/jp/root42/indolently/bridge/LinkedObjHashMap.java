@@ -0,0 +1,471 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+
+/**
+ * Built-in open addressing hash map which iterates entries in the order of insertion.
+ * Keys and values are appended to parallel {@code Object[]} in the order of insertion,
+ * and the hash table is an {@code int[]} of positions of those arrays.
+ * Removed entries leave a hole which is compacted on rehash.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class LinkedObjHashMap<K, V>
+    extends AbstractMap<K, V>
+    implements Serializable {
+
+    private static final long serialVersionUID = -1496727383658519390L;
+
+    /** position of entry plus one. {@code 0} means free slot. */
+    private transient int[] table;
+
+    /** {@link OpenHash#REMOVED} means removed entry. */
+    private transient Object[] keys;
+
+    private transient Object[] vals;
+
+    /** the number of appended entries including removed ones. */
+    private transient int end;
+
+    private transient int size;
+
+    private transient int modCount;
+
+    /**
+     * constructor.
+     */
+    LinkedObjHashMap() {
+        this(OpenHash.INITIAL_CAPACITY);
+    }
+
+    /**
+     * constructor.
+     *
+     * @param expected expected number of entries
+     */
+    LinkedObjHashMap(final int expected) {
+        this.init(OpenHash.capacity(expected));
+    }
+
+    private void init(final int capacity) {
+
+        final int entries = OpenHash.threshold(capacity);
+
+        this.table = new int[capacity];
+        this.keys = new Object[entries];
+        this.vals = new Object[entries];
+        this.end = 0;
+        this.size = 0;
+    }
+
+    /**
+     * @return the position of the entry if exists, otherwise {@code -(table slot) - 1}
+     */
+    private int find(final Object k) {
+
+        final int[] table = this.table;
+        final Object[] keys = this.keys;
+        final int mask = table.length - 1;
+
+        for (int i = OpenHash.mix(k.hashCode()) & mask; ; i = (i + 1) & mask) {
+
+            final int t = table[i];
+
+            if (t == 0) {
+                return -i - 1;
+            }
+
+            final Object x = keys[t - 1];
+
+            if ((x == k) || ((x != OpenHash.REMOVED) && k.equals(x))) {
+                return t - 1;
+            }
+        }
+    }
+
+    private int indexOf(final Object key) {
+
+        final int i = this.find(OpenHash.mask(key));
+
+        return (i < 0) ? -1 : i;
+    }
+
+    private void rehash(final int capacity) {
+
+        final Object[] oldKeys = this.keys;
+        final Object[] oldVals = this.vals;
+        final int oldEnd = this.end;
+
+        this.init(capacity);
+
+        final int mask = capacity - 1;
+
+        for (int j = 0; j < oldEnd; j++) {
+
+            final Object k = oldKeys[j];
+
+            if (k == OpenHash.REMOVED) {
+                continue;
+            }
+
+            int i = OpenHash.mix(k.hashCode()) & mask;
+
+            while (this.table[i] != 0) {
+                i = (i + 1) & mask;
+            }
+
+            this.keys[this.end] = k;
+            this.vals[this.end] = oldVals[j];
+            this.table[i] = ++this.end;
+        }
+
+        this.size = this.end;
+    }
+
+    private void removeAt(final int i) {
+
+        this.keys[i] = OpenHash.REMOVED;
+        this.vals[i] = null;
+        this.size--;
+        this.modCount++;
+
+        if (this.size == 0) {
+            this.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int i) {
+        return (V) this.vals[i];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return 0 <= this.indexOf(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+
+        final int i = this.indexOf(key);
+
+        return (i < 0) ? null : this.valueAt(i);
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+
+        final int i = this.indexOf(key);
+
+        return (i < 0) ? defaultValue : this.valueAt(i);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+
+        final Object k = OpenHash.mask(key);
+
+        final int i = this.find(k);
+
+        if (0 <= i) {
+            final V old = this.valueAt(i);
+            this.vals[i] = value;
+            return old;
+        }
+
+        this.insert(i, k, value);
+
+        return null;
+    }
+
+    /**
+     * @param i the result of {@link #find(Object)} which indicates absence
+     */
+    private void insert(final int i, final Object k, final Object value) {
+
+        int slot = -i - 1;
+
+        if (this.end == this.keys.length) {
+            this.rehash(OpenHash.grow(this.table.length, this.size));
+            slot = -this.find(k) - 1;
+        }
+
+        this.keys[this.end] = k;
+        this.vals[this.end] = value;
+        this.table[slot] = ++this.end;
+        this.size++;
+        this.modCount++;
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> f) {
+
+        Objects.requireNonNull(f);
+
+        final Object k = OpenHash.mask(key);
+        final int i = this.find(k);
+
+        if ((0 <= i) && (this.vals[i] != null)) {
+            return this.valueAt(i);
+        }
+
+        final int mc = this.modCount;
+        final V val = f.apply(key);
+
+        if (mc != this.modCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        if (val != null) {
+            if (0 <= i) {
+                this.vals[i] = val;
+            } else {
+                this.insert(i, k, val);
+            }
+        }
+
+        return val;
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> f) {
+
+        Objects.requireNonNull(f);
+
+        final Object k = OpenHash.mask(key);
+        final int i = this.find(k);
+
+        final int mc = this.modCount;
+        final V val = f.apply(key, (i < 0) ? null : this.valueAt(i));
+
+        if (mc != this.modCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        if (0 <= i) {
+            if (val == null) {
+                this.removeAt(i);
+            } else {
+                this.vals[i] = val;
+            }
+        } else if (val != null) {
+            this.insert(i, k, val);
+        }
+
+        return val;
+    }
+
+    @Override
+    public V remove(final Object key) {
+
+        final int i = this.indexOf(key);
+
+        if (i < 0) {
+            return null;
+        }
+
+        final V old = this.valueAt(i);
+        this.removeAt(i);
+        return old;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+
+        for (int i = 0; i < this.end; i++) {
+            if ((this.keys[i] != OpenHash.REMOVED) && Objects.equals(this.vals[i], value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        if (this.end != 0) {
+            Arrays.fill(this.table, 0);
+            Arrays.fill(this.keys, 0, this.end, null);
+            Arrays.fill(this.vals, 0, this.end, null);
+            this.end = 0;
+            this.size = 0;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+
+        return new AbstractSet<Map.Entry<K, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return LinkedObjHashMap.this.size;
+            }
+
+            @Override
+            public void clear() {
+                LinkedObjHashMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator
+        implements Iterator<Map.Entry<K, V>> {
+
+        private int next = this.seek(0);
+
+        private int last = -1;
+
+        private int expectedModCount = LinkedObjHashMap.this.modCount;
+
+        private int seek(final int from) {
+
+            final Object[] keys = LinkedObjHashMap.this.keys;
+
+            for (int i = from; i < LinkedObjHashMap.this.end; i++) {
+                if (keys[i] != OpenHash.REMOVED) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return 0 <= this.next;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            } else if (this.expectedModCount != LinkedObjHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            this.last = this.next;
+            this.next = this.seek(this.next + 1);
+
+            return new Entry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            } else if (this.expectedModCount != LinkedObjHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            final boolean last = LinkedObjHashMap.this.size == 1;
+
+            LinkedObjHashMap.this.removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = LinkedObjHashMap.this.modCount;
+
+            if (last) {
+                this.next = -1;
+            }
+        }
+    }
+
+    private final class Entry
+        extends AbstractMap.SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 6259439920810367287L;
+
+        private final int index;
+
+        /** the masked key, to check the slot still belongs to this entry by identity. */
+        private final transient Object key;
+
+        Entry(final int index) {
+            super(OpenHash.unmask(LinkedObjHashMap.this.keys[index]), LinkedObjHashMap.this.valueAt(index));
+            this.index = index;
+            this.key = LinkedObjHashMap.this.keys[index];
+        }
+
+        @Override
+        public V setValue(final V value) {
+
+            final Object[] keys = LinkedObjHashMap.this.keys;
+
+            // the slot may have been moved by rehash, or removed
+            if ((keys.length <= this.index) || (keys[this.index] != this.key)) {
+                throw new ConcurrentModificationException();
+            }
+
+            LinkedObjHashMap.this.vals[this.index] = value;
+            return super.setValue(value);
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+
+        out.defaultWriteObject();
+        out.writeInt(this.size);
+
+        for (int i = 0; i < this.end; i++) {
+            if (this.keys[i] != OpenHash.REMOVED) {
+                out.writeObject(OpenHash.unmask(this.keys[i]));
+                out.writeObject(this.vals[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+
+        final int n = in.readInt();
+
+        this.init(OpenHash.capacity(n));
+
+        for (int i = 0; i < n; i++) {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+}
@@ -14,9 +14,14 @@
 package jp.root42.indolently.bridge;
 
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
 
 
 /**
@@ -146,4 +151,29 @@ public class ListDelegate<T>
     public List<T> subList(final int fromIndex, final int toIndex) {
         return this.getDelegate().subList(fromIndex, toIndex);
     }
+
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        return this.getDelegate().removeIf(filter);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return this.getDelegate().spliterator();
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        this.getDelegate().forEach(action);
+    }
+
+    @Override
+    public void replaceAll(final UnaryOperator<T> operator) {
+        this.getDelegate().replaceAll(operator);
+    }
+
+    @Override
+    public void sort(final Comparator<? super T> c) {
+        this.getDelegate().sort(c);
+    }
 }
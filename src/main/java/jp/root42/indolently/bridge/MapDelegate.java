@@ -16,6 +16,9 @@ package jp.root42.indolently.bridge;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 
 /**
@@ -89,4 +92,63 @@ public class MapDelegate<K, V>
     public Set<Map.Entry<K, V>> entrySet() {
         return this.getDelegate().entrySet();
     }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+        return this.getDelegate().getOrDefault(key, defaultValue);
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        this.getDelegate().forEach(action);
+    }
+
+    @Override
+    public void replaceAll(final BiFunction<? super K, ? super V, ? extends V> function) {
+        this.getDelegate().replaceAll(function);
+    }
+
+    @Override
+    public V putIfAbsent(final K key, final V value) {
+        return this.getDelegate().putIfAbsent(key, value);
+    }
+
+    @Override
+    public boolean remove(final Object key, final Object value) {
+        return this.getDelegate().remove(key, value);
+    }
+
+    @Override
+    public boolean replace(final K key, final V oldValue, final V newValue) {
+        return this.getDelegate().replace(key, oldValue, newValue);
+    }
+
+    @Override
+    public V replace(final K key, final V value) {
+        return this.getDelegate().replace(key, value);
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> mappingFunction) {
+        return this.getDelegate().computeIfAbsent(key, mappingFunction);
+    }
+
+    @Override
+    public V computeIfPresent(final K key,
+        final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+
+        return this.getDelegate().computeIfPresent(key, remappingFunction);
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> remappingFunction) {
+        return this.getDelegate().compute(key, remappingFunction);
+    }
+
+    @Override
+    public V merge(final K key, final V value,
+        final BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+
+        return this.getDelegate().merge(key, value, remappingFunction);
+    }
 }
@@ -13,6 +13,7 @@
 // limitations under the License.
 package jp.root42.indolently.bridge;
 
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Map;
@@ -20,6 +21,10 @@ import java.util.Objects;
 import java.util.Set;
 import java.util.SortedMap;
 import java.util.SortedSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
 
 
 /**
@@ -36,7 +41,7 @@ public abstract class ObjFactory {
         try {
             instance = new KolobokeObjFactory();
         } catch (final UnsupportedOperationException e) {
-            instance = new JdkObjFactory();
+            instance = new OpenHashObjFactory();
         }
     }
 
@@ -126,4 +131,102 @@ public abstract class ObjFactory {
      * @return new list instance
      */
     public abstract <V> List<V> newList();
+
+    /**
+     * Create new map instance for the expected number of entries.
+     * If the number is small, returns a compact map which is backed by flat array.
+     * The compact map is transparently converted to the one created by {@link #newMap()} when it grows.
+     * Don't rely on the iteration order of the returned map; the compact map iterates in the order of insertion, but
+     * the converted one doesn't.
+     *
+     * @param expectedSize the expected number of entries
+     * @return new map instance
+     */
+    public <K, V> Map<K, V> newMap(final int expectedSize) {
+        return (expectedSize <= SmallMap.MAX_SIZE) ? new SmallMap<>(expectedSize) : this.newMap();
+    }
+
+    /**
+     * Create new set instance for the expected number of elements.
+     *
+     * @param expectedSize the expected number of elements
+     * @return new set instance
+     */
+    public <V> Set<V> newSet(final int expectedSize) {
+        return this.newSet();
+    }
+
+    /**
+     * Create new list instance for the expected number of elements.
+     *
+     * @param expectedSize the expected number of elements
+     * @return new list instance
+     */
+    public <V> List<V> newList(final int expectedSize) {
+        return new ArrayList<>(expectedSize);
+    }
+
+    /**
+     * Create new map instance which keys are {@code int}.
+     *
+     * @return new map instance
+     */
+    public <V> IntObjMap<V> newIntObjMap() {
+        return new IntObjHashMap<>();
+    }
+
+    /**
+     * Create new map instance which keys are {@code long}.
+     *
+     * @return new map instance
+     */
+    public <V> LongObjMap<V> newLongObjMap() {
+        return new LongObjHashMap<>();
+    }
+
+    /**
+     * Create new map instance which values are {@code int}.
+     *
+     * @return new map instance
+     */
+    public <K> ObjIntMap<K> newObjIntMap() {
+        return new ObjIntHashMap<>();
+    }
+
+    /**
+     * Create new map instance which values are {@code long}.
+     *
+     * @return new map instance
+     */
+    public <K> ObjLongMap<K> newObjLongMap() {
+        return new ObjLongHashMap<>();
+    }
+
+    /**
+     * Create new thread safe map instance.
+     *
+     * @return new map instance
+     */
+    public <K, V> ConcurrentMap<K, V> newConcurrentMap() {
+        return new ConcurrentHashMap<>();
+    }
+
+    /**
+     * Create new thread safe set instance.
+     *
+     * @return new set instance
+     */
+    public <V> Set<V> newConcurrentSet() {
+        return ConcurrentHashMap.newKeySet();
+    }
+
+    /**
+     * Create new thread safe sorted map instance.
+     *
+     * @param comp comparator
+     * @return new map instance
+     */
+    public <K, V> ConcurrentNavigableMap<K, V> newConcurrentSortedMap(final Comparator<? super K> comp) {
+        return new ConcurrentSkipListMap<>(comp);
+    }
 }
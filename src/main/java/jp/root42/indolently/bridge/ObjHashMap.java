@@ -0,0 +1,463 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+
+/**
+ * Built-in open addressing hash map.
+ * Keys and values are stored into parallel {@code Object[]} so that no per-entry node is allocated.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class ObjHashMap<K, V>
+    extends AbstractMap<K, V>
+    implements Serializable {
+
+    private static final long serialVersionUID = 2755092934586349386L;
+
+    /** {@code null} means free slot. */
+    private transient Object[] keys;
+
+    private transient Object[] vals;
+
+    private transient int size;
+
+    /** the number of live slots plus removed slots. */
+    private transient int used;
+
+    private transient int modCount;
+
+    /**
+     * constructor.
+     */
+    ObjHashMap() {
+        this(OpenHash.INITIAL_CAPACITY);
+    }
+
+    /**
+     * constructor.
+     *
+     * @param expected expected number of entries
+     */
+    ObjHashMap(final int expected) {
+        this.init(OpenHash.capacity(expected));
+    }
+
+    private void init(final int capacity) {
+        this.keys = new Object[capacity];
+        this.vals = new Object[capacity];
+        this.size = 0;
+        this.used = 0;
+    }
+
+    private int indexOf(final Object key) {
+
+        final Object k = OpenHash.mask(key);
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        for (int i = OpenHash.mix(k.hashCode()) & mask; ; i = (i + 1) & mask) {
+
+            final Object x = keys[i];
+
+            if (x == null) {
+                return -1;
+            } else if ((x == k) || ((x != OpenHash.REMOVED) && k.equals(x))) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * @return the index of the key if exists, otherwise {@code -(insertion point) - 1}
+     */
+    private int insertionIndexOf(final Object k) {
+
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        int removed = -1;
+
+        for (int i = OpenHash.mix(k.hashCode()) & mask; ; i = (i + 1) & mask) {
+
+            final Object x = keys[i];
+
+            if (x == null) {
+                return -((removed < 0) ? i : removed) - 1;
+            } else if (x == OpenHash.REMOVED) {
+                if (removed < 0) {
+                    removed = i;
+                }
+            } else if ((x == k) || k.equals(x)) {
+                return i;
+            }
+        }
+    }
+
+    private void rehash(final int capacity) {
+
+        final Object[] oldKeys = this.keys;
+        final Object[] oldVals = this.vals;
+
+        this.init(capacity);
+
+        final int mask = capacity - 1;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+
+            final Object k = oldKeys[j];
+
+            if ((k == null) || (k == OpenHash.REMOVED)) {
+                continue;
+            }
+
+            int i = OpenHash.mix(k.hashCode()) & mask;
+
+            while (this.keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            this.keys[i] = k;
+            this.vals[i] = oldVals[j];
+            this.size++;
+        }
+
+        this.used = this.size;
+    }
+
+    private void removeAt(final int i) {
+
+        this.keys[i] = OpenHash.REMOVED;
+        this.vals[i] = null;
+        this.size--;
+        this.modCount++;
+
+        if (this.size == 0) {
+            Arrays.fill(this.keys, null);
+            this.used = 0;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int i) {
+        return (V) this.vals[i];
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return 0 <= this.indexOf(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+
+        final int i = this.indexOf(key);
+
+        return (i < 0) ? null : this.valueAt(i);
+    }
+
+    @Override
+    public V getOrDefault(final Object key, final V defaultValue) {
+
+        final int i = this.indexOf(key);
+
+        return (i < 0) ? defaultValue : this.valueAt(i);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+
+        final Object k = OpenHash.mask(key);
+        final int i = this.insertionIndexOf(k);
+
+        if (0 <= i) {
+            final V old = this.valueAt(i);
+            this.vals[i] = value;
+            return old;
+        }
+
+        this.insertAt(-i - 1, k, value);
+
+        return null;
+    }
+
+    private void insertAt(final int slot, final Object k, final Object value) {
+
+        if (this.keys[slot] == null) {
+            this.used++;
+        }
+
+        this.keys[slot] = k;
+        this.vals[slot] = value;
+        this.size++;
+        this.modCount++;
+
+        if (OpenHash.threshold(this.keys.length) < this.used) {
+            this.rehash(OpenHash.grow(this.keys.length, this.size));
+        }
+    }
+
+    @Override
+    public V computeIfAbsent(final K key, final Function<? super K, ? extends V> f) {
+
+        Objects.requireNonNull(f);
+
+        final Object k = OpenHash.mask(key);
+        final int i = this.insertionIndexOf(k);
+
+        if ((0 <= i) && (this.vals[i] != null)) {
+            return this.valueAt(i);
+        }
+
+        final int mc = this.modCount;
+        final V val = f.apply(key);
+
+        if (mc != this.modCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        if (val != null) {
+            if (0 <= i) {
+                this.vals[i] = val;
+            } else {
+                this.insertAt(-i - 1, k, val);
+            }
+        }
+
+        return val;
+    }
+
+    @Override
+    public V compute(final K key, final BiFunction<? super K, ? super V, ? extends V> f) {
+
+        Objects.requireNonNull(f);
+
+        final Object k = OpenHash.mask(key);
+        final int i = this.insertionIndexOf(k);
+
+        final int mc = this.modCount;
+        final V val = f.apply(key, (i < 0) ? null : this.valueAt(i));
+
+        if (mc != this.modCount) {
+            throw new ConcurrentModificationException();
+        }
+
+        if (0 <= i) {
+            if (val == null) {
+                this.removeAt(i);
+            } else {
+                this.vals[i] = val;
+            }
+        } else if (val != null) {
+            this.insertAt(-i - 1, k, val);
+        }
+
+        return val;
+    }
+
+    @Override
+    public V remove(final Object key) {
+
+        final int i = this.indexOf(key);
+
+        if (i < 0) {
+            return null;
+        }
+
+        final V old = this.valueAt(i);
+        this.removeAt(i);
+        return old;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+
+        for (int i = 0; i < this.keys.length; i++) {
+            if ((this.keys[i] != null) && (this.keys[i] != OpenHash.REMOVED) && Objects.equals(this.vals[i], value)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        if (this.used != 0) {
+            Arrays.fill(this.keys, null);
+            Arrays.fill(this.vals, null);
+            this.size = 0;
+            this.used = 0;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+
+        return new AbstractSet<Map.Entry<K, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ObjHashMap.this.size;
+            }
+
+            @Override
+            public void clear() {
+                ObjHashMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator
+        implements Iterator<Map.Entry<K, V>> {
+
+        private int next = this.seek(0);
+
+        private int last = -1;
+
+        private int expectedModCount = ObjHashMap.this.modCount;
+
+        private int seek(final int from) {
+
+            final Object[] keys = ObjHashMap.this.keys;
+
+            for (int i = from; i < keys.length; i++) {
+                if ((keys[i] != null) && (keys[i] != OpenHash.REMOVED)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return 0 <= this.next;
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            } else if (this.expectedModCount != ObjHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            this.last = this.next;
+            this.next = this.seek(this.next + 1);
+
+            return new Entry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            } else if (this.expectedModCount != ObjHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            ObjHashMap.this.removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = ObjHashMap.this.modCount;
+        }
+    }
+
+    private final class Entry
+        extends AbstractMap.SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 7481770164534347967L;
+
+        private final int index;
+
+        /** the masked key, to check the slot still belongs to this entry by identity. */
+        private final transient Object key;
+
+        Entry(final int index) {
+            super(OpenHash.unmask(ObjHashMap.this.keys[index]), ObjHashMap.this.valueAt(index));
+            this.index = index;
+            this.key = ObjHashMap.this.keys[index];
+        }
+
+        @Override
+        public V setValue(final V value) {
+
+            final Object[] keys = ObjHashMap.this.keys;
+
+            // the slot may have been moved by rehash, or removed
+            if ((keys.length <= this.index) || (keys[this.index] != this.key)) {
+                throw new ConcurrentModificationException();
+            }
+
+            ObjHashMap.this.vals[this.index] = value;
+            return super.setValue(value);
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+
+        out.defaultWriteObject();
+        out.writeInt(this.size);
+
+        for (int i = 0; i < this.keys.length; i++) {
+            if ((this.keys[i] != null) && (this.keys[i] != OpenHash.REMOVED)) {
+                out.writeObject(OpenHash.unmask(this.keys[i]));
+                out.writeObject(this.vals[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+
+        final int n = in.readInt();
+
+        this.init(OpenHash.capacity(n));
+
+        for (int i = 0; i < n; i++) {
+            this.put((K) in.readObject(), (V) in.readObject());
+        }
+    }
+}
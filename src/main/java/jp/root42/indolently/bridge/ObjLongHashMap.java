@@ -0,0 +1,434 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+
+/**
+ * Built-in implementation of {@link ObjLongMap}.
+ * Keys are stored into a raw {@code Object[]} and values into a parallel {@code long[]} so that neither the value
+ * nor the entry is boxed until iterated via {@link #entrySet()}.
+ *
+ * @param <K> key type
+ * @author takahashikzn
+ */
+final class ObjLongHashMap<K>
+    extends AbstractMap<K, Long>
+    implements ObjLongMap<K>, Serializable {
+
+    private static final long serialVersionUID = -2676481341434632285L;
+
+    /** {@code null} means free slot. */
+    private transient Object[] keys;
+
+    private transient long[] vals;
+
+    private transient int size;
+
+    /** the number of live slots plus removed slots. */
+    private transient int used;
+
+    private transient int modCount;
+
+    /**
+     * constructor.
+     */
+    ObjLongHashMap() {
+        this(OpenHash.INITIAL_CAPACITY);
+    }
+
+    /**
+     * constructor.
+     *
+     * @param expected expected number of entries
+     */
+    ObjLongHashMap(final int expected) {
+        this.init(OpenHash.capacity(expected));
+    }
+
+    private void init(final int capacity) {
+        this.keys = new Object[capacity];
+        this.vals = new long[capacity];
+        this.size = 0;
+        this.used = 0;
+    }
+
+    private int indexOf(final Object key) {
+
+        final Object k = OpenHash.mask(key);
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        for (int i = OpenHash.mix(k.hashCode()) & mask; ; i = (i + 1) & mask) {
+
+            final Object x = keys[i];
+
+            if (x == null) {
+                return -1;
+            } else if ((x == k) || ((x != OpenHash.REMOVED) && k.equals(x))) {
+                return i;
+            }
+        }
+    }
+
+    /**
+     * @return the index of the key if exists, otherwise {@code -(insertion point) - 1}
+     */
+    private int insertionIndexOf(final Object k) {
+
+        final Object[] keys = this.keys;
+        final int mask = keys.length - 1;
+
+        int removed = -1;
+
+        for (int i = OpenHash.mix(k.hashCode()) & mask; ; i = (i + 1) & mask) {
+
+            final Object x = keys[i];
+
+            if (x == null) {
+                return -((removed < 0) ? i : removed) - 1;
+            } else if (x == OpenHash.REMOVED) {
+                if (removed < 0) {
+                    removed = i;
+                }
+            } else if ((x == k) || k.equals(x)) {
+                return i;
+            }
+        }
+    }
+
+    private void rehash(final int capacity) {
+
+        final Object[] oldKeys = this.keys;
+        final long[] oldVals = this.vals;
+
+        this.init(capacity);
+
+        final int mask = capacity - 1;
+
+        for (int j = 0; j < oldKeys.length; j++) {
+
+            final Object k = oldKeys[j];
+
+            if ((k == null) || (k == OpenHash.REMOVED)) {
+                continue;
+            }
+
+            int i = OpenHash.mix(k.hashCode()) & mask;
+
+            while (this.keys[i] != null) {
+                i = (i + 1) & mask;
+            }
+
+            this.keys[i] = k;
+            this.vals[i] = oldVals[j];
+            this.size++;
+        }
+
+        this.used = this.size;
+    }
+
+    /**
+     * @return the index of the key. the slot is newly allocated if not exists.
+     */
+    private int slotOf(final K key) {
+
+        final Object k = OpenHash.mask(key);
+        final int i = this.insertionIndexOf(k);
+
+        if (0 <= i) {
+            return i;
+        }
+
+        int slot = -i - 1;
+
+        if (this.keys[slot] == null) {
+            this.used++;
+        }
+
+        this.keys[slot] = k;
+        this.vals[slot] = 0;
+        this.size++;
+        this.modCount++;
+
+        if (OpenHash.threshold(this.keys.length) < this.used) {
+            this.rehash(OpenHash.grow(this.keys.length, this.size));
+            slot = this.indexOf(key);
+        }
+
+        return slot;
+    }
+
+    private void removeAt(final int i) {
+
+        this.keys[i] = OpenHash.REMOVED;
+        this.size--;
+        this.modCount++;
+
+        if (this.size == 0) {
+            Arrays.fill(this.keys, null);
+            this.used = 0;
+        }
+    }
+
+    @Override
+    public int size() {
+        return this.size;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return 0 <= this.indexOf(key);
+    }
+
+    @Override
+    public long getLong(final Object key) {
+        return this.getOrDefault(key, 0L);
+    }
+
+    @Override
+    public long getOrDefault(final Object key, final long defaultValue) {
+
+        final int i = this.indexOf(key);
+
+        return (i < 0) ? defaultValue : this.vals[i];
+    }
+
+    @Override
+    public long put(final K key, final long value) {
+
+        final int i = this.slotOf(key);
+        final long old = this.vals[i];
+        this.vals[i] = value;
+        return old;
+    }
+
+    @Override
+    public long addValue(final K key, final long addition) {
+
+        final int i = this.slotOf(key);
+        return this.vals[i] += addition;
+    }
+
+    @Override
+    public long removeAsLong(final Object key) {
+
+        final int i = this.indexOf(key);
+
+        if (i < 0) {
+            return 0;
+        }
+
+        final long old = this.vals[i];
+        this.removeAt(i);
+        return old;
+    }
+
+    @Override
+    public Long get(final Object key) {
+
+        final int i = this.indexOf(key);
+
+        return (i < 0) ? null : this.vals[i];
+    }
+
+    @Override
+    public Long put(final K key, final Long value) {
+
+        Objects.requireNonNull(value, "value");
+
+        final int n = this.size;
+        final long old = this.put(key, value.longValue());
+
+        return (n == this.size) ? old : null;
+    }
+
+    @Override
+    public Long remove(final Object key) {
+
+        final int i = this.indexOf(key);
+
+        if (i < 0) {
+            return null;
+        }
+
+        final long old = this.vals[i];
+        this.removeAt(i);
+        return old;
+    }
+
+    @Override
+    public boolean containsValue(final Object value) {
+
+        if (!(value instanceof Long)) {
+            return false;
+        }
+
+        final long v = ((Long) value).longValue();
+
+        for (int i = 0; i < this.keys.length; i++) {
+            if ((this.keys[i] != null) && (this.keys[i] != OpenHash.REMOVED) && (Long.compare(this.vals[i], v) == 0)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    @Override
+    public void clear() {
+        if (this.used != 0) {
+            Arrays.fill(this.keys, null);
+            this.size = 0;
+            this.used = 0;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, Long>> entrySet() {
+
+        return new AbstractSet<Map.Entry<K, Long>>() {
+
+            @Override
+            public Iterator<Map.Entry<K, Long>> iterator() {
+                return new EntryIterator();
+            }
+
+            @Override
+            public int size() {
+                return ObjLongHashMap.this.size;
+            }
+
+            @Override
+            public void clear() {
+                ObjLongHashMap.this.clear();
+            }
+        };
+    }
+
+    private final class EntryIterator
+        implements Iterator<Map.Entry<K, Long>> {
+
+        private int next = this.seek(0);
+
+        private int last = -1;
+
+        private int expectedModCount = ObjLongHashMap.this.modCount;
+
+        private int seek(final int from) {
+
+            final Object[] keys = ObjLongHashMap.this.keys;
+
+            for (int i = from; i < keys.length; i++) {
+                if ((keys[i] != null) && (keys[i] != OpenHash.REMOVED)) {
+                    return i;
+                }
+            }
+
+            return -1;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return 0 <= this.next;
+        }
+
+        @Override
+        public Map.Entry<K, Long> next() {
+            if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            } else if (this.expectedModCount != ObjLongHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            this.last = this.next;
+            this.next = this.seek(this.next + 1);
+
+            return new Entry(this.last);
+        }
+
+        @Override
+        public void remove() {
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            } else if (this.expectedModCount != ObjLongHashMap.this.modCount) {
+                throw new ConcurrentModificationException();
+            }
+
+            ObjLongHashMap.this.removeAt(this.last);
+            this.last = -1;
+            this.expectedModCount = ObjLongHashMap.this.modCount;
+        }
+    }
+
+    private final class Entry
+        extends AbstractMap.SimpleEntry<K, Long> {
+
+        private static final long serialVersionUID = -2595583671641928625L;
+
+        private final int index;
+
+        Entry(final int index) {
+            super(OpenHash.unmask(ObjLongHashMap.this.keys[index]), ObjLongHashMap.this.vals[index]);
+            this.index = index;
+        }
+
+        @Override
+        public Long setValue(final Long value) {
+            ObjLongHashMap.this.vals[this.index] = value.longValue();
+            return super.setValue(value);
+        }
+    }
+
+    private void writeObject(final ObjectOutputStream out) throws IOException {
+
+        out.defaultWriteObject();
+        out.writeInt(this.size);
+
+        for (int i = 0; i < this.keys.length; i++) {
+            if ((this.keys[i] != null) && (this.keys[i] != OpenHash.REMOVED)) {
+                out.writeObject(OpenHash.unmask(this.keys[i]));
+                out.writeLong(this.vals[i]);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+
+        in.defaultReadObject();
+
+        final int n = in.readInt();
+
+        this.init(OpenHash.capacity(n));
+
+        for (int i = 0; i < n; i++) {
+            this.put((K) in.readObject(), in.readLong());
+        }
+    }
+}
@@ -0,0 +1,68 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.util.Map;
+
+
+/**
+ * {@link Map} which values are {@code long}.
+ * The primitive methods never box the value. Absent value is treated as {@code 0}.
+ *
+ * @param <K> key type
+ * @author takahashikzn
+ * @see ObjFactory#newObjLongMap()
+ */
+public interface ObjLongMap<K>
+    extends Map<K, Long> {
+
+    /**
+     * @param key the key
+     * @return the value, or {@code 0} if not exists
+     * @see Map#get(Object)
+     */
+    long getLong(Object key);
+
+    /**
+     * @param key the key
+     * @param defaultValue the value returned if not exists
+     * @return the value, or {@code defaultValue} if not exists
+     * @see Map#getOrDefault(Object, Object)
+     */
+    long getOrDefault(Object key, long defaultValue);
+
+    /**
+     * @param key the key
+     * @param value the value
+     * @return previous value, or {@code 0} if not exists
+     * @see Map#put(Object, Object)
+     */
+    long put(K key, long value);
+
+    /**
+     * Add the value to the current value of the key. Absent value is treated as {@code 0}.
+     *
+     * @param key the key
+     * @param addition the value to add
+     * @return new value
+     */
+    long addValue(K key, long addition);
+
+    /**
+     * @param key the key
+     * @return removed value, or {@code 0} if not exists
+     * @see Map#remove(Object)
+     */
+    long removeAsLong(Object key);
+}
@@ -0,0 +1,93 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+/**
+ * Common utilities of the built-in open addressing hash tables.
+ * Slots are probed linearly; table capacity is always a power of two and at least one slot is kept free.
+ *
+ * @author takahashikzn
+ */
+final class OpenHash {
+
+    /** the marker of removed slot. */
+    static final Object REMOVED = new Object();
+
+    /** the marker of {@code null} object. */
+    static final Object NULL = new Object();
+
+    static final int INITIAL_CAPACITY = JdkObjFactory.INITIAL_CAPACITY;
+
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    private OpenHash() {
+    }
+
+    static int mix(final int h) {
+        final int x = h * 0x9E3779B9;
+        return x ^ (x >>> 16);
+    }
+
+    static int mix(final long h) {
+        final long x = h * 0x9E3779B97F4A7C15L;
+        return (int) (x ^ (x >>> 32));
+    }
+
+    /**
+     * @param expected expected number of entries
+     * @return table capacity which can hold the entries without rehash
+     */
+    static int capacity(final int expected) {
+
+        final long min = Math.max(4L, (expected * 4L) / 3 + 1);
+
+        if (MAX_CAPACITY <= min) {
+            return MAX_CAPACITY;
+        }
+
+        return Integer.highestOneBit((int) min - 1) << 1;
+    }
+
+    /**
+     * @param length current table capacity
+     * @param size the number of live entries
+     * @return table capacity to rehash into. doubled if most of used slots are live, otherwise the one which just
+     *         clears removed slots
+     */
+    static int grow(final int length, final int size) {
+
+        if ((threshold(length) / 2) < size) {
+            return (length < MAX_CAPACITY) ? (length << 1) : MAX_CAPACITY;
+        }
+
+        return capacity(size);
+    }
+
+    /**
+     * @param capacity table capacity
+     * @return the number of used slots (including removed slots) which triggers rehash
+     */
+    static int threshold(final int capacity) {
+        return Math.min(capacity - (capacity >>> 2), capacity - 1);
+    }
+
+    static Object mask(final Object o) {
+        return (o == null) ? NULL : o;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T unmask(final Object o) {
+        return (o == NULL) ? null : (T) o;
+    }
+}
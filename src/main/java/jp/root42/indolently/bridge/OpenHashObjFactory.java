@@ -0,0 +1,56 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+
+
+/**
+ * Implementation of {@link ObjFactory} using built-in open addressing hash tables.
+ * This is the default one if Koloboke isn't available.
+ *
+ * @author takahashikzn
+ * @see ObjHashMap
+ * @see LinkedObjHashMap
+ */
+final class OpenHashObjFactory
+    extends JdkObjFactory {
+
+    @Override
+    public <K, V> Map<K, V> newFifoMap() {
+        return new LinkedObjHashMap<>();
+    }
+
+    @Override
+    public <V> Set<V> newFifoSet() {
+        return Collections.newSetFromMap(new LinkedObjHashMap<>());
+    }
+
+    @Override
+    public <K, V> Map<K, V> newMap() {
+        return new ObjHashMap<>();
+    }
+
+    @Override
+    public <V> Set<V> newSet() {
+        return Collections.newSetFromMap(new ObjHashMap<>());
+    }
+
+    @Override
+    public <V> Set<V> newSet(final int expectedSize) {
+        return Collections.newSetFromMap(new ObjHashMap<>(expectedSize));
+    }
+}
@@ -39,6 +39,10 @@ abstract class SerializableSet<T>
         this.set = this.newSet();
     }
 
+    protected SerializableSet(final Set<T> set) {
+        this.set = set;
+    }
+
     protected abstract Set<T> newSet();
 
     @Override
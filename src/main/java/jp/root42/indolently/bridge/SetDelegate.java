@@ -16,6 +16,9 @@ package jp.root42.indolently.bridge;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
 
 
 /**
@@ -95,4 +98,19 @@ public class SetDelegate<T>
     public void clear() {
         this.getDelegate().clear();
     }
+
+    @Override
+    public boolean removeIf(final Predicate<? super T> filter) {
+        return this.getDelegate().removeIf(filter);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return this.getDelegate().spliterator();
+    }
+
+    @Override
+    public void forEach(final Consumer<? super T> action) {
+        this.getDelegate().forEach(action);
+    }
 }
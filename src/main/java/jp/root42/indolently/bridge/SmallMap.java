@@ -0,0 +1,287 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+
+/**
+ * Compact map for a few entries.
+ * Keys and values are stored into a flat array and looked up by linear scan, in the order of insertion.
+ * When the number of entries exceeds {@link #MAX_SIZE}, all entries are transparently moved to a map which is
+ * created by {@link ObjFactory#newMap()}.
+ * So the iteration order is the order of insertion while compact, but it's the order of the hash map after moved.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ * @author takahashikzn
+ */
+final class SmallMap<K, V>
+    extends AbstractMap<K, V>
+    implements Serializable {
+
+    private static final long serialVersionUID = 3047425283606826107L;
+
+    /**
+     * the maximum number of entries stored into flat array.
+     */
+    static final int MAX_SIZE = 8;
+
+    /**
+     * {@code [k0, v0, k1, v1, ...]}
+     */
+    private Object[] table;
+
+    private int size;
+
+    private Map<K, V> promoted;
+
+    /** the number of structural modifications while compact. */
+    private transient int modCount;
+
+    SmallMap(final int expectedSize) {
+        this.table = new Object[2 * Math.max(1, Math.min(expectedSize, MAX_SIZE))];
+    }
+
+    private int indexOf(final Object key) {
+
+        for (int i = 0, end = this.size * 2; i < end; i += 2) {
+            if (Objects.equals(key, this.table[i])) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    private V valueAt(final int i) {
+        return (V) this.table[i + 1];
+    }
+
+    private void removeAt(final int i) {
+
+        final int end = this.size * 2;
+        System.arraycopy(this.table, i + 2, this.table, i, end - i - 2);
+        this.table[end - 2] = null;
+        this.table[end - 1] = null;
+        this.size--;
+        this.modCount++;
+    }
+
+    private void promote() {
+
+        final Map<K, V> map = ObjFactory.getInstance().newMap();
+        map.putAll(this);
+
+        this.promoted = map;
+        this.table = null;
+        this.size = 0;
+    }
+
+    @Override
+    public int size() {
+        return (this.promoted == null) ? this.size : this.promoted.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return this.size() == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return (this.promoted == null) ? (0 <= this.indexOf(key)) : this.promoted.containsKey(key);
+    }
+
+    @Override
+    public V get(final Object key) {
+
+        if (this.promoted != null) {
+            return this.promoted.get(key);
+        }
+
+        final int i = this.indexOf(key);
+
+        return (i < 0) ? null : this.valueAt(i);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+
+        if (this.promoted != null) {
+            return this.promoted.put(key, value);
+        }
+
+        final int i = this.indexOf(key);
+
+        if (0 <= i) {
+            final V old = this.valueAt(i);
+            this.table[i + 1] = value;
+            return old;
+        }
+
+        if (this.size == MAX_SIZE) {
+            this.promote();
+            return this.promoted.put(key, value);
+        }
+
+        final int end = this.size * 2;
+
+        if (end == this.table.length) {
+            final Object[] newTable = new Object[Math.min(this.table.length * 2, MAX_SIZE * 2)];
+            System.arraycopy(this.table, 0, newTable, 0, end);
+            this.table = newTable;
+        }
+
+        this.table[end] = key;
+        this.table[end + 1] = value;
+        this.size++;
+        this.modCount++;
+
+        return null;
+    }
+
+    @Override
+    public V remove(final Object key) {
+
+        if (this.promoted != null) {
+            return this.promoted.remove(key);
+        }
+
+        final int i = this.indexOf(key);
+
+        if (i < 0) {
+            return null;
+        }
+
+        final V old = this.valueAt(i);
+        this.removeAt(i);
+
+        return old;
+    }
+
+    @Override
+    public void clear() {
+
+        if (this.promoted != null) {
+            this.promoted.clear();
+        } else {
+            for (int i = 0, end = this.size * 2; i < end; i++) {
+                this.table[i] = null;
+            }
+
+            this.size = 0;
+            this.modCount++;
+        }
+    }
+
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+
+        return new AbstractSet<Map.Entry<K, V>>() {
+
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return (SmallMap.this.promoted == null) ? new EntryIterator()
+                    : SmallMap.this.promoted.entrySet().iterator();
+            }
+
+            @Override
+            public int size() {
+                return SmallMap.this.size();
+            }
+        };
+    }
+
+    private final class EntryIterator
+        implements Iterator<Map.Entry<K, V>> {
+
+        private int next;
+
+        private int last = -1;
+
+        private int expectedModCount = SmallMap.this.modCount;
+
+        @Override
+        public boolean hasNext() {
+            return this.next < (SmallMap.this.size * 2);
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+
+            if ((SmallMap.this.promoted != null) || (this.expectedModCount != SmallMap.this.modCount)) {
+                throw new ConcurrentModificationException();
+            } else if (!this.hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final int i = this.last = this.next;
+            this.next += 2;
+
+            return new Entry(i);
+        }
+
+        @Override
+        public void remove() {
+
+            if (this.last < 0) {
+                throw new IllegalStateException();
+            } else if ((SmallMap.this.promoted != null) || (this.expectedModCount != SmallMap.this.modCount)) {
+                throw new ConcurrentModificationException();
+            }
+
+            SmallMap.this.removeAt(this.last);
+            this.next = this.last;
+            this.last = -1;
+            this.expectedModCount = SmallMap.this.modCount;
+        }
+    }
+
+    private final class Entry
+        extends AbstractMap.SimpleEntry<K, V> {
+
+        private static final long serialVersionUID = 6060788880906022922L;
+
+        private final int index;
+
+        @SuppressWarnings("unchecked")
+        Entry(final int index) {
+            super((K) SmallMap.this.table[index], SmallMap.this.valueAt(index));
+            this.index = index;
+        }
+
+        @Override
+        public V setValue(final V value) {
+
+            // the entry may be moved or removed
+            if ((SmallMap.this.promoted != null) || ((SmallMap.this.size * 2) <= this.index)
+                || (SmallMap.this.table[this.index] != this.getKey())) {
+                throw new ConcurrentModificationException();
+            }
+
+            SmallMap.this.table[this.index + 1] = value;
+            return super.setValue(value);
+        }
+    }
+}
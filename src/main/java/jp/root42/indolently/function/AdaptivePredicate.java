@@ -0,0 +1,297 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.function;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+
+/**
+ * Short-circuit conjunction / disjunction of predicates which reorders its sub-predicates adaptively.
+ * Evaluation statistics are sampled periodically, then the sub-predicates are reordered so that the cheap and
+ * decisive one is evaluated first.
+ * Because of reordering, sub-predicates should be side-effect free.
+ *
+ * @param <T> argument type
+ * @author takahashikzn
+ */
+public final class AdaptivePredicate<T>
+    implements Predicate<T> {
+
+    /**
+     * collect statistics once per this number of evaluations on average. must be a power of two.
+     */
+    private static final int SAMPLING_INTERVAL = 16;
+
+    /**
+     * reorder sub-predicates once per this number of samples.
+     */
+    private static final int REORDER_INTERVAL = 64;
+
+    private final Predicate<? super T>[] preds;
+
+    private final boolean conjunction;
+
+    private final Stat[] stats;
+
+    private volatile int[] order;
+
+    private int samples;
+
+    private AdaptivePredicate(final Predicate<? super T>[] preds, final boolean conjunction) {
+
+        this.preds = preds;
+        this.conjunction = conjunction;
+        this.stats = new Stat[preds.length];
+        this.order = new int[preds.length];
+
+        for (int i = 0; i < preds.length; i++) {
+            this.stats[i] = new Stat(i);
+            this.order[i] = i;
+        }
+    }
+
+    /**
+     * Create adaptive conjunction.
+     *
+     * @param x0 predicate
+     * @param x1 predicate
+     * @param x2 predicates
+     * @return adaptive conjunction
+     */
+    @SafeVarargs
+    @SuppressWarnings({ "varargs", "RedundantSuppression" })
+    public static <T> AdaptivePredicate<T> and(final Predicate<? super T> x0, final Predicate<? super T> x1,
+        final Predicate<? super T>... x2) {
+
+        return new AdaptivePredicate<>(VarArgs.flat(Predicate.class, x0, x1, x2), true);
+    }
+
+    /**
+     * Create adaptive disjunction.
+     *
+     * @param x0 predicate
+     * @param x1 predicate
+     * @param x2 predicates
+     * @return adaptive disjunction
+     */
+    @SafeVarargs
+    @SuppressWarnings({ "varargs", "RedundantSuppression" })
+    public static <T> AdaptivePredicate<T> or(final Predicate<? super T> x0, final Predicate<? super T> x1,
+        final Predicate<? super T>... x2) {
+
+        return new AdaptivePredicate<>(VarArgs.flat(Predicate.class, x0, x1, x2), false);
+    }
+
+    @Override
+    public boolean test(final T x) {
+
+        // pseudo random rather than a counter, so that sampling doesn't alias with periodic input.
+        // thread local, so that threads don't contend on a shared state.
+        if ((ThreadLocalRandom.current().nextInt() & (SAMPLING_INTERVAL - 1)) == 0) {
+            return this.sample(x);
+        }
+
+        // short-circuit if the result equals to this value
+        final boolean decisive = !this.conjunction;
+
+        for (final int i : this.order) {
+            if (this.preds[i].test(x) == decisive) {
+                return decisive;
+            }
+        }
+
+        return !decisive;
+    }
+
+    private boolean sample(final T x) {
+
+        final boolean decisive = !this.conjunction;
+        final int[] order = this.order;
+        final long[] elapsed = new long[order.length];
+
+        // evaluate and time the sub-predicates outside the monitor, so that a slow one never blocks other threads
+        int evaluated = 0;
+        boolean rslt = !decisive;
+
+        while (evaluated < order.length) {
+
+            final long start = System.nanoTime();
+            final boolean val = this.preds[order[evaluated]].test(x);
+            elapsed[evaluated++] = System.nanoTime() - start;
+
+            if (val == decisive) {
+                rslt = decisive;
+                break;
+            }
+        }
+
+        synchronized (this.stats) {
+            for (int i = 0; i < evaluated; i++) {
+                // only the last evaluated one can be decisive
+                final boolean val = ((i == (evaluated - 1)) && (rslt == decisive)) ? decisive : !decisive;
+                this.stats[order[i]].record(val, elapsed[i]);
+            }
+
+            if ((++this.samples % REORDER_INTERVAL) == 0) {
+                this.reorder();
+            }
+        }
+
+        return rslt;
+    }
+
+    private void reorder() {
+
+        final Stat[] sorted = this.stats.clone();
+        Arrays.sort(sorted, Comparator.comparingDouble(this::rank));
+
+        final int[] newOrder = new int[sorted.length];
+
+        for (int i = 0; i < sorted.length; i++) {
+            newOrder[i] = sorted[i].index;
+        }
+
+        this.order = newOrder;
+    }
+
+    /**
+     * Expected cost per decision: evaluating cheap and decisive predicate first minimizes total work.
+     */
+    private double rank(final Stat stat) {
+
+        if (stat.evaluated == 0) {
+            // never evaluated one goes first to collect its statistics
+            return 0;
+        }
+
+        final double decisiveRatio = this.conjunction ? (1 - stat.selectivity()) : stat.selectivity();
+
+        // timings below the timer resolution are measured as zero; then decisiveness alone decides
+        return Math.max(stat.averageNanos(), 1.0) / Math.max(decisiveRatio, 1e-6);
+    }
+
+    /**
+     * Get current evaluation order.
+     *
+     * @return indices of sub-predicates in evaluation order
+     */
+    public int[] order() {
+        return this.order.clone();
+    }
+
+    /**
+     * Get snapshot of the sampled statistics.
+     *
+     * @return statistics of each sub-predicate, in the order of construction arguments
+     */
+    public List<Stat> stats() {
+
+        final List<Stat> rslt = new ArrayList<>(this.stats.length);
+
+        synchronized (this.stats) {
+            for (final Stat stat : this.stats) {
+                rslt.add(stat.copy());
+            }
+        }
+
+        return Collections.unmodifiableList(rslt);
+    }
+
+    /**
+     * Sampled statistics of sub-predicate.
+     *
+     * @author takahashikzn
+     */
+    public static final class Stat {
+
+        private final int index;
+
+        private long evaluated;
+
+        private long passed;
+
+        private long nanos;
+
+        Stat(final int index) {
+            this.index = index;
+        }
+
+        void record(final boolean passed, final long nanos) {
+
+            this.evaluated++;
+            this.nanos += nanos;
+
+            if (passed) {
+                this.passed++;
+            }
+        }
+
+        Stat copy() {
+
+            final Stat stat = new Stat(this.index);
+            stat.evaluated = this.evaluated;
+            stat.passed = this.passed;
+            stat.nanos = this.nanos;
+
+            return stat;
+        }
+
+        /**
+         * @return the position of construction arguments
+         */
+        public int index() {
+            return this.index;
+        }
+
+        /**
+         * @return sampled evaluation count
+         */
+        public long evaluated() {
+            return this.evaluated;
+        }
+
+        /**
+         * @return sampled count of returning {@code true}
+         */
+        public long passed() {
+            return this.passed;
+        }
+
+        /**
+         * @return the ratio of returning {@code true}, or {@code 0} if never evaluated
+         */
+        public double selectivity() {
+            return (this.evaluated == 0) ? 0 : ((double) this.passed / this.evaluated);
+        }
+
+        /**
+         * @return average evaluation time in nanoseconds, or {@code 0} if never evaluated
+         */
+        public double averageNanos() {
+            return (this.evaluated == 0) ? 0 : ((double) this.nanos / this.evaluated);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("#%d(evaluated = %d, selectivity = %.3f, averageNanos = %.1f)", this.index,
+                this.evaluated, this.selectivity(), this.averageNanos());
+        }
+    }
+}
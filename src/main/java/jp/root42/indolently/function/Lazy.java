@@ -0,0 +1,154 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.function;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+
+/**
+ * A value which is computed once on first access.
+ * After the computation, {@link #get()} is a volatile read of an immutable holder, and never takes a lock.
+ * Concurrent first accesses wait for a single computation.
+ *
+ * @param <T> value type
+ * @author takahashikzn
+ * @see jp.root42.indolently.Functional#lazy(Supplier)
+ */
+public final class Lazy<T>
+    implements Supplier<T> {
+
+    private static final class Holder<T> {
+
+        final T value;
+
+        final long computed;
+
+        Holder(final T value, final long computed) {
+            this.value = value;
+            this.computed = computed;
+        }
+    }
+
+    private final Supplier<? extends T> f;
+
+    /** 0 means never expires. */
+    private final long refreshNanos;
+
+    private final LongSupplier ticker;
+
+    private volatile Holder<T> holder;
+
+    private Lazy(final Supplier<? extends T> f, final long refreshNanos, final LongSupplier ticker) {
+        this.f = Objects.requireNonNull(f);
+        this.refreshNanos = refreshNanos;
+        this.ticker = Objects.requireNonNull(ticker);
+    }
+
+    /**
+     * Create a value which is computed once.
+     *
+     * @param f value supplier
+     * @return lazy value
+     */
+    public static <T> Lazy<T> of(final Supplier<? extends T> f) {
+        return new Lazy<>(f, 0, () -> 0);
+    }
+
+    /**
+     * Create a value which is recomputed on access when the duration has passed since the last computation.
+     *
+     * @param f value supplier
+     * @param duration duration
+     * @param unit unit of duration
+     * @return lazy value
+     */
+    public static <T> Lazy<T> of(final Supplier<? extends T> f, final long duration, final TimeUnit unit) {
+        return of(f, duration, unit, System::nanoTime);
+    }
+
+    /**
+     * Same as {@link #of(Supplier, long, TimeUnit)}, but uses the specified time source.
+     *
+     * @param f value supplier
+     * @param duration duration
+     * @param unit unit of duration
+     * @param nanoTime time source in nanoseconds
+     * @return lazy value
+     */
+    public static <T> Lazy<T> of(final Supplier<? extends T> f, final long duration, final TimeUnit unit,
+        final LongSupplier nanoTime) {
+
+        final long nanos = unit.toNanos(duration);
+
+        if (nanos <= 0) {
+            throw new IllegalArgumentException("duration must be positive: " + duration);
+        }
+
+        return new Lazy<>(f, nanos, nanoTime);
+    }
+
+    @Override
+    public T get() {
+
+        final Holder<T> h = this.holder;
+
+        return ((h != null) && ((this.refreshNanos == 0) || !this.expired(h))) ? h.value : this.compute();
+    }
+
+    private boolean expired(final Holder<T> h) {
+        return this.refreshNanos <= this.ticker.getAsLong() - h.computed;
+    }
+
+    private synchronized T compute() {
+
+        final Holder<T> h = this.holder;
+
+        if ((h != null) && ((this.refreshNanos == 0) || !this.expired(h))) {
+            return h.value;
+        }
+
+        final T value = this.f.get();
+        this.holder = new Holder<>(value, this.ticker.getAsLong());
+
+        return value;
+    }
+
+    /**
+     * Discard the computed value, so that the next access recomputes it.
+     */
+    public void reset() {
+        this.holder = null;
+    }
+
+    /**
+     * @return the value has been computed and not discarded
+     */
+    public boolean initialized() {
+
+        final Holder<T> h = this.holder;
+
+        return (h != null) && ((this.refreshNanos == 0) || !this.expired(h));
+    }
+
+    @Override
+    public String toString() {
+
+        final Holder<T> h = this.holder;
+
+        return "Lazy[" + ((h == null) ? "uninitialized" : String.valueOf(h.value)) + "]";
+    }
+}
@@ -18,6 +18,7 @@ import java.util.Objects;
 import java.util.function.BooleanSupplier;
 import java.util.function.Predicate;
 
+import jp.root42.indolently.CachePolicy;
 import jp.root42.indolently.Functional;
 
 
@@ -59,6 +60,16 @@ public class SBoolSuppl
         return new SBoolSuppl(Functional.memoize(this.body));
     }
 
+    @Override
+    public SBoolSuppl memoize(final CachePolicy policy) {
+        return new SBoolSuppl(Functional.memoize(this.body, policy));
+    }
+
+    @Override
+    public SBoolSuppl synchronize() {
+        return new SBoolSuppl(Functional.synchronize(this.body));
+    }
+
     @Override
     public String toString() {
         return this.body.toString();
@@ -15,11 +15,16 @@ package jp.root42.indolently.function;
 
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.Lock;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.CachePolicy;
 import jp.root42.indolently.Functional;
+import jp.root42.indolently.StripedLock;
 
 
 /**
@@ -82,6 +87,64 @@ public class SFunc<X, R>
         return new SFunc<>(Functional.memoize(this.body));
     }
 
+    @Override
+    public SFunc<X, R> memoize(final CachePolicy policy) {
+        return new SFunc<>(Functional.memoize(this.body, policy));
+    }
+
+    @Override
+    public SFunc<X, R> synchronize() {
+        return new SFunc<>(Functional.synchronize(this.body));
+    }
+
+    /**
+     * create synchronized version of this function, which serializes only the calls of same key.
+     *
+     * @param keyFn a function which convert the argument to the lock key
+     * @param stripes the number of locks
+     * @return synchronized version of this function
+     */
+    public SFunc<X, R> synchronizeBy(final Function<? super X, ?> keyFn, final int stripes) {
+        return this.synchronizeBy(keyFn, StripedLock.of(stripes));
+    }
+
+    /**
+     * create synchronized version of this function, which serializes only the calls of same key.
+     *
+     * @param keyFn a function which convert the argument to the lock key
+     * @param locks locks
+     * @return synchronized version of this function
+     */
+    public SFunc<X, R> synchronizeBy(final Function<? super X, ?> keyFn, final StripedLock locks) {
+
+        Objects.requireNonNull(keyFn);
+        Objects.requireNonNull(locks);
+
+        return new SFunc<>((self, x) -> {
+            final Lock lock = locks.lock(keyFn.apply(x));
+            try {
+                return this.body.apply(self, x);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    /**
+     * create memoized version of this function, which runs on the executor.
+     * Concurrent callers of same argument share one future, and a failed future is evicted.
+     *
+     * @param executor executor to run this function
+     * @return memoized version of this function
+     * @see Functional#memoizeAsync(Function, Executor)
+     */
+    public SFunc<X, CompletableFuture<R>> memoizeAsync(final Executor executor) {
+
+        final Function<X, CompletableFuture<R>> memoized = Functional.memoizeAsync(this, executor);
+
+        return new SFunc<>((self, x) -> memoized.apply(x));
+    }
+
     @Override
     public String toString() {
         return this.body.toString();
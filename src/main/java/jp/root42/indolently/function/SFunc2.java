@@ -18,6 +18,7 @@ import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.CachePolicy;
 import jp.root42.indolently.Functional;
 
 
@@ -104,6 +105,16 @@ public class SFunc2<T, U, R>
         return new SFunc2<>(Functional.memoize(this.body));
     }
 
+    @Override
+    public SFunc2<T, U, R> memoize(final CachePolicy policy) {
+        return new SFunc2<>(Functional.memoize(this.body, policy));
+    }
+
+    @Override
+    public SFunc2<T, U, R> synchronize() {
+        return new SFunc2<>(Functional.synchronize(this.body));
+    }
+
     @Override
     public String toString() {
         return this.body.toString();
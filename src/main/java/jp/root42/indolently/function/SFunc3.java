@@ -17,6 +17,7 @@ import java.io.Serializable;
 import java.util.Objects;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.CachePolicy;
 import jp.root42.indolently.Functional;
 
 
@@ -130,6 +131,16 @@ public class SFunc3<X0, X1, X2, Y>
         return new SFunc3<>(Functional.memoize(this.body));
     }
 
+    @Override
+    public SFunc3<X0, X1, X2, Y> memoize(final CachePolicy policy) {
+        return new SFunc3<>(Functional.memoize(this.body, policy));
+    }
+
+    @Override
+    public SFunc3<X0, X1, X2, Y> synchronize() {
+        return new SFunc3<>(Functional.synchronize(this.body));
+    }
+
     @Override
     public String toString() {
         return this.body.toString();
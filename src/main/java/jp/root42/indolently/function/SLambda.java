@@ -13,6 +13,9 @@
 // limitations under the License.
 package jp.root42.indolently.function;
 
+import jp.root42.indolently.CachePolicy;
+
+
 /**
  * @param <SELF> type of this function
  * @author takahashikzn
@@ -26,12 +29,19 @@ public interface SLambda<SELF extends SLambda<SELF>> {
      */
     SELF memoize();
 
+    /**
+     * create memoized version of this function, which evicts cached values by the policy.
+     *
+     * @param policy eviction policy
+     * @return memoized version of this function
+     */
+    SELF memoize(CachePolicy policy);
+
     /**
      * create synchronized version of this function.
+     * Since the lock is reentrant, the function can call itself recursively.
      *
      * @return synchronized version of this function
      */
-    default SELF synchronize() {
-        throw new UnsupportedOperationException("not implemented yet");
-    }
+    SELF synchronize();
 }
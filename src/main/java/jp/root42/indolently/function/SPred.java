@@ -15,11 +15,15 @@ package jp.root42.indolently.function;
 
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.concurrent.locks.Lock;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.CachePolicy;
 import jp.root42.indolently.Functional;
+import jp.root42.indolently.StripedLock;
 
 
 /**
@@ -81,6 +85,49 @@ public class SPred<T>
         return new SPred<>(Functional.memoize(this.body));
     }
 
+    @Override
+    public SPred<T> memoize(final CachePolicy policy) {
+        return new SPred<>(Functional.memoize(this.body, policy));
+    }
+
+    @Override
+    public SPred<T> synchronize() {
+        return new SPred<>(Functional.synchronize(this.body));
+    }
+
+    /**
+     * create synchronized version of this function, which serializes only the calls of same key.
+     *
+     * @param keyFn a function which convert the argument to the lock key
+     * @param stripes the number of locks
+     * @return synchronized version of this function
+     */
+    public SPred<T> synchronizeBy(final Function<? super T, ?> keyFn, final int stripes) {
+        return this.synchronizeBy(keyFn, StripedLock.of(stripes));
+    }
+
+    /**
+     * create synchronized version of this function, which serializes only the calls of same key.
+     *
+     * @param keyFn a function which convert the argument to the lock key
+     * @param locks locks
+     * @return synchronized version of this function
+     */
+    public SPred<T> synchronizeBy(final Function<? super T, ?> keyFn, final StripedLock locks) {
+
+        Objects.requireNonNull(keyFn);
+        Objects.requireNonNull(locks);
+
+        return new SPred<>((self, x) -> {
+            final Lock lock = locks.lock(keyFn.apply(x));
+            try {
+                return this.body.test(self, x);
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
     @Override
     public String toString() {
         return this.body.toString();
@@ -18,6 +18,7 @@ import java.util.Objects;
 import java.util.function.BiPredicate;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.CachePolicy;
 import jp.root42.indolently.Functional;
 
 
@@ -103,6 +104,16 @@ public class SPred2<X0, X1>
         return new SPred2<>(Functional.memoize(this.body));
     }
 
+    @Override
+    public SPred2<X0, X1> memoize(final CachePolicy policy) {
+        return new SPred2<>(Functional.memoize(this.body, policy));
+    }
+
+    @Override
+    public SPred2<X0, X1> synchronize() {
+        return new SPred2<>(Functional.synchronize(this.body));
+    }
+
     @Override
     public String toString() {
         return this.body.toString();
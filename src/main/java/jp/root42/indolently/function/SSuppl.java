@@ -15,9 +15,11 @@ package jp.root42.indolently.function;
 
 import java.io.Serializable;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.function.Supplier;
 
+import jp.root42.indolently.CachePolicy;
 import jp.root42.indolently.Functional;
 
 
@@ -60,6 +62,37 @@ public class SSuppl<T>
         return new SSuppl<>(Functional.memoize(this.body));
     }
 
+    @Override
+    public SSuppl<T> memoize(final CachePolicy policy) {
+        return new SSuppl<>(Functional.memoize(this.body, policy));
+    }
+
+    @Override
+    public SSuppl<T> synchronize() {
+        return new SSuppl<>(Functional.synchronize(this.body));
+    }
+
+    /**
+     * create a value which is computed by this function once on first access.
+     *
+     * @return lazy value
+     * @see Lazy#of(Supplier)
+     */
+    public Lazy<T> lazy() {
+        return Lazy.of(this);
+    }
+
+    /**
+     * create a value which is recomputed by this function when the duration has passed since the last computation.
+     *
+     * @param duration duration
+     * @param unit unit of duration
+     * @return lazy value
+     */
+    public Lazy<T> lazy(final long duration, final TimeUnit unit) {
+        return Lazy.of(this, duration, unit);
+    }
+
     @Override
     public String toString() {
         return this.body.toString();
@@ -0,0 +1,61 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.function;
+
+import java.lang.reflect.Array;
+import java.util.Objects;
+
+
+/**
+ * Helper of {@code (x0, x1, x2...)} style arguments, shared by {@link jp.root42.indolently.Indolently} and
+ * {@link AdaptivePredicate}. Not a part of the facade.
+ *
+ * @author takahashikzn
+ */
+public final class VarArgs {
+
+    private VarArgs() {
+    }
+
+    /**
+     * Flatten {@code (x0, x1, x2...)} style arguments into an array.
+     *
+     * @param <T> element type
+     * @param type element type
+     * @param x0 first argument
+     * @param x1 second argument
+     * @param x2 rest arguments. {@code null} is treated as empty.
+     * @return newly constructed array
+     * @throws NullPointerException if any element is null
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T[] flat(final Class<? super T> type, final T x0, final T x1, final T[] x2) {
+
+        final int rest = (x2 == null) ? 0 : x2.length;
+        final T[] a = (T[]) Array.newInstance(type, rest + 2);
+
+        a[0] = x0;
+        a[1] = x1;
+
+        if (x2 != null) {
+            System.arraycopy(x2, 0, a, 2, rest);
+        }
+
+        for (final T x : a) {
+            Objects.requireNonNull(x);
+        }
+
+        return a;
+    }
+}
@@ -0,0 +1,93 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.trait;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import jp.root42.indolently.SMap;
+import jp.root42.indolently.SObjLongMap;
+import jp.root42.indolently.bridge.ObjFactory;
+
+import static jp.root42.indolently.Indolently.*;
+
+
+/**
+ * Fused 'Group By' and aggregation.
+ * Each element is accumulated into a single map in place, so that per-key collections are never materialized.
+ *
+ * @param <T> -
+ * @author takahashikzn
+ */
+public interface Aggregatable<T>
+    extends Iterable<T> {
+
+    /**
+     * 'Group By' operation then reduce each group.
+     * Equivalent to {@code group(fkey).map(x -> x.reduce(initial, f))}.
+     *
+     * @param <K> key type
+     * @param <R> result type
+     * @param fkey convert element to grouping key
+     * @param initial initial value of each group
+     * @param f reducer. first argument is the accumulated value, second one is the element.
+     * returning {@code null} drops the group, as {@link java.util.Map#compute(Object, BiFunction)} does.
+     * @return reduced value of each group, in the order of key appearance
+     */
+    default <K, R> SMap<K, R> groupReduce(final Function<? super T, ? extends K> fkey, final R initial,
+        final BiFunction<? super R, ? super T, ? extends R> f) {
+
+        final SMap<K, R> rslt = $(ObjFactory.getInstance().newFifoMap());
+
+        for (final T val : this) {
+
+            // single lookup per element. compute() never leaves null value, so null means 'absent'.
+            rslt.compute(fkey.apply(val), (k, acc) -> f.apply((acc == null) ? initial : acc, val));
+        }
+
+        return rslt;
+    }
+
+    /**
+     * 'Group By' operation then count each group.
+     *
+     * @param <K> key type
+     * @param fkey convert element to grouping key
+     * @return the number of elements of each group
+     */
+    default <K> SObjLongMap<K> groupCount(final Function<? super T, ? extends K> fkey) {
+        return this.groupSumLong(fkey, x -> 1L);
+    }
+
+    /**
+     * 'Group By' operation then sum up each group without boxing.
+     *
+     * @param <K> key type
+     * @param fkey convert element to grouping key
+     * @param fval convert element to the value to sum up
+     * @return total of each group
+     */
+    default <K> SObjLongMap<K> groupSumLong(final Function<? super T, ? extends K> fkey,
+        final ToLongFunction<? super T> fval) {
+
+        final SObjLongMap<K> rslt = objLongMap();
+
+        for (final T val : this) {
+            rslt.addValue(fkey.apply(val), fval.applyAsLong(val));
+        }
+
+        return rslt;
+    }
+}
@@ -0,0 +1,244 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import jp.root42.indolently.function.SFunc;
+import jp.root42.indolently.ref.IntRef;
+import jp.root42.indolently.ref.LongRef;
+
+import static jp.root42.indolently.Functional.*;
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link CachePolicy}.
+ *
+ * @author takahashikzn
+ */
+public class CachePolicyTest {
+
+    /**
+     * {@link CachePolicy#lru(long)}
+     */
+    @Test
+    public void lru() {
+
+        final CacheStats stats = new CacheStats();
+        final IntRef calls = ref(0);
+        final Function<String, String> f = memoize((final String x) -> {
+            calls.val++;
+            return x + x;
+        }, CachePolicy.lru(2).recordStats(stats));
+
+        f.apply("a");
+        f.apply("b");
+        f.apply("a");
+        f.apply("c");
+        assertThat(calls.val).isEqualTo(3);
+
+        // "b" was least recently used
+        f.apply("a");
+        f.apply("c");
+        assertThat(calls.val).isEqualTo(3);
+        assertThat(f.apply("b")).isEqualTo("bb");
+        assertThat(calls.val).isEqualTo(4);
+
+        assertThat(stats.hitCount()).isEqualTo(3);
+        assertThat(stats.missCount()).isEqualTo(4);
+        assertThat(stats.evictionCount()).isEqualTo(2);
+        assertThat(stats.hitRate()).isEqualTo(3.0 / 7);
+    }
+
+    /**
+     * {@link CachePolicy#weigher(java.util.function.ToLongFunction)}
+     */
+    @Test
+    public void weigher() {
+
+        final IntRef calls = ref(0);
+        final Function<Integer, String> f = memoize((final Integer x) -> {
+            calls.val++;
+            return String.join("", Collections.nCopies(x, "x"));
+        }, CachePolicy.lru(10).weigher(x -> ((String) x).length()));
+
+        f.apply(4);
+        f.apply(5);
+        f.apply(4);
+        f.apply(5);
+        assertThat(calls.val).isEqualTo(2);
+
+        // too heavy to cache
+        f.apply(11);
+        f.apply(11);
+        assertThat(calls.val).isEqualTo(4);
+
+        // evicts "4"
+        f.apply(3);
+        f.apply(5);
+        assertThat(calls.val).isEqualTo(5);
+        f.apply(4);
+        assertThat(calls.val).isEqualTo(6);
+    }
+
+    /**
+     * {@link CachePolicy#weigher(java.util.function.ToLongFunction)} returning negative weight
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeWeight() {
+        memoize((final Integer x) -> x, CachePolicy.lru(10).weigher(x -> -1)).apply(1);
+    }
+
+    /**
+     * {@link CachePolicy#lfu(long)}
+     */
+    @Test
+    public void lfu() {
+
+        final CacheStats stats = new CacheStats();
+        final Function<Integer, Integer> f = memoize((final Integer x) -> x * 2, CachePolicy.lfu(10).recordStats(stats));
+
+        for (int i = 0; i < 10; i++) {
+            range(1, 10).forEach(f::apply);
+        }
+
+        // one-time scan
+        range(100, 1000).forEach(f::apply);
+
+        final long misses = stats.missCount();
+        range(1, 10).forEach(f::apply);
+        assertThat(stats.missCount()).isEqualTo(misses);
+
+        // LRU policy flushes them
+        final CacheStats lruStats = new CacheStats();
+        final Function<Integer, Integer> g =
+            memoize((final Integer x) -> x * 2, CachePolicy.lru(10).recordStats(lruStats));
+
+        for (int i = 0; i < 10; i++) {
+            range(1, 10).forEach(g::apply);
+        }
+
+        range(100, 1000).forEach(g::apply);
+
+        final long lruMisses = lruStats.missCount();
+        range(1, 10).forEach(g::apply);
+        assertThat(lruStats.missCount()).isEqualTo(lruMisses + 10);
+    }
+
+    /**
+     * {@link CachePolicy#ttl(long, TimeUnit)} / {@link CachePolicy#expireAfterAccess(long, TimeUnit)}
+     */
+    @Test
+    public void expiration() {
+
+        final LongRef now = ref(0L);
+        final IntRef calls = ref(0);
+
+        final Function<String, String> ttl = memoize((final String x) -> {
+            calls.val++;
+            return x;
+        }, CachePolicy.unbounded().ttl(10, TimeUnit.NANOSECONDS).ticker(() -> now.val));
+
+        ttl.apply("a");
+        now.val = 5L;
+        ttl.apply("a");
+        assertThat(calls.val).isEqualTo(1);
+        now.val = 10L;
+        ttl.apply("a");
+        assertThat(calls.val).isEqualTo(2);
+
+        calls.val = 0;
+        now.val = 0L;
+        final Function<String, String> tti = memoize((final String x) -> {
+            calls.val++;
+            return x;
+        }, CachePolicy.unbounded().expireAfterAccess(10, TimeUnit.NANOSECONDS).ticker(() -> now.val));
+
+        tti.apply("a");
+        now.val = 8L;
+        tti.apply("a");
+        now.val = 16L;
+        tti.apply("a");
+        assertThat(calls.val).isEqualTo(1);
+        now.val = 26L;
+        tti.apply("a");
+        assertThat(calls.val).isEqualTo(2);
+    }
+
+    /**
+     * {@link CachePolicy#softValues()} / {@link CachePolicy#weakValues()}
+     */
+    @Test
+    public void referenceValues() {
+
+        for (final CachePolicy policy : list(CachePolicy.lru(4).softValues(), CachePolicy.unbounded().weakValues())) {
+
+            final Function<String, String> f = memoize((final String x) -> (x == null) ? null : x + x, policy);
+
+            assertThat(f.apply("a")).isEqualTo("aa");
+            assertThat(f.apply("a")).isEqualTo("aa");
+            assertThat(f.apply(null)).isNull();
+            assertThat(f.apply(null)).isNull();
+        }
+    }
+
+    /**
+     * values reclaimed by GC are purged even if their keys are never looked up again
+     */
+    @Test(timeout = 30000)
+    public void purgeReclaimed() throws InterruptedException {
+
+        final CacheStats stats = new CacheStats();
+        final Function<Integer, Object> f =
+            memoize((final Integer x) -> new Object(), CachePolicy.unbounded().weakValues().recordStats(stats));
+
+        // a long-lived entry must not pin the reclaimed ones behind it
+        final Object pinned = f.apply(-1);
+
+        for (int i = 0; i < 100; i++) {
+            f.apply(i);
+        }
+
+        for (int i = 100; stats.evictionCount() == 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+            f.apply(i);
+        }
+
+        assertThat(f.apply(-1)).isSameAs(pinned);
+    }
+
+    /**
+     * {@link SFunc#memoize(CachePolicy)}
+     */
+    @Test
+    public void recursion() {
+
+        final CacheStats stats = new CacheStats();
+        final SFunc<Integer, Long> fib = new SFunc<Integer, Long>(
+            (self, x) -> (x <= 1) ? (long) x : self.apply(x - 1) + self.apply(x - 2))
+                .memoize(CachePolicy.lru(8).recordStats(stats));
+
+        assertThat(fib.apply(80)).isEqualTo(23416728348467685L);
+        assertThat(stats.missCount()).isEqualTo(81);
+    }
+}
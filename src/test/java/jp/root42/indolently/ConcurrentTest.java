@@ -0,0 +1,124 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link Indolently#cmap()} / {@link Indolently#cset()}.
+ *
+ * @author takahashikzn
+ */
+public class ConcurrentTest {
+
+    private static void parallel(final int threads, final Runnable task) throws Exception {
+
+        final ExecutorService exec = Executors.newFixedThreadPool(threads);
+
+        try {
+            final List<Future<?>> futures = new ArrayList<>();
+            range(1, threads).forEach(x -> futures.add(exec.submit(task)));
+
+            for (final Future<?> f : futures) {
+                f.get();
+            }
+        } finally {
+            exec.shutdown();
+        }
+    }
+
+    /**
+     * {@link SMap#update(Object, Function)} of concurrent map is atomic.
+     */
+    @Test
+    public void update() throws Exception {
+
+        final SMap<String, Integer> map = cmap(map("a", 0));
+
+        parallel(8, () -> range(1, 10000).forEach(x -> map.update("a", v -> v + 1).update("b", v -> v + 1)));
+
+        assertThat((Object) map).isEqualTo(map("a", 80000));
+        assertThat(map.opt("a").get()).isEqualTo(80000);
+        assertThat(map.opt("b").isPresent()).isFalse();
+    }
+
+    /**
+     * {@link SMap#clone()} / {@link SMap#map(Object, Function)} of concurrent map are concurrent as well.
+     */
+    @Test
+    public void constructive() throws Exception {
+
+        final SMap<String, Integer> map = cmap(map("a", 0));
+
+        final SMap<String, Integer> cloned = map.clone();
+        final SMap<String, Integer> mapped = map.map("a", v -> v + 1);
+
+        parallel(8, () -> range(1, 1000).forEach(x -> cloned.update("a", v -> v + 1).update("a", v -> v + 1)));
+        parallel(8, () -> range(1, 1000).forEach(x -> mapped.update("a", v -> v + 1)));
+
+        assertThat((Object) cloned).isEqualTo(map("a", 16000));
+        assertThat((Object) mapped).isEqualTo(map("a", 8001));
+        assertThatThrownBy(() -> cloned.put(null, 0)).isInstanceOf(NullPointerException.class);
+        assertThatThrownBy(() -> mapped.put(null, 0)).isInstanceOf(NullPointerException.class);
+
+        assertThat((Object) map).isEqualTo(map("a", 0));
+    }
+
+    /**
+     * {@link SMap#delete(java.util.function.BiPredicate)} of concurrent map.
+     */
+    @Test
+    public void delete() throws Exception {
+
+        final SMap<Integer, Integer> map = cmap();
+        range(1, 1000).forEach(x -> map.put(x, x));
+
+        parallel(4, () -> map.delete((k, v) -> v % 2 == 0));
+
+        assertThat(map.size()).isEqualTo(500);
+        assertThat(map.keys().every(x -> x % 2 == 1)).isTrue();
+    }
+
+    /**
+     * {@link Indolently#cmap(java.util.Comparator)} / {@link Indolently#cset()}
+     */
+    @Test
+    public void sortedAndSet() throws Exception {
+
+        final SMap<Integer, String> sorted = cmap((Integer l, Integer r) -> Integer.compare(r, l));
+        sorted.push(1, "a").push(3, "c").push(2, "b");
+
+        assertThat(list(sorted.keySet())).isEqualTo(list(3, 2, 1));
+        assertThat(list(sorted.clone().push(4, "d").keySet())).isEqualTo(list(4, 3, 2, 1));
+
+        final SSet<Integer> set = cset(list(1, 2));
+
+        parallel(4, () -> range(1, 1000).forEach(set::add));
+
+        assertThat(set).isEqualTo(set(range(1, 1000)));
+    }
+}
@@ -231,6 +231,114 @@ public class ExpressiveTest {
         assertThat(f.apply(new Baz())).isEqualTo("BAZ!!");
     }
 
+    /**
+     * {@link Expressive#matcher()}
+     */
+    @Test
+    public void testMatcher() {
+
+        final IntRef evaluated = ref(0);
+
+        final Function<Integer, String> f = Expressive.<Integer> matcher() //
+            .when(x -> evaluated.val++ < 0).then(x -> "never") //
+            .when(x -> x == 1).then(x -> "one") //
+            .when(x -> x == 2).then(x -> "two") //
+            .when(x -> x == 3).then("three") //
+            .none(x -> "" + x);
+
+        assertThat(f.apply(1)).isEqualTo("one");
+        assertThat(f.apply(2)).isEqualTo("two");
+        assertThat(f.apply(3)).isEqualTo("three");
+        assertThat(f.apply(4)).isEqualTo("4");
+        assertThat(evaluated.val).isEqualTo(4);
+    }
+
+    /**
+     * {@link Expressive#matcher()} with type dispatch.
+     */
+    @Test
+    public void testMatcherType() {
+
+        final Function<Foo, String> f = Expressive.<Foo> matcher() //
+            .type((final Bar x) -> "BAR!!") //
+            .when(Baz.class).then("BAZ!!") //
+            .none("FOO!!");
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(f.apply(new Foo())).isEqualTo("FOO!!");
+            assertThat(f.apply(new Bar())).isEqualTo("BAR!!");
+            assertThat(f.apply(new Baz())).isEqualTo("BAZ!!");
+            assertThat(f.apply(null)).isEqualTo("FOO!!");
+        }
+
+        final Function<Number, String> g = Expressive.<Number> matcher() //
+            .type((final Long x) -> "long: " + x) //
+            .when(x -> x.intValue() < 0).then(x -> "negative: " + x) //
+            .when(Double.class).then(x -> "double: " + x.doubleValue()) //
+            .none(x -> "num: " + x.doubleValue());
+
+        assertThat(g.apply(1)).isEqualTo("num: 1.0");
+        assertThat(g.apply(2L)).isEqualTo("long: 2");
+        assertThat(g.apply(3.1)).isEqualTo("double: 3.1");
+        assertThat(g.apply(-1)).isEqualTo("negative: -1");
+    }
+
+    /**
+     * {@link Expressive#matcher()} with predicates around type tests.
+     */
+    @Test
+    public void testMatcherMixed() {
+
+        final Function<Object, String> f = Expressive.<Object> matcher() //
+            .when(x -> x == null).then("null") //
+            .when(Integer.class).then("int") //
+            .when(x -> x.toString().isEmpty()).then("empty") //
+            .when(Number.class).then("num") //
+            .type((final CharSequence x) -> "chars: " + x) //
+            .none("other");
+
+        for (int i = 0; i < 2; i++) {
+            assertThat(f.apply(null)).isEqualTo("null");
+            assertThat(f.apply(1)).isEqualTo("int");
+            assertThat(f.apply(1L)).isEqualTo("num");
+            assertThat(f.apply("")).isEqualTo("empty");
+            assertThat(f.apply("a")).isEqualTo("chars: a");
+            assertThat(f.apply(new StringBuilder("b"))).isEqualTo("chars: b");
+            assertThat(f.apply(new Object())).isEqualTo("other");
+        }
+    }
+
+    /**
+     * {@link Expressive#ifInstance(Object, Consumer)} resolves the argument type per lambda class.
+     */
+    @Test
+    public void testIfInstanceRepeated() {
+
+        final IntRef called = ref(0);
+
+        for (final Object x : list(1, "a", 2L, 3)) {
+            ifInstance(x, (final Integer i) -> called.val += i);
+        }
+
+        assertThat(called.val).isEqualTo(4);
+    }
+
+    /**
+     * {@link Expressive#when(java.util.function.BooleanSupplier)} evaluates each condition at most once.
+     */
+    @Test
+    public void testWhenOnce() {
+
+        final IntRef evaluated = ref(0);
+
+        assertThat(when(() -> evaluated.val++ < 0).then("NG") //
+            .when(() -> evaluated.val++ == 1).then(() -> "OK") //
+            .when(() -> evaluated.val++ < 0).then("NG") //
+            .none("NG")).isEqualTo("OK");
+
+        assertThat(evaluated.val).isEqualTo(2);
+    }
+
     public static class Foo {}
 
     public static class Bar
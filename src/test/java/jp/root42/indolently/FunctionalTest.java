@@ -14,6 +14,13 @@
 package jp.root42.indolently;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.function.Function;
@@ -196,4 +203,207 @@ public class FunctionalTest {
 
         assertThat(tarai.memoize().apply(20, 6, 0)).isEqualTo(20);
     }
+
+    /**
+     * {@link Functional#memoize(Function)} under contention.
+     * Every thread must observe the same value of the same key, and the function must be evaluated at most once per
+     * key and thread.
+     */
+    @Test
+    public void testMemoizeConcurrent() throws InterruptedException {
+
+        for (final int threads : new int[] { 1, 2, 4, 8, 16, 32 }) {
+
+            final AtomicInteger calls = new AtomicInteger();
+            final BiFunction<Integer, Integer, String> f = memoize((final Integer x, final Integer y) -> {
+                calls.incrementAndGet();
+                return x + ":" + y;
+            });
+
+            final ConcurrentMap<String, Boolean> errors = new ConcurrentHashMap<>();
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Thread> workers = list();
+
+            for (int t = 0; t < threads; t++) {
+                final Thread worker = new Thread(() -> {
+                    try {
+                        start.await();
+                        for (int i = 0; i < 10000; i++) {
+                            final int x = i % 64;
+                            final String val = f.apply(x, x + 1);
+                            if (!val.equals(x + ":" + (x + 1))) {
+                                errors.put(val, true);
+                            }
+                        }
+                    } catch (final InterruptedException e) {
+                        errors.put(e.toString(), true);
+                    }
+                });
+                worker.start();
+                workers.add(worker);
+            }
+
+            start.countDown();
+            for (final Thread worker : workers) {
+                worker.join();
+            }
+
+            assertThat(errors).isEmpty();
+            assertThat(calls.get()).isBetween(64, 64 * threads);
+        }
+    }
+
+    /**
+     * {@link Functional#memoize(Function)} with null.
+     */
+    @Test
+    public void testMemoizeNull() {
+
+        final IntRef calls = ref(0);
+        final Function<String, String> f = memoize((final String x) -> {
+            calls.val++;
+            return (x == null) ? null : x + x;
+        });
+
+        assertThat(f.apply(null)).isNull();
+        assertThat(f.apply(null)).isNull();
+        assertThat(f.apply("a")).isEqualTo("aa");
+        assertThat(f.apply("a")).isEqualTo("aa");
+        assertThat(calls.val).isEqualTo(2);
+
+        final Function3<String, String, String, String> g = memoize((final String x, final String y,
+            final String z) -> {
+            calls.val++;
+            return x + y + z;
+        });
+
+        assertThat(g.apply(null, "a", null)).isEqualTo("nullanull");
+        assertThat(g.apply(null, "a", null)).isEqualTo("nullanull");
+        assertThat(g.apply("a", null, null)).isEqualTo("anullnull");
+        assertThat(calls.val).isEqualTo(4);
+    }
+
+    /**
+     * {@link Functional#memoizeAsync(Function)}
+     */
+    @Test
+    public void testMemoizeAsync() throws Exception {
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final AtomicInteger calls = new AtomicInteger();
+            final CountDownLatch release = new CountDownLatch(1);
+
+            final SFunc<Integer, CompletableFuture<Integer>> f = new SFunc<Integer, Integer>((self, x) -> {
+                calls.incrementAndGet();
+                try {
+                    release.await();
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return x * 2;
+            }).memoizeAsync(executor);
+
+            // in-flight computation is shared
+            final List<CompletableFuture<Integer>> futures = list();
+            range(1, 100).forEach(i -> futures.add(f.apply(21)));
+            release.countDown();
+
+            for (final CompletableFuture<Integer> future : futures) {
+                assertThat(future.get()).isEqualTo(42);
+            }
+
+            assertThat(calls.get()).isEqualTo(1);
+            assertThat(f.apply(21).get()).isEqualTo(42);
+            assertThat(calls.get()).isEqualTo(1);
+
+            // each caller gets its own copy; cancelling it doesn't poison the others
+            final CountDownLatch release2 = new CountDownLatch(1);
+            final Function<Integer, CompletableFuture<Integer>> h = memoizeAsync((final Integer x) -> {
+                calls.incrementAndGet();
+                return CompletableFuture.supplyAsync(() -> {
+                    try {
+                        release2.await();
+                    } catch (final InterruptedException e) {
+                        throw new IllegalStateException(e);
+                    }
+                    return x + 1;
+                }, executor);
+            });
+
+            final CompletableFuture<Integer> cancelled = h.apply(1);
+            final CompletableFuture<Integer> other = h.apply(1);
+            assertThat(cancelled).isNotSameAs(other);
+            assertThat(cancelled.cancel(true)).isTrue();
+            assertThat(cancelled.completeExceptionally(new IllegalStateException())).isFalse();
+            release2.countDown();
+
+            assertThat(other.get()).isEqualTo(2);
+            assertThat(h.apply(1).get()).isEqualTo(2);
+            assertThat(calls.get()).isEqualTo(2);
+
+            // failure is evicted
+            final AtomicInteger attempts = new AtomicInteger();
+            final Function<String, CompletableFuture<String>> g = memoizeAsync((final String x) -> {
+                final CompletableFuture<String> rslt = new CompletableFuture<>();
+                if (attempts.incrementAndGet() == 1) {
+                    rslt.completeExceptionally(new IllegalStateException(x));
+                } else {
+                    rslt.complete(x);
+                }
+                return rslt;
+            });
+
+            assertThat(g.apply("a").isCompletedExceptionally()).isTrue();
+            assertThat(g.apply("a").get()).isEqualTo("a");
+            assertThat(g.apply("a").get()).isEqualTo("a");
+            assertThat(attempts.get()).isEqualTo(2);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * {@link Functional#func(Consumer, BiFunction)} initializes exactly once under contention, and every caller
+     * observes the initialized state.
+     */
+    @Test
+    public void testInitConcurrent() throws Exception {
+
+        for (final int threads : new int[] { 1, 2, 4, 8, 16, 32 }) {
+
+            final AtomicInteger inits = new AtomicInteger();
+            final IntRef state = ref(0);
+
+            final Function<Integer, Integer> f = func((final Function<Integer, Integer> self) -> {
+                inits.incrementAndGet();
+                // recursive call from the initializer doesn't run it again
+                assertThat(self.apply(0)).isEqualTo(0);
+                state.val = 1;
+            }, (self, x) -> x * state.val);
+
+            final ExecutorService executor = Executors.newFixedThreadPool(threads);
+            try {
+                final List<CompletableFuture<Long>> rslts = list();
+
+                for (int t = 0; t < threads; t++) {
+                    rslts.add(CompletableFuture.supplyAsync(() -> {
+                        long sum = 0;
+                        for (int i = 0; i < 100000; i++) {
+                            sum += f.apply(1);
+                        }
+                        return sum;
+                    }, executor));
+                }
+
+                for (final CompletableFuture<Long> rslt : rslts) {
+                    assertThat(rslt.get()).isEqualTo(100000L);
+                }
+            } finally {
+                executor.shutdown();
+            }
+
+            assertThat(inits.get()).isEqualTo(1);
+        }
+    }
 }
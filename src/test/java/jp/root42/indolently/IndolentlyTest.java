@@ -24,6 +24,7 @@ import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.function.BiPredicate;
+import java.util.function.Function;
 
 import jp.root42.indolently.trait.Freezable;
 
@@ -608,6 +609,57 @@ public class IndolentlyTest {
         );
     }
 
+    /**
+     * {@link SSet#retain(Iterable)} / {@link SSet#subtract(Iterable)} / non-set argument
+     */
+    @Test
+    public void testSetAlgebraDestructive() {
+
+        final SSet<Integer> set = set(range(1, 10));
+
+        assertThat(set.retain(list(1, 2, 3, 4, 5, 42))).isSameAs(set).isEqualTo(set(1, 2, 3, 4, 5));
+        assertThat(set.subtract(set(range(4, 100)))).isSameAs(set).isEqualTo(set(1, 2, 3));
+        assertThat(set.subtract(list(1, 1, 42))).isEqualTo(set(2, 3));
+
+        assertThat(set(1, 2, 3).intersect(list(3, 4, 3, 2))).isEqualTo(set(2, 3));
+        assertThat(set(1, 2, 3).diff(list(3, 4, 4))).isEqualTo(set(1, 2, 4));
+    }
+
+    /**
+     * {@link SSet#unionView(Set)} / {@link SSet#intersectView(Set)} / {@link SSet#subtractView(Set)}
+     */
+    @Test
+    public void testSetView() {
+
+        final SSet<Integer> lhs = set(1, 2, 3);
+        final SSet<Integer> rhs = set(2, 3, 4);
+
+        final SSet<Integer> union = lhs.unionView(rhs);
+        final SSet<Integer> intersect = lhs.intersectView(rhs);
+        final SSet<Integer> subtract = lhs.subtractView(rhs);
+
+        assertThat(union).isEqualTo(set(1, 2, 3, 4));
+        assertThat(union.size()).isEqualTo(4);
+        assertThat(intersect).isEqualTo(set(2, 3));
+        assertThat(subtract).isEqualTo(set(1));
+        assertThat(subtract.contains(2)).isFalse();
+
+        rhs.add(1);
+        lhs.add(5);
+
+        assertThat(union).isEqualTo(set(1, 2, 3, 4, 5));
+        assertThat(intersect).isEqualTo(set(1, 2, 3));
+        assertThat(subtract).isEqualTo(set(5));
+        assertThat(lhs.subtractView(lhs).isEmpty()).isTrue();
+
+        try {
+            union.add(6);
+            fail();
+        } catch (final UnsupportedOperationException e) {
+            // ok
+        }
+    }
+
     /**
      * {@link Indolently#list(Object...)}
      */
@@ -858,6 +910,21 @@ public class IndolentlyTest {
         assertThat(uniq(list(1, 2, 3, -1, -2, 4), (x, y) -> Math.abs(x) == Math.abs(y))).isEqualTo(list(1, 2, 3, 4));
     }
 
+    /**
+     * {@link Indolently#uniq(List)} / {@link Indolently#uniqBy(List, Function)}
+     */
+    @Test
+    public void testUniqBy() {
+
+        assertThat(uniq(list(3, 1, null, 2, 3, 1, null, 4))).isEqualTo(list(3, 1, null, 2, 4));
+        assertThat(uniqBy(list(1, 2, 3, -1, -2, 4), Math::abs)).isEqualTo(list(1, 2, 3, 4));
+        assertThat(list("a", "bb", "c", "dd", "eee").uniqBy(x -> x.length() == 1 ? null : x.length()))
+            .isEqualTo(list("a", "bb", "eee"));
+
+        final SList<Integer> large = range(0, 199999).map(x -> x % 1000).list();
+        assertThat(large.uniq()).isEqualTo(range(0, 999).list());
+    }
+
     /**
      * {@link Indolently#re(String)}
      */
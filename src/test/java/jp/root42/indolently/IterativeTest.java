@@ -16,7 +16,12 @@ package jp.root42.indolently;
 import java.util.Iterator;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 import jp.root42.indolently.ref.IntRef;
 
@@ -118,6 +123,156 @@ public class IterativeTest {
             .forEach(consumerOf((final Integer x) -> {}));
     }
 
+    /**
+     * {@link Generator#breaks()}
+     */
+    @Test
+    public void testGeneratorBreakStackless() {
+
+        try {
+            breaks();
+            fail();
+        } catch (final Generator.Break e) {
+            assertThat(e.getStackTrace()).isEmpty();
+            e.addSuppressed(new IllegalStateException());
+
+            try {
+                breaks();
+                fail();
+            } catch (final Generator.Break e2) {
+                // not shared, so that suppressed exceptions don't leak
+                assertThat(e2).isNotSameAs(e);
+                assertThat(e2.getSuppressed()).isEmpty();
+            }
+        }
+    }
+
+    /**
+     * {@link Generator#produce(Consumer, int)}
+     */
+    @Test
+    public void testGeneratorProduce() {
+
+        final Generator<Integer> g = produce(sink -> {
+            for (int i = 1; i <= 100; i++) {
+                sink.yield(i);
+            }
+            sink.yield(null);
+        }, 4);
+
+        final SList<Integer> ints = g.list();
+
+        assertThat(ints.size()).isEqualTo(101);
+        assertThat(ints.slice(0, -1).reduce((x, y) -> x + y).get()).isEqualTo(5050);
+        assertThat(ints.last()).isNull();
+        assertThat(g.hasNext()).isFalse();
+    }
+
+    /**
+     * {@link Generator#produce(Consumer)}
+     */
+    @Test
+    public void testGeneratorProduceFailure() {
+
+        final Generator<Integer> g = produce(sink -> {
+            sink.yield(1);
+            throw new IllegalStateException("fail");
+        });
+
+        assertThat(g.next()).isEqualTo(1);
+
+        try {
+            g.hasNext();
+            fail();
+        } catch (final IllegalStateException e) {
+            assertThat(e.getMessage()).isEqualTo("fail");
+        }
+
+        assertThat(g.hasNext()).isFalse();
+    }
+
+    /**
+     * {@link Generator.Produced#close()}
+     */
+    @Test(timeout = 10000)
+    public void testGeneratorProduceClose() throws InterruptedException {
+
+        final CountDownLatch finished = new CountDownLatch(1);
+        final AtomicInteger produced = new AtomicInteger();
+
+        try (final Generator.Produced<Integer> g = produce(sink -> {
+            try {
+                for (int i = 0;; i++) {
+                    sink.yield(i);
+                    produced.incrementAndGet();
+                }
+            } finally {
+                finished.countDown();
+            }
+        }, 2)) {
+
+            assertThat(g.next()).isEqualTo(0);
+            assertThat(g.next()).isEqualTo(1);
+            assertThat(g.next()).isEqualTo(2);
+
+            // backpressure: the producer can't run ahead of the buffer.
+            assertThat(produced.get()).isLessThanOrEqualTo(5);
+        }
+
+        finished.await();
+    }
+
+    /**
+     * {@link Generator.Produced#close()} on another thread / interruption of the consumer
+     */
+    @Test(timeout = 10000)
+    public void testGeneratorProduceCloseAsync() throws InterruptedException {
+
+        final CountDownLatch never = new CountDownLatch(1);
+
+        final Generator.Produced<Integer> g = produce(sink -> {
+            sink.yield(1);
+            try {
+                never.await();
+            } catch (final InterruptedException e) {
+                Generator.breaks();
+            }
+        });
+
+        assertThat(g.next()).isEqualTo(1);
+
+        final Thread closer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (final InterruptedException ignored) {
+                assert true;
+            }
+            g.close();
+        });
+        closer.start();
+
+        // blocks until closed
+        assertThat(g.hasNext()).isFalse();
+        closer.join();
+
+        final Generator.Produced<Integer> h = produce(sink -> {
+            try {
+                never.await();
+            } catch (final InterruptedException e) {
+                Generator.breaks();
+            }
+        });
+
+        Thread.currentThread().interrupt();
+
+        try {
+            h.hasNext();
+            fail();
+        } catch (final CancellationException e) {
+            assertThat(Thread.interrupted()).isTrue();
+        }
+    }
+
     /**
      * [@link {@link Iterative#iterator(Supplier...)}
      */
@@ -237,4 +392,37 @@ public class IterativeTest {
             oarray("0..-1 (stepping 1)", list(0, -1), 0, -1, 1) //
         );
     }
+
+    /**
+     * {@link Iterative#intRange(int, int, int)} / {@link Iterative#longRange(long, long, int)}
+     */
+    @Test
+    public void testPrimitiveRange() {
+
+        final IntRange ints = intRange(1, 10, 3);
+        assertThat(ints.nextInt()).isEqualTo(1);
+
+        final IntRef sum = ref(0);
+        ints.forEachRemaining((int x) -> sum.val += x);
+        assertThat(sum.val).isEqualTo(4 + 7 + 10);
+        assertFalse(ints.hasNext());
+
+        assertThat(intRange(10, 1).intStream().sum()).isEqualTo(55);
+        assertThat(intRange(1, 100000).parallelIntStream().asLongStream().sum()).isEqualTo(5000050000L);
+        assertThat(longRange(1, 1000000).parallelLongStream().sum()).isEqualTo(500000500000L);
+        assertThat(range(1L, 5L).parallelStream().collect(Collectors.toList())).isEqualTo(list(1L, 2L, 3L, 4L, 5L));
+
+        // extreme bounds
+        assertThat(intRange(Integer.MIN_VALUE, Integer.MIN_VALUE + 2).intStream().toArray()) //
+            .containsExactly(Integer.MIN_VALUE, Integer.MIN_VALUE + 1, Integer.MIN_VALUE + 2);
+        assertThat(longRange(Long.MAX_VALUE, Long.MIN_VALUE, Integer.MAX_VALUE).nextLong()).isEqualTo(Long.MAX_VALUE);
+        assertThat(sequence(Long.MAX_VALUE - 1).list()).isEqualTo(list(Long.MAX_VALUE - 1, Long.MAX_VALUE));
+
+        try {
+            intRange(1, 2, 0);
+            fail();
+        } catch (final IllegalArgumentException ignored) {
+            assert true;
+        }
+    }
 }
@@ -0,0 +1,112 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link Membership}.
+ *
+ * @author takahashikzn
+ */
+public class MembershipTest {
+
+    private static <T> void verify(final Iterable<T> candidates, final SList<T> values) {
+
+        final Predicate<T> index = Membership.of(values);
+
+        for (final T x : candidates) {
+            assertThat(index.test(x)).as("%s", x).isEqualTo(values.contains(x));
+        }
+    }
+
+    /**
+     * every lookup structure behaves as same as {@link java.util.List#contains(Object)}.
+     */
+    @Test
+    public void structures() {
+
+        verify(list(1, 2, 3, null), list());
+        verify(list(1, 2, 3, null), list(2));
+        verify(list(1, 2, 3, null), list(2, null, 3));
+
+        // enum
+        verify(list(TimeUnit.values()), list(TimeUnit.SECONDS, TimeUnit.DAYS, TimeUnit.HOURS, TimeUnit.MINUTES));
+
+        // dense / sparse integers
+        verify(range(-100, 100).list(), range(-50, 50, 3).list());
+        verify(range(-100, 100).map(x -> x * 100000).list(), range(-50, 50, 3).map(x -> x * 100000).list());
+        verify(list(Integer.MIN_VALUE, Integer.MAX_VALUE, 0, 1), list(Integer.MIN_VALUE, Integer.MAX_VALUE, 1, 2));
+        verify(list(Long.MIN_VALUE, Long.MAX_VALUE, 0L, 1L), list(Long.MIN_VALUE, Long.MAX_VALUE, 1L, 2L));
+        verify(range(0L, 10L).list(), list(1L, 3L, 5L, 7L));
+
+        // hash
+        verify(list("a", "b", "c", "d", "e", null), list("a", "c", "e", "f"));
+        verify(list("a", "b", "c", "d", "e", null), list("a", null, "c", "e"));
+    }
+
+    /**
+     * boxed type mismatch never matches, as same as {@link Object#equals(Object)}.
+     */
+    @Test
+    public void typeMismatch() {
+
+        final Predicate<Object> ints = Membership.of(1, 2, 3, 4);
+
+        assertThat(ints.test(1)).isTrue();
+        assertThat(ints.test(1L)).isFalse();
+        assertThat(ints.test("1")).isFalse();
+        assertThat(ints.test(null)).isFalse();
+
+        final Predicate<Object> mixed = Membership.of(1, 2L, "3", BigDecimal.ONE);
+
+        assertThat(mixed.test(2L)).isTrue();
+        assertThat(mixed.test(2)).isFalse();
+        assertThat(mixed.test(new BigDecimal("1.0"))).isFalse();
+    }
+
+    /**
+     * {@link Indolently#in(Function, Membership)}
+     */
+    @Test
+    public void shared() {
+
+        final Membership<Integer> index = Membership.of(range(1, 1000, 7).list());
+        final Predicate<String> byLength = in(String::length, index);
+        final Predicate<String> byValue = in(Integer::parseInt, index);
+
+        assertThat(byLength.test("12345678")).isTrue();
+        assertThat(byLength.test("1234567")).isFalse();
+        assertThat(byValue.test("995")).isTrue();
+        assertThat(byValue.test("996")).isFalse();
+
+        // set is used as is
+        final SSet<Integer> live = set(1);
+        final Predicate<Integer> in = in(live);
+
+        live.add(2);
+        assertThat(in.test(2)).isTrue();
+    }
+}
@@ -0,0 +1,226 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link PersistentList} / {@link PersistentMap} / {@link PersistentSet}.
+ *
+ * @author takahashikzn
+ */
+public class PersistentTest {
+
+    /**
+     * a key which hash code collides frequently.
+     */
+    private static final class Key
+        implements java.io.Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int id;
+
+        Key(final int id) {
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return this.id % 7;
+        }
+
+        @Override
+        public boolean equals(final Object o) {
+            return (o instanceof Key) && (((Key) o).id == this.id);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(final T obj) throws IOException, ClassNotFoundException {
+
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(buf)) {
+            out.writeObject(obj);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buf.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    /**
+     * {@link PersistentList} behaves as same as {@link ArrayList}.
+     */
+    @Test
+    public void persistentList() throws Exception {
+
+        for (final int n : list(0, 1, 31, 32, 33, 1023, 1024, 1025, 1056, 32 * 32 * 32 + 33)) {
+
+            final List<Integer> expected = range(0, n - 1).list();
+            final PersistentList<Integer> p = PersistentList.of(expected, x -> (Integer) x);
+
+            assertThat(p).isEqualTo(expected);
+            assertThat(p.toArray()).isEqualTo(expected.toArray());
+        }
+
+        final Random rand = new Random(42);
+        final List<Integer> expected = new ArrayList<>();
+        PersistentList<Integer> p = PersistentList.empty();
+
+        for (int i = 0; i < 40000; i++) {
+
+            final PersistentList<Integer> prev = p;
+            final int prevSize = expected.size();
+
+            final int op = rand.nextInt(10);
+
+            if ((op < 6) || expected.isEmpty()) {
+                p = p.plus(i);
+                expected.add(i);
+            } else if (op < 8) {
+                final int idx = rand.nextInt(expected.size());
+                p = p.with(idx, -i);
+                expected.set(idx, -i);
+            } else {
+                p = p.minus();
+                expected.remove(expected.size() - 1);
+            }
+
+            // persistence
+            assertThat(prev.size()).isEqualTo(prevSize);
+
+            if (i % 997 == 0) {
+                assertThat(p).isEqualTo(expected);
+            }
+        }
+
+        assertThat(p).isEqualTo(expected);
+        assertThat(p.without(3)).isEqualTo(list(expected).delete((i, x) -> i == 3));
+        assertThat((Object) copy(p)).isEqualTo(expected);
+    }
+
+    /**
+     * {@link PersistentMap} behaves as same as {@link HashMap}, including hash collision and {@code null} key.
+     */
+    @Test
+    public void persistentMap() throws Exception {
+
+        final Random rand = new Random(42);
+        final Map<Key, Integer> expected = new HashMap<>();
+        PersistentMap<Key, Integer> p = PersistentMap.empty();
+
+        for (int i = 0; i < 20000; i++) {
+
+            final PersistentMap<Key, Integer> prev = p;
+            final int prevSize = expected.size();
+            final Key key = (rand.nextInt(100) == 0) ? null : new Key(rand.nextInt(500));
+
+            if (rand.nextInt(3) == 0) {
+                p = p.without(key);
+                expected.remove(key);
+            } else {
+                p = p.with(key, i);
+                expected.put(key, i);
+            }
+
+            assertThat(prev.size()).isEqualTo(prevSize);
+            assertThat(p.size()).isEqualTo(expected.size());
+            assertThat(p.get(key)).isEqualTo(expected.get(key));
+        }
+
+        assertThat(p).isEqualTo(expected);
+        assertThat(expected).isEqualTo(p);
+        assertThat(PersistentMap.<Key, Integer> of(expected, x -> (Integer) x)).isEqualTo(expected);
+        assertThat((Object) copy(p)).isEqualTo(expected);
+
+        final Map<String, Integer> strs = new HashMap<>();
+        range(0, 5000).forEach(x -> strs.put(String.valueOf(x), x));
+        assertThat(PersistentMap.<String, Integer> of(strs, x -> (Integer) x)).isEqualTo(strs);
+    }
+
+    /**
+     * {@link PersistentSet} behaves as same as {@link HashSet}.
+     */
+    @Test
+    public void persistentSet() {
+
+        final Set<Key> expected = new HashSet<>();
+        range(1, 300).forEach(x -> expected.add(new Key(x)));
+
+        final PersistentSet<Key> p = PersistentSet.of(expected, x -> (Key) x);
+
+        assertThat(p).isEqualTo(expected);
+        assertThat(p.with(new Key(1))).isSameAs(p);
+        assertThat(p.without(new Key(1)).size()).isEqualTo(299);
+        assertThat(p.without(new Key(1)).contains(new Key(1))).isFalse();
+        assertThat(p.with(new Key(301)).contains(new Key(301))).isTrue();
+        assertThat(p.size()).isEqualTo(300);
+    }
+
+    /**
+     * {@link SList#with(int, Object)} / {@link SSet#with(Object)} / {@link SMap#with(Object, Object)} of frozen one.
+     */
+    @Test
+    public void frozen() {
+
+        final SMap<String, SList<Integer>> map = map("a", list(1, 2, 3)).freeze();
+        final SMap<String, SList<Integer>> derived = map.with("b", list(4)).map("a", x -> x.with(0, 42));
+
+        assertThat((Object) map).isEqualTo(map("a", list(1, 2, 3)));
+        assertThat((Object) derived).isEqualTo(map("a", list(42, 2, 3), "b", list(4)));
+        assertThat((Object) derived.freeze()).isSameAs(derived);
+        assertThatThrownBy(() -> derived.get("b").add(5)).isInstanceOf(UnsupportedOperationException.class);
+        assertThatThrownBy(() -> derived.get("a").add(5)).isInstanceOf(UnsupportedOperationException.class);
+        assertThat((Object) derived.without("a")).isEqualTo(map("b", list(4)));
+
+        final SList<Integer> list = range(1, 100).list().freeze();
+        assertThat(list.with(-1, 0).last()).isEqualTo(0);
+        assertThat(list.without(0).head()).isEqualTo(2);
+        assertThat(list.with(100, 0)).isSameAs(list);
+        assertThat(list.last()).isEqualTo(100);
+
+        final SSet<Integer> set = set(1, 2).freeze();
+        assertThat(set.with(3)).isEqualTo(set(1, 2, 3));
+        assertThat(set.without(1)).isEqualTo(set(2));
+        assertThat(set).isEqualTo(set(1, 2));
+        assertThatThrownBy(() -> set.with(3).add(4)).isInstanceOf(UnsupportedOperationException.class);
+
+        // not frozen one is just cloned
+        final SList<Integer> mutable = list(1, 2, 3);
+        assertThat(mutable.with(0, 0).push(4)).isEqualTo(list(0, 2, 3, 4));
+        assertThat(mutable.without(0)).isEqualTo(list(2, 3));
+        assertThat(mutable).isEqualTo(list(1, 2, 3));
+    }
+}
@@ -0,0 +1,107 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.function.DoubleFunction;
+import java.util.function.DoublePredicate;
+import java.util.function.DoubleUnaryOperator;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link SDoubleList}.
+ *
+ * @author takahashikzn
+ */
+public class SDoubleListTest {
+
+    /**
+     * {@link SDoubleList#map(DoubleUnaryOperator)} / {@link SDoubleList#filter(DoublePredicate)}
+     */
+    @Test
+    public void mapFilter() {
+
+        final SDoubleList ds = plist(1.0, 2.0, 3.0, 4.0, 5.0);
+
+        assertThat(ds.map(x -> x / 2)).isEqualTo(plist(0.5, 1.0, 1.5, 2.0, 2.5));
+        assertThat(ds.filter(x -> x % 2 == 0)).isEqualTo(plist(2.0, 4.0));
+        assertThat(ds.sum()).isEqualTo(15.0);
+        assertThat(plist(new double[0]).reduce((x, y) -> x + y).isPresent()).isFalse();
+    }
+
+    /**
+     * {@link SDoubleList#group(DoubleFunction)}
+     */
+    @Test
+    public void group() {
+
+        assertThat((Object) plist(1.5, -0.5, 2.5, Double.NaN) //
+            .group(x -> Double.isNaN(x) ? "nan" : (x < 0) ? "neg" : "pos")) //
+            .isEqualTo(map("pos", plist(1.5, 2.5), "neg", plist(-0.5), "nan", plist(Double.NaN)));
+        assertThat(plist(new double[0]).group(x -> x).isEmpty()).isTrue();
+
+        // a group grows beyond its initial capacity
+        final SDoubleList grp = plist(new double[100]).group(x -> x).get(0.0);
+        assertThat(grp.size()).isEqualTo(100);
+        assertThat(grp.push(1.0).last()).isEqualTo(1.0);
+    }
+
+    /**
+     * {@link SDoubleList#slice(int, int)} / {@link SDoubleList#opt(int)}
+     */
+    @Test
+    public void slice() {
+
+        final SDoubleList ds = plist(1.0, 2.0, 3.0, 4.0, 5.0, 6.0);
+
+        assertThat(ds.slice(-2, 0)).isEqualTo(plist(5.0, 6.0));
+        assertThat(ds.slice(2, 4)).isEqualTo(plist(3.0, 4.0));
+        assertThat(ds.slice(4, 2)).isEqualTo(new SDoubleList());
+        assertThat(ds.slice(-100, 100)).isEqualTo(ds);
+        assertThat(ds.get(-1)).isEqualTo(6.0);
+        assertThat(ds.opt(6).isPresent()).isFalse();
+    }
+
+    /**
+     * {@link SDoubleList#sortWith(SDoubleList.DoubleComparator)}
+     */
+    @Test
+    public void sortWith() {
+
+        // NaN goes last and -0.0 precedes 0.0, as Double.compare does
+        assertThat(plist(Double.NaN, 0.0, -0.0, Double.NEGATIVE_INFINITY).sort())
+            .isEqualTo(plist(Double.NEGATIVE_INFINITY, -0.0, 0.0, Double.NaN));
+        assertThat(plist(1.0, 3.0, 2.0).sortWith((l, r) -> Double.compare(r, l))).isEqualTo(plist(3.0, 2.0, 1.0));
+        assertThat(plist(1.3, 0.1, 2.2, 0.4).sortWith((l, r) -> Double.compare(Math.floor(l), Math.floor(r))))
+            .isEqualTo(plist(0.1, 0.4, 1.3, 2.2));
+        assertThat(new SDoubleList().sortWith(Double::compare)).isEqualTo(new SDoubleList());
+        assertThat(plist(0.0).equals(plist(-0.0))).isFalse();
+    }
+
+    /**
+     * {@link SDoubleList#list()} / {@link SDoubleList#of(Iterable)}
+     */
+    @Test
+    public void conversion() {
+
+        assertThat(plist(1.0, 2.0).list()).isEqualTo(list(1.0, 2.0));
+        assertThat(SDoubleList.of(list(1.0, 2.0))).isEqualTo(plist(1.0, 2.0));
+        assertThat(plist(1.0, Double.NaN).stream().count()).isEqualTo(2L);
+    }
+}
@@ -0,0 +1,99 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.function.IntFunction;
+import java.util.function.IntPredicate;
+import java.util.function.IntUnaryOperator;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link SIntList}.
+ *
+ * @author takahashikzn
+ */
+public class SIntListTest {
+
+    /**
+     * {@link SIntList#map(IntUnaryOperator)} / {@link SIntList#filter(IntPredicate)}
+     */
+    @Test
+    public void mapFilter() {
+
+        final SIntList ints = plist(1, 2, 3, 4, 5);
+
+        assertThat(ints.map(x -> x * 2)).isEqualTo(plist(2, 4, 6, 8, 10));
+        assertThat(ints.filter(x -> x % 2 == 0)).isEqualTo(plist(2, 4));
+        assertThat(ints.reduce(0, (x, y) -> x + y)).isEqualTo(15);
+        assertThat(ints.sum()).isEqualTo(15);
+        assertThat(plist(new int[0]).reduce((x, y) -> x + y).isPresent()).isFalse();
+    }
+
+    /**
+     * {@link SIntList#group(IntFunction)}
+     */
+    @Test
+    public void group() {
+
+        assertThat((Object) prange(1, 6).group(x -> x % 3)) //
+            .isEqualTo(map(1, plist(1, 4), 2, plist(2, 5), 0, plist(3, 6)));
+    }
+
+    /**
+     * {@link SIntList#slice(int, int)} / {@link SIntList#opt(int)}
+     */
+    @Test
+    public void slice() {
+
+        final SIntList ints = prange(1, 10);
+
+        assertThat(ints.slice(-5, 0)).isEqualTo(plist(6, 7, 8, 9, 10));
+        assertThat(ints.slice(2, 4)).isEqualTo(plist(3, 4));
+        assertThat(ints.slice(8, 2)).isEqualTo(new SIntList());
+        assertThat(ints.get(-1)).isEqualTo(10);
+        assertThat(ints.opt(10).isPresent()).isFalse();
+    }
+
+    /**
+     * {@link SIntList#sortWith(SIntList.IntComparator)}
+     */
+    @Test
+    public void sortWith() {
+
+        assertThat(plist(3, 1, 2).sort()).isEqualTo(plist(1, 2, 3));
+        assertThat(prange(1, 100).sortWith((l, r) -> Integer.compare(r, l))).isEqualTo(prange(100, 1));
+        assertThat(plist(13, 1, 22, 4).sortWith((l, r) -> Integer.compare(l % 10, r % 10)))
+            .isEqualTo(plist(1, 22, 13, 4));
+    }
+
+    /**
+     * {@link SIntList#list()} / {@link SIntList#of(Iterable)}
+     */
+    @Test
+    public void conversion() {
+
+        assertThat(plist(1, 2, 3).list()).isEqualTo(list(1, 2, 3));
+        assertThat(SIntList.of(list(1, 2, 3))).isEqualTo(plist(1, 2, 3));
+        assertThat(prange(1, 10, 3).list()).isEqualTo(range(1, 10, 3).list());
+        assertThat(prange(10, 1, 3).list()).isEqualTo(range(10, 1, 3).list());
+        assertThat(prange(1L, 3L).list()).isEqualTo(list(1L, 2L, 3L));
+    }
+}
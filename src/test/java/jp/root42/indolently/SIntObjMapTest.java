@@ -0,0 +1,89 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link SIntObjMap} / {@link SObjIntMap}.
+ *
+ * @author takahashikzn
+ */
+public class SIntObjMapTest {
+
+    /**
+     * {@link SIntObjMap#push(int, Object)} / {@link SIntObjMap#update(int, Function)}
+     */
+    @Test
+    public void intObjMap() {
+
+        final SIntObjMap<String> map = Indolently.<String> intObjMap().push(1, "a").push(Integer.valueOf(2), "b");
+
+        assertThat(map.has(1)).isTrue();
+        assertThat(map.has(3)).isFalse();
+        assertThat(map.opt(2).get()).isEqualTo("b");
+        assertThat(map.opt(3).isPresent()).isFalse();
+        assertThat(map.update(1, x -> x + x).get(1)).isEqualTo("aa");
+        assertThat(map.update(3, x -> x + x).has(3)).isFalse();
+        assertThat((Object) map).isEqualTo(map(1, "aa", 2, "b"));
+
+        // null result is stored, but the key mapped to null is skipped as same as the boxed one
+        assertThat(map.update(2, x -> null).has(2)).isTrue();
+        assertThat(map.update(2, x -> "c").get(2)).isNull();
+        assertThat(map.update(Integer.valueOf(2), x -> "c").get(2)).isNull();
+    }
+
+    /**
+     * {@link SIntObjMap#filter(BiPredicate)} / {@link SIntObjMap#clone()}
+     */
+    @Test
+    public void constructive() {
+
+        final SIntObjMap<String> map = Indolently.<String> intObjMap().push(1, "a").push(2, "b");
+        final SIntObjMap<String> filtered = map.filter((k, v) -> k % 2 == 0);
+
+        assertThat((Object) filtered).isEqualTo(map(2, "b"));
+        assertThat((Object) map.filter(v -> v.equals("a"))).isEqualTo(map(1, "a"));
+        assertThat((Object) map.clone()).isEqualTo(map).isNotSameAs(map);
+    }
+
+    /**
+     * {@link SObjIntMap#add(Object, int)} / {@link SObjIntMap#optInt(Object)}
+     */
+    @Test
+    public void counter() {
+
+        final SObjIntMap<String> map = objIntMap();
+
+        for (final String s : list("a", "b", "a", "c", "a")) {
+            map.add(s, 1);
+        }
+
+        assertThat((Object) map).isEqualTo(map("a", 3, "b", 1, "c", 1));
+        assertThat(map.has("a")).isTrue();
+        assertThat(map.optInt("a").getAsInt()).isEqualTo(3);
+        assertThat(map.optInt("z").isPresent()).isFalse();
+        assertThat((Object) map.filter(x -> x == 1)).isEqualTo(map("b", 1, "c", 1));
+        assertThat((Object) map.clone()).isEqualTo(map).isNotSameAs(map);
+        assertThat(map.push("z", 0).getInt("z")).isEqualTo(0);
+    }
+}
@@ -60,4 +60,46 @@ public class SIterTest {
 
         assertThat($(new ArrayList<List<Integer>>()).flatten(itself())).isEqualTo(list());
     }
+
+    /**
+     * {@link Iterator#forEachRemaining(java.util.function.Consumer)} of the combinators.
+     */
+    @Test
+    public void forEachRemaining() {
+
+        final SIter<Integer> i = range(1, 10) //
+            .filter(x -> x % 2 == 0) //
+            .map(x -> x * 10) //
+            .flatten(x -> list(x, x + 1));
+
+        assertThat(i.next()).isEqualTo(20);
+
+        final List<Integer> rest = new ArrayList<>();
+        i.forEachRemaining(rest::add);
+
+        assertThat(rest).containsExactly(21, 40, 41, 60, 61, 80, 81, 100, 101);
+        assertThat(i.hasNext()).isFalse();
+
+        // lookahead value is not lost
+        final SIter<Integer> j = range(1, 5).filter(x -> x != 2);
+        assertThat(j.hasNext()).isTrue();
+
+        final List<Integer> all = new ArrayList<>();
+        j.forEachRemaining(all::add);
+        assertThat(all).containsExactly(1, 3, 4, 5);
+    }
+
+    /**
+     * {@code null} elements pass through the combinators.
+     */
+    @Test
+    public void nullElements() {
+
+        assertThat(list("a", null, "b").iterator().filter(x -> true).list()).containsExactly("a", null, "b");
+        assertThat(list("a", null).iterator().map(x -> x).list()).containsExactly("a", null);
+
+        final Iterator<String> src = list((String) null).iterator();
+        assertThat(Generator.of(src, x -> x.hasNext() ? x.next() : Generator.breaks()).list()).containsExactly(
+            (String) null);
+    }
 }
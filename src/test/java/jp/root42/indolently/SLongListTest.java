@@ -0,0 +1,111 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.function.LongFunction;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link SLongList}.
+ *
+ * @author takahashikzn
+ */
+public class SLongListTest {
+
+    /**
+     * {@link SLongList#map(LongUnaryOperator)} / {@link SLongList#filter(LongPredicate)}
+     */
+    @Test
+    public void mapFilter() {
+
+        final SLongList longs = plist(1L, 2L, 3L, 4L, 5L);
+
+        assertThat(longs.map(x -> x * 2)).isEqualTo(plist(2L, 4L, 6L, 8L, 10L));
+        assertThat(longs.filter(x -> x % 2 == 0)).isEqualTo(plist(2L, 4L));
+        assertThat(longs.sum()).isEqualTo(15L);
+        assertThat(plist(Long.MAX_VALUE, 1L).reduce(0L, (x, y) -> Math.max(x, y))).isEqualTo(Long.MAX_VALUE);
+        assertThat(plist(new long[0]).reduce((x, y) -> x + y).isPresent()).isFalse();
+    }
+
+    /**
+     * {@link SLongList#group(LongFunction)}
+     */
+    @Test
+    public void group() {
+
+        assertThat((Object) prange(1L, 6L).group(x -> x % 3)) //
+            .isEqualTo(map(1L, plist(1L, 4L), 2L, plist(2L, 5L), 0L, plist(3L, 6L)));
+        assertThat(plist(new long[0]).group(x -> x).isEmpty()).isTrue();
+
+        // a group grows beyond its initial capacity
+        final SLongList grp = prange(1L, 100L).group(x -> "all").get("all");
+        assertThat(grp.size()).isEqualTo(100);
+        assertThat(grp).isEqualTo(prange(1L, 100L));
+        assertThat(grp.push(101L).last()).isEqualTo(101L);
+    }
+
+    /**
+     * {@link SLongList#slice(int, int)} / {@link SLongList#opt(int)}
+     */
+    @Test
+    public void slice() {
+
+        final SLongList longs = prange(1L, 10L);
+
+        assertThat(longs.slice(-5, 0)).isEqualTo(plist(6L, 7L, 8L, 9L, 10L));
+        assertThat(longs.slice(2, 4)).isEqualTo(plist(3L, 4L));
+        assertThat(longs.slice(8, 2)).isEqualTo(new SLongList());
+        assertThat(longs.slice(-100, 100)).isEqualTo(longs);
+        assertThat(longs.slice(10)).isEqualTo(new SLongList());
+        assertThat(longs.get(-1)).isEqualTo(10L);
+        assertThat(longs.opt(10).isPresent()).isFalse();
+        assertThat(longs.opt(-11).isPresent()).isFalse();
+    }
+
+    /**
+     * {@link SLongList#sortWith(SLongList.LongComparator)}
+     */
+    @Test
+    public void sortWith() {
+
+        assertThat(plist(3L, Long.MIN_VALUE, Long.MAX_VALUE).sort())
+            .isEqualTo(plist(Long.MIN_VALUE, 3L, Long.MAX_VALUE));
+        assertThat(prange(1L, 100L).sortWith((l, r) -> Long.compare(r, l))).isEqualTo(prange(100L, 1L));
+        assertThat(plist(13L, 1L, 22L, 4L).sortWith((l, r) -> Long.compare(l % 10, r % 10)))
+            .isEqualTo(plist(1L, 22L, 13L, 4L));
+        assertThat(new SLongList().sortWith(Long::compare)).isEqualTo(new SLongList());
+        assertThat(plist(7L).sortWith(Long::compare)).isEqualTo(plist(7L));
+    }
+
+    /**
+     * {@link SLongList#list()} / {@link SLongList#of(Iterable)}
+     */
+    @Test
+    public void conversion() {
+
+        assertThat(plist(1L, 2L, 3L).list()).isEqualTo(list(1L, 2L, 3L));
+        assertThat(SLongList.of(list(1L, 2L, 3L))).isEqualTo(plist(1L, 2L, 3L));
+        assertThat(prange(1L, 10L, 3).list()).isEqualTo(list(1L, 4L, 7L, 10L));
+        assertThat(prange(10L, 1L, 3).list()).isEqualTo(list(10L, 7L, 4L, 1L));
+    }
+}
@@ -0,0 +1,85 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link SLongObjMap} / {@link SObjLongMap}.
+ *
+ * @author takahashikzn
+ */
+public class SLongObjMapTest {
+
+    /**
+     * {@link SLongObjMap#push(long, Object)} / {@link SLongObjMap#update(long, Function)}
+     */
+    @Test
+    public void longObjMap() {
+
+        final SLongObjMap<String> map = Indolently.<String> longObjMap().push(1, "a").push(2L, "b");
+
+        assertThat(map.has(1)).isTrue();
+        assertThat(map.opt(2).get()).isEqualTo("b");
+        assertThat(map.opt(3).isPresent()).isFalse();
+        assertThat(map.update(1, x -> x + x).get(1)).isEqualTo("aa");
+        assertThat(map.update(3, x -> x + x).has(3)).isFalse();
+        assertThat((Object) map).isEqualTo(map(1L, "aa", 2L, "b"));
+
+        // null result is stored, but the key mapped to null is skipped as same as the boxed one
+        assertThat(map.update(2, x -> null).has(2)).isTrue();
+        assertThat(map.update(2, x -> "c").get(2)).isNull();
+        assertThat(map.update(Long.valueOf(2), x -> "c").get(2L)).isNull();
+    }
+
+    /**
+     * {@link SLongObjMap#filter(BiPredicate)} / {@link SLongObjMap#clone()}
+     */
+    @Test
+    public void constructive() {
+
+        final SLongObjMap<String> map = Indolently.<String> longObjMap().push(1, "a").push(2, "b");
+        final SLongObjMap<String> filtered = map.filter((k, v) -> k % 2 == 0);
+
+        assertThat((Object) filtered).isEqualTo(map(2L, "b"));
+        assertThat((Object) map.clone()).isEqualTo(map).isNotSameAs(map);
+    }
+
+    /**
+     * {@link SObjLongMap#add(Object, long)} / {@link SObjLongMap#optLong(Object)}
+     */
+    @Test
+    public void counter() {
+
+        final SObjLongMap<String> map = objLongMap();
+
+        for (final String s : list("a", "b", "a", "c", "a")) {
+            map.add(s, 1);
+        }
+
+        assertThat((Object) map).isEqualTo(map("a", 3L, "b", 1L, "c", 1L));
+        assertThat(map.optLong("a").getAsLong()).isEqualTo(3);
+        assertThat(map.optLong("z").isPresent()).isFalse();
+        assertThat((Object) map.filter(x -> x == 1)).isEqualTo(map("b", 1L, "c", 1L));
+        assertThat(map.push("z", 0).getLong("z")).isEqualTo(0);
+    }
+}
@@ -0,0 +1,133 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.function.Function3;
+import jp.root42.indolently.ref.IntRef;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link SView}.
+ *
+ * @author takahashikzn
+ */
+public class SViewTest {
+
+    /**
+     * {@link SView#map(Function)} / {@link SView#filter(Predicate)} are evaluated in a single pass.
+     */
+    @Test
+    public void fused() {
+
+        final SList<Integer> src = range(1, 10).list();
+        final SList<String> trace = list();
+
+        final SView<String> view = src.lazy() //
+            .filter(x -> trace.add("f" + x) && (x % 2 == 0)) //
+            .map(x -> trace.add("m" + x) ? x * 10 : 0) //
+            .filter(x -> 40 < x) //
+            .map(String::valueOf);
+
+        assertThat(trace).isEmpty();
+
+        assertThat(view.list()).isEqualTo(list("60", "80", "100"));
+        assertThat(trace.slice(0, 4)).isEqualTo(list("f1", "f2", "m2", "f3"));
+        assertThat(trace.size()).isEqualTo(15);
+
+        // re-evaluated on each terminal operation
+        assertThat(view.set()).isEqualTo(set("60", "80", "100"));
+        assertThat(trace.size()).isEqualTo(30);
+
+        assertThat(src.lazy().map(x -> x * 2).list()).isEqualTo(src.map(x -> x * 2));
+        assertThat(src.lazy().filter(x -> x % 3 == 0).list()).isEqualTo(src.filter(x -> x % 3 == 0));
+        assertThat(src.lazy().flatten(x -> list(x, -x)).list()).isEqualTo(src.flatten(x -> list(x, -x)));
+    }
+
+    /**
+     * {@link SView#narrow(int, int)} / {@link SView#some(Predicate)} stop evaluation.
+     */
+    @Test
+    public void shortCircuit() {
+
+        final IntRef count = ref(0);
+        final SView<Integer> view = range(1, 100).list().lazy().map(x -> {
+            count.val++;
+            return x;
+        });
+
+        assertThat(view.narrow(2, 5).list()).isEqualTo(list(3, 4, 5));
+        assertThat(count.val).isEqualTo(5);
+
+        assertThat(view.flatten(x -> list(x, x)).narrow(3).narrow(0, 2).list()).isEqualTo(list(2, 3));
+        assertThat(view.narrow(5, 5).list()).isEmpty();
+
+        count.val = 0;
+        assertThat(view.some(x -> x == 10)).isTrue();
+        assertThat(count.val).isEqualTo(10);
+
+        assertThatThrownBy(() -> view.narrow(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    /**
+     * {@link SView#narrow(int, int)} with {@link SView#some(Predicate)} / {@link SView#every(Predicate)}.
+     * Reaching to the end of narrowed range is not the answer of the condition.
+     */
+    @Test
+    public void narrowMatch() {
+
+        final SView<Integer> view = list(1, 2, 3).lazy();
+
+        assertThat(view.narrow(0, 2).some(x -> x > 5)).isFalse();
+        assertThat(view.narrow(0, 2).some(x -> x == 2)).isTrue();
+        assertThat(view.narrow(0, 2).some(x -> x == 3)).isFalse();
+        assertThat(view.narrow(0, 2).every(x -> x < 3)).isTrue();
+        assertThat(view.narrow(0, 2).every(x -> x < 2)).isFalse();
+        assertThat(view.narrow(1, 1).some(x -> true)).isFalse();
+        assertThat(view.narrow(1, 1).every(x -> false)).isTrue();
+
+        assertThat(view.every(x -> x < 4)).isTrue();
+        assertThat(view.narrow(1).narrow(0, 1).every(x -> x == 2)).isTrue();
+        assertThat(view.narrow(0, 2).map(x -> x * 10).some(x -> x == 30)).isFalse();
+    }
+
+    /**
+     * {@link SView#reduce(Optional, Function3)} / {@link SView#group(Function)}
+     */
+    @Test
+    public void terminal() {
+
+        final SView<Integer> view = list(1, 2, 3, 4, 5).lazy().filter(x -> x != 3);
+
+        assertThat(view.reduce(0, (x, y) -> x + y)).isEqualTo(12);
+        assertThat(view.reduce((x, y) -> x * y).get()).isEqualTo(40);
+        assertThat(view.filter(x -> 5 < x).reduce((x, y) -> x * y).isPresent()).isFalse();
+        assertThat(view.reduce("", (i, x, y) -> x + i + y)).isEqualTo("01122435");
+        assertThat((Object) view.group(x -> x % 2)).isEqualTo(map(1, list(1, 5), 0, list(2, 4)));
+
+        final SList<Integer> each = list();
+        view.each(each::add);
+        assertThat(each).isEqualTo(list(1, 2, 4, 5));
+    }
+}
@@ -0,0 +1,146 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Collectors;
+
+import jp.root42.indolently.bridge.ListDelegate;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for the spliterators of {@link SList} / {@link SSet} / {@link SMap} / {@link SIter}.
+ * Parallel scaling itself depends on the machine, so this test checks the splitting behaviour which enables it.
+ *
+ * @author takahashikzn
+ */
+public class SpliteratorTest {
+
+    /**
+     * {@link RandomAccess} list which spliterator is iterator based, as same as the Java 8 default.
+     */
+    private static final class LegacyList<T>
+        extends ListDelegate<T>
+        implements RandomAccess {
+
+        private final List<T> store;
+
+        LegacyList(final List<T> store) {
+            this.store = store;
+        }
+
+        @Override
+        protected List<T> getDelegate() {
+            return this.store;
+        }
+
+        @Override
+        public Spliterator<T> spliterator() {
+            return Spliterators.spliterator(this, Spliterator.ORDERED);
+        }
+    }
+
+    /**
+     * {@link SList#spliterator()} splits by index.
+     */
+    @Test
+    public void list() {
+
+        final SList<Integer> src = range(1, 1000).list();
+
+        for (final SList<Integer> list : Indolently.list(src, $(new LegacyList<>(new ArrayList<>(src))))) {
+
+            final Spliterator<Integer> s = list.spliterator();
+
+            assertThat(s.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.ORDERED)).isTrue();
+
+            final Spliterator<Integer> prefix = s.trySplit();
+
+            assertThat(prefix.estimateSize()).isEqualTo(500);
+            assertThat(s.estimateSize()).isEqualTo(500);
+            assertThat(prefix.trySplit().estimateSize()).isEqualTo(250);
+
+            assertThat(list.parallelStream().map(x -> x * 2).collect(Collectors.toList())).isEqualTo(
+                list.map(x -> x * 2));
+        }
+    }
+
+    /**
+     * {@link SIter#spliterator()} splits into growing batches.
+     */
+    @Test
+    public void iter() {
+
+        // range has its own spliterator
+        final Spliterator<Integer> s = range(1, 1000).map(x -> x).spliterator();
+
+        assertThat(s.trySplit().estimateSize()).isEqualTo(BatchSpliterator.INITIAL_BATCH);
+        assertThat(s.trySplit().estimateSize()).isEqualTo(BatchSpliterator.INITIAL_BATCH * 2);
+        assertThat(s.hasCharacteristics(Spliterator.ORDERED)).isTrue();
+
+        assertThat(range(1, 1000).parallelStream().map(x -> x * 2).collect(Collectors.toList())).isEqualTo(
+            range(1, 1000).map(x -> x * 2).list());
+        assertThat(range(1, 1000).parallelStream().reduce(0, (x, y) -> x + y)).isEqualTo(500500);
+    }
+
+    /**
+     * {@link Iterative#range(int, int)} splits evenly.
+     */
+    @Test
+    public void rangeSplit() {
+
+        final Spliterator<Integer> s = Iterative.range(1, 1000).spliterator();
+
+        assertThat(s.hasCharacteristics(Spliterator.SIZED | Spliterator.SUBSIZED | Spliterator.SORTED)).isTrue();
+        assertThat(s.estimateSize()).isEqualTo(1000);
+        assertThat(s.trySplit().estimateSize()).isEqualTo(500);
+        assertThat(s.estimateSize()).isEqualTo(500);
+
+        final Spliterator<Long> desc = Iterative.range(10L, 1L, 3).spliterator();
+        assertThat(desc.estimateSize()).isEqualTo(4);
+        assertThat(desc.hasCharacteristics(Spliterator.SORTED)).isFalse();
+
+        assertThat(Iterative.range(Long.MIN_VALUE, Long.MAX_VALUE).spliterator().hasCharacteristics(Spliterator.SIZED))
+            .isFalse();
+    }
+
+    /**
+     * {@link SSet#spliterator()} / {@link SMap#spliterator()} are sized.
+     */
+    @Test
+    public void hash() {
+
+        final SSet<Integer> set = range(1, 1000).list().set();
+        final SMap<Integer, Integer> map = set.mapmap(x -> x, x -> x * 2);
+
+        assertThat(set.spliterator().hasCharacteristics(Spliterator.SIZED)).isTrue();
+        assertThat(set.spliterator().estimateSize()).isEqualTo(1000);
+        assertThat(map.spliterator().hasCharacteristics(Spliterator.SIZED)).isTrue();
+        assertThat(map.spliterator().estimateSize()).isEqualTo(1000);
+
+        assertThat(set.parallelStream().mapToInt(x -> x).sum()).isEqualTo(500500);
+        assertThat(map.entries().parallelStream().mapToInt(x -> x.val).sum()).isEqualTo(1001000);
+    }
+}
@@ -0,0 +1,200 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+import jp.root42.indolently.function.SFunc;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link StripedLock} and {@link jp.root42.indolently.function.SLambda#synchronize()}.
+ *
+ * @author takahashikzn
+ */
+public class StripedLockTest {
+
+    /**
+     * run the function on each thread and wait for them.
+     */
+    private static void parallel(final int threads, final Function<Integer, ?> f) throws Exception {
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<CompletableFuture<?>> rslts = list();
+
+            for (int t = 0; t < threads; t++) {
+                final int id = t;
+                rslts.add(CompletableFuture.supplyAsync(() -> f.apply(id), executor));
+            }
+
+            for (final CompletableFuture<?> rslt : rslts) {
+                rslt.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * {@link SFunc#synchronize()}
+     */
+    @Test
+    public void synchronize() throws Exception {
+
+        final int[] counter = { 0 };
+        final SFunc<Integer, Integer> f = new SFunc<Integer, Integer>((self, x) -> {
+            // recursive call acquires the lock again
+            if (0 < x) {
+                return self.apply(x - 1);
+            }
+            return counter[0]++;
+        }).synchronize();
+
+        parallel(8, t -> {
+            for (int i = 0; i < 10000; i++) {
+                f.apply(2);
+            }
+            return null;
+        });
+
+        assertThat(counter[0]).isEqualTo(80000);
+    }
+
+    /**
+     * {@link SFunc#synchronizeBy(Function, StripedLock)}
+     */
+    @Test
+    public void synchronizeBy() throws Exception {
+
+        final StripedLock locks = StripedLock.of(16, true);
+        assertThat(locks.stripes()).isEqualTo(16);
+        assertThat(StripedLock.of(5).stripes()).isEqualTo(8);
+
+        final int[] counters = new int[4];
+        final SFunc<Integer, Integer> f =
+            new SFunc<Integer, Integer>((self, x) -> counters[x]++).synchronizeBy(x -> x, locks);
+
+        parallel(8, t -> {
+            for (int i = 0; i < 10000; i++) {
+                f.apply(i % 4);
+            }
+            return null;
+        });
+
+        assertThat(counters).containsExactly(20000, 20000, 20000, 20000);
+        assertThat(locks.acquisitions()).isEqualTo(80000);
+        assertThat(locks.contentions()).isBetween(0L, 80000L);
+        assertThat(locks.waitNanos()).isGreaterThanOrEqualTo(0);
+    }
+
+    /**
+     * Calls of unrelated keys are not serialized.
+     */
+    @Test
+    public void unrelatedKeys() throws Exception {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        final Function<Integer, Boolean> f = Functional.synchronizeBy(Functional.functionOf((final Integer x) -> {
+            if (x == 0) {
+                entered.countDown();
+                try {
+                    return release.await(10, TimeUnit.SECONDS);
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+            }
+            return true;
+        }), x -> x, 4);
+
+        final CompletableFuture<Boolean> blocked = CompletableFuture.supplyAsync(() -> f.apply(0));
+        entered.await();
+
+        // key 1 doesn't wait for key 0
+        assertThat(f.apply(1)).isTrue();
+        assertThat(blocked.isDone()).isFalse();
+
+        release.countDown();
+        assertThat(blocked.get()).isTrue();
+    }
+
+    /**
+     * Fair lock grants the lock in the order of request, even to a thread which doesn't have to wait to request.
+     */
+    @Test(timeout = 10000)
+    public void fair() throws Exception {
+
+        final StripedLock locks = StripedLock.of(1, true);
+        final List<String> order = Collections.synchronizedList(list());
+        final List<Thread> waiters = list();
+
+        final ReentrantLock lock = (ReentrantLock) locks.lock("key");
+
+        try {
+            for (int i = 0; i < 5; i++) {
+
+                final String name = String.valueOf(i);
+                final Thread t = new Thread(() -> {
+                    final Lock l = locks.lock("key");
+                    try {
+                        order.add(name);
+                    } finally {
+                        l.unlock();
+                    }
+                });
+
+                t.start();
+                waiters.add(t);
+
+                // enqueue the waiters one by one
+                while (!lock.hasQueuedThread(t)) {
+                    Thread.yield();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        // must not barge in front of the queued waiters
+        final Lock l = locks.lock("key");
+        try {
+            order.add("main");
+        } finally {
+            l.unlock();
+        }
+
+        for (final Thread t : waiters) {
+            t.join();
+        }
+
+        assertThat(order).isEqualTo(list("0", "1", "2", "3", "4", "main"));
+    }
+}
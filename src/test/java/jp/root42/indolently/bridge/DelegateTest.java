@@ -0,0 +1,121 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import jp.root42.indolently.Indolently;
+import jp.root42.indolently.SMap;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link MapDelegate} / {@link SetDelegate} / {@link ListDelegate}.
+ *
+ * @author takahashikzn
+ */
+public class DelegateTest {
+
+    private static void assertAllDefaultsForwarded(final Class<?> iface, final Class<?> delegate) {
+
+        for (final Method m : iface.getMethods()) {
+            // stream() is covariantly overridden by SCol; toArray(IntFunction) doesn't exist on Java 8
+            if (m.isDefault() && !Indolently.list("stream", "parallelStream", "toArray").contains(m.getName())) {
+                assertThat(Indolently.list(delegate.getMethods()).some(x -> //
+                    x.getName().equals(m.getName()) //
+                        && x.getDeclaringClass().equals(delegate) //
+                        && list(x.getParameterTypes()).equals(list(m.getParameterTypes())))) //
+                    .as(m.toString()) //
+                    .isTrue();
+            }
+        }
+    }
+
+    private static List<Class<?>> list(final Class<?>[] types) {
+        return Indolently.list(types);
+    }
+
+    /**
+     * All the default methods are forwarded to the backing store, so that the store's own single-probe implementation
+     * is used instead of the interface default.
+     * This also holds for the Koloboke backed store, since it's wrapped by {@link MapDelegate} too.
+     */
+    @Test
+    public void forwarded() {
+        assertAllDefaultsForwarded(Map.class, MapDelegate.class);
+        assertAllDefaultsForwarded(Set.class, SetDelegate.class);
+        assertAllDefaultsForwarded(Collection.class, SetDelegate.class);
+        assertAllDefaultsForwarded(List.class, ListDelegate.class);
+        assertAllDefaultsForwarded(Collection.class, ListDelegate.class);
+
+        assertThat(new KolobokeObjFactory().newMap()).isInstanceOf(MapDelegate.class);
+        assertThat(new KolobokeObjFactory().newSet()).isInstanceOf(SetDelegate.class);
+    }
+
+    /**
+     * {@link MapDelegate#computeIfAbsent(Object, Function)} / {@link MapDelegate#merge(Object, Object, BiFunction)}
+     * reach to the backing store.
+     */
+    @Test
+    public void reachesStore() {
+
+        final List<String> calls = new ArrayList<>();
+
+        final SMap<String, Integer> map = Indolently.$(new HashMap<String, Integer>() {
+
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Integer computeIfAbsent(final String key,
+                final Function<? super String, ? extends Integer> mappingFunction) {
+
+                calls.add("computeIfAbsent");
+                return super.computeIfAbsent(key, mappingFunction);
+            }
+
+            @Override
+            public Integer merge(final String key, final Integer value,
+                final BiFunction<? super Integer, ? super Integer, ? extends Integer> remappingFunction) {
+
+                calls.add("merge");
+                return super.merge(key, value, remappingFunction);
+            }
+        });
+
+        assertThat(map.computeIfAbsent("a", String::length)).isEqualTo(1);
+        assertThat(map.merge("a", 2, Integer::sum)).isEqualTo(3);
+        assertThat(calls).containsExactly("computeIfAbsent", "merge");
+
+        final Set<String> set = Indolently.$(new HashSet<>(Indolently.list("a", "b", "c")));
+        assertThat(set.removeIf("b"::equals)).isTrue();
+        assertThat(set).containsOnly("a", "c");
+
+        final List<String> list = Indolently.list("c", "b", "a");
+        list.sort(null);
+        list.replaceAll(String::toUpperCase);
+        assertThat(list).containsExactly("A", "B", "C");
+    }
+}
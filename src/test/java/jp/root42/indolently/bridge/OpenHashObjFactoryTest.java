@@ -0,0 +1,198 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.BiFunction;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link OpenHashObjFactory}.
+ *
+ * @author takahashikzn
+ */
+public class OpenHashObjFactoryTest {
+
+    private final ObjFactory factory = new OpenHashObjFactory();
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(final T obj) throws Exception {
+
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(buf)) {
+            out.writeObject(obj);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buf.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    private static void verify(final Map<Integer, Integer> expected, final Map<Integer, Integer> actual,
+        final boolean ordered) throws Exception {
+
+        final Random rand = new Random(42);
+
+        for (int i = 0; i < 50000; i++) {
+
+            final Integer key = (rand.nextInt(1000) == 0) ? null : rand.nextInt(2000);
+            final int val = i;
+
+            switch (rand.nextInt(6)) {
+            case 0:
+                assertThat(actual.remove(key)).isEqualTo(expected.remove(key));
+                break;
+            case 1:
+                final BiFunction<Integer, Integer, Integer> f =
+                    (k, v) -> (v == null) ? Integer.valueOf(val) : (v % 3 == 0) ? null : Integer.valueOf(v + 1);
+                assertThat(actual.compute(key, f)).isEqualTo(expected.compute(key, f));
+                break;
+            case 2:
+                assertThat(actual.computeIfAbsent(key, k -> val)).isEqualTo(expected.computeIfAbsent(key, k -> val));
+                break;
+            default:
+                assertThat(actual.put(key, i)).isEqualTo(expected.put(key, i));
+                break;
+            }
+
+            assertThat(actual.size()).isEqualTo(expected.size());
+            assertThat(actual.get(key)).isEqualTo(expected.get(key));
+        }
+
+        assertThat(actual).isEqualTo(expected);
+        assertThat(copy(actual)).isEqualTo(expected);
+
+        if (ordered) {
+            assertThat(new ArrayList<>(actual.keySet())).isEqualTo(new ArrayList<>(expected.keySet()));
+            assertThat(new ArrayList<>(copy(actual).keySet())).isEqualTo(new ArrayList<>(expected.keySet()));
+        }
+
+        // remove via iterator
+        for (final Iterator<Map.Entry<Integer, Integer>> i = actual.entrySet().iterator(); i.hasNext();) {
+
+            final Map.Entry<Integer, Integer> e = i.next();
+
+            if ((e.getKey() == null) || (e.getKey() % 3 == 0)) {
+                i.remove();
+            } else {
+                e.setValue(-e.getValue());
+            }
+        }
+
+        expected.entrySet().removeIf(e -> (e.getKey() == null) || (e.getKey() % 3 == 0));
+        expected.replaceAll((k, v) -> -v);
+
+        assertThat(actual).isEqualTo(expected);
+
+        if (ordered) {
+            assertThat(new ArrayList<>(actual.keySet())).isEqualTo(new ArrayList<>(expected.keySet()));
+        }
+
+        actual.clear();
+        assertThat(actual.isEmpty()).isTrue();
+        assertThat(actual.put(1, 1)).isNull();
+        assertThat(actual.get(1)).isEqualTo(1);
+    }
+
+    /**
+     * {@link ObjHashMap} behaves as same as {@link HashMap}.
+     */
+    @Test
+    public void map() throws Exception {
+        assertThat(this.factory.<Integer, Integer> newMap()).isInstanceOf(ObjHashMap.class);
+        verify(new HashMap<>(), this.factory.newMap(), false);
+    }
+
+    /**
+     * {@link LinkedObjHashMap} behaves as same as {@link LinkedHashMap}.
+     */
+    @Test
+    public void fifoMap() throws Exception {
+        assertThat(this.factory.<Integer, Integer> newFifoMap()).isInstanceOf(LinkedObjHashMap.class);
+        verify(new LinkedHashMap<>(), this.factory.newFifoMap(), true);
+    }
+
+    /**
+     * {@link Map.Entry#setValue(Object)} of the entry whose slot has been moved or removed
+     */
+    @SuppressWarnings("unchecked")
+    @Test
+    public void staleEntry() {
+
+        for (final Map<Integer, Integer> map : new Map[] { this.factory.newMap(), this.factory.newFifoMap() }) {
+
+            map.put(1, 1);
+            map.put(2, 2);
+
+            final Map.Entry<Integer, Integer> e1 = map.entrySet().iterator().next();
+            assertThat(e1.setValue(10)).isEqualTo(1);
+            assertThat(map.get(e1.getKey())).isEqualTo(10);
+
+            // rehash
+            for (int i = 3; i < 100; i++) {
+                map.put(i, i);
+            }
+
+            map.remove(e1.getKey());
+
+            try {
+                e1.setValue(100);
+                fail("stale entry");
+            } catch (final ConcurrentModificationException e) {
+                assertThat(map.containsValue(100)).isFalse();
+            }
+        }
+    }
+
+    /**
+     * {@link OpenHashObjFactory#newSet()} / {@link OpenHashObjFactory#newFifoSet()}
+     */
+    @Test
+    public void set() throws Exception {
+
+        final Set<String> expected = new LinkedHashSet<>();
+        final Set<String> fifo = this.factory.newFifoSet();
+        final Set<String> set = this.factory.newSet(3);
+
+        for (int i = 100; 0 < i; i--) {
+            assertThat(fifo.add(String.valueOf(i % 70))).isEqualTo(expected.add(String.valueOf(i % 70)));
+            set.add(String.valueOf(i % 70));
+        }
+
+        assertThat(fifo.remove("5")).isTrue();
+        assertThat(set.remove("5")).isTrue();
+        expected.remove("5");
+
+        assertThat(new ArrayList<>(fifo)).isEqualTo(new ArrayList<>(expected));
+        assertThat(set).isEqualTo(expected);
+        assertThat(copy(fifo)).isEqualTo(expected);
+    }
+}
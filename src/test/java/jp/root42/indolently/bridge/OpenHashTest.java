@@ -0,0 +1,189 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for the built-in open addressing maps.
+ *
+ * @author takahashikzn
+ */
+public class OpenHashTest {
+
+    @SuppressWarnings("unchecked")
+    private static <T> T copy(final T obj) throws IOException, ClassNotFoundException {
+
+        final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+
+        try (ObjectOutputStream out = new ObjectOutputStream(buf)) {
+            out.writeObject(obj);
+        }
+
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buf.toByteArray()))) {
+            return (T) in.readObject();
+        }
+    }
+
+    /**
+     * {@link OpenHash#grow(int, int)}
+     */
+    @Test
+    public void grow() {
+
+        // full of live entries: doubled, not quadrupled
+        assertThat(OpenHash.grow(64, 49)).isEqualTo(128);
+
+        // mostly removed slots: just cleared
+        assertThat(OpenHash.grow(64, 10)).isEqualTo(16);
+        assertThat(OpenHash.grow(1 << 30, 1 << 29)).isEqualTo(1 << 30);
+    }
+
+    /**
+     * {@link LongObjHashMap} behaves as same as {@link HashMap}, including rehash and removal.
+     */
+    @Test
+    public void longObjMap() throws Exception {
+
+        final LongObjMap<String> map = new LongObjHashMap<>(2);
+        final Map<Long, String> expected = new HashMap<>();
+
+        for (long i = -500; i < 500; i++) {
+            assertThat(map.put(i * 31, "v" + i)).isNull();
+            expected.put(i * 31, "v" + i);
+        }
+
+        for (long i = -500; i < 500; i += 3) {
+            assertThat(map.remove(i * 31)).isEqualTo("v" + i);
+            expected.remove(i * 31);
+        }
+
+        assertThat(map.put(62L, null)).isEqualTo("v2");
+        expected.put(62L, null);
+
+        assertThat(map).isEqualTo(expected);
+        assertThat(expected).isEqualTo(map);
+        assertThat(map.hashCode()).isEqualTo(expected.hashCode());
+        assertThat(map.containsKey(62)).isTrue();
+        assertThat(map.get(62)).isNull();
+        assertThat(map.get(-1)).isNull();
+        assertThat(map.get("31")).isNull();
+        assertThat(map.containsValue(null)).isTrue();
+
+        // updateValue skips the key mapped to null
+        assertThat(map.updateValue(62, x -> "x")).isFalse();
+        assertThat(map.updateValue(-1, x -> "x")).isFalse();
+        assertThat(map.updateValue(93, x -> x + x)).isTrue();
+        assertThat(map.get(93)).isEqualTo("v3v3");
+        assertThat(map.updateValue(93, x -> "v3")).isTrue();
+        assertThat(copy(map)).isEqualTo(expected);
+
+        map.clear();
+        assertThat(map).isEmpty();
+        assertThat(map.get(62)).isNull();
+    }
+
+    /**
+     * {@link IntObjHashMap} iterator removal and entry update.
+     */
+    @Test
+    public void intObjMapIterator() {
+
+        final IntObjMap<String> map = new IntObjHashMap<>();
+
+        for (int i = 0; i < 100; i++) {
+            map.put(i, String.valueOf(i));
+        }
+
+        for (final Iterator<Map.Entry<Integer, String>> i = map.entrySet().iterator(); i.hasNext(); ) {
+
+            final Map.Entry<Integer, String> e = i.next();
+
+            if (e.getKey() % 2 == 0) {
+                i.remove();
+            } else {
+                e.setValue("x" + e.getValue());
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(50);
+        assertThat(map.get(0)).isNull();
+        assertThat(map.get(99)).isEqualTo("x99");
+
+        // re-insertion into removed slot
+        map.put(0, "0");
+        assertThat(map.size()).isEqualTo(51);
+        assertThat(map.get(0)).isEqualTo("0");
+    }
+
+    /**
+     * {@link ObjLongHashMap} behaves as a counter, including {@code null} key.
+     */
+    @Test
+    public void objLongMap() throws Exception {
+
+        final ObjLongMap<String> map = new ObjLongHashMap<>(2);
+
+        for (int i = 0; i < 1000; i++) {
+            map.addValue((i % 7 == 0) ? null : String.valueOf(i % 100), 1);
+        }
+
+        assertThat(map.size()).isEqualTo(101);
+        assertThat(map.getLong(null)).isEqualTo(143);
+        assertThat(map.getLong("1")).isEqualTo(9);
+        assertThat(map.getLong("none")).isEqualTo(0);
+        assertThat(map.getOrDefault("none", -1L)).isEqualTo(-1);
+        assertThat(map.get("none")).isNull();
+        assertThat(map.removeAsLong(null)).isEqualTo(143);
+        assertThat(map.containsKey(null)).isFalse();
+        assertThat(map.put("1", 100L)).isEqualTo(9);
+        assertThat(map.put("new", Long.valueOf(1))).isNull();
+        assertThat(map.containsValue(100L)).isTrue();
+
+        final Map<String, Long> expected = new HashMap<>(map);
+
+        assertThat(map).isEqualTo(expected);
+        assertThat(copy(map)).isEqualTo(expected);
+    }
+
+    /**
+     * {@link ObjIntHashMap} reuses removed slots.
+     */
+    @Test
+    public void objIntMapChurn() {
+
+        final ObjIntMap<String> map = new ObjIntHashMap<>();
+
+        for (int i = 0; i < 10_000; i++) {
+            map.put(String.valueOf(i), i);
+            map.put(String.valueOf(i + 1), i);
+            assertThat(map.removeAsInt(String.valueOf(i))).isEqualTo(i);
+        }
+
+        assertThat(map.size()).isEqualTo(1);
+        assertThat(map.getInt("10000")).isEqualTo(9_999);
+    }
+}
@@ -0,0 +1,164 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.bridge;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ConcurrentModificationException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link SmallMap}.
+ *
+ * @author takahashikzn
+ */
+public class SmallMapTest {
+
+    /**
+     * {@link SmallMap} behaves as same as {@link HashMap}, before and after promotion.
+     */
+    @Test
+    public void behavior() {
+
+        final Random rand = new Random(42);
+
+        for (int round = 0; round < 200; round++) {
+
+            final Map<Integer, Integer> expected = new HashMap<>();
+            final Map<Integer, Integer> actual = new SmallMap<>(rand.nextInt(4));
+
+            for (int i = 0; i < 40; i++) {
+
+                final Integer key = (rand.nextInt(20) == 0) ? null : rand.nextInt(round % 20 + 1);
+
+                switch (rand.nextInt(3)) {
+                case 0:
+                    assertThat(actual.remove(key)).isEqualTo(expected.remove(key));
+                    break;
+                default:
+                    assertThat(actual.put(key, i)).isEqualTo(expected.put(key, i));
+                    break;
+                }
+
+                assertThat(actual.size()).isEqualTo(expected.size());
+                assertThat(actual.get(key)).isEqualTo(expected.get(key));
+                assertThat(actual.containsKey(key)).isEqualTo(expected.containsKey(key));
+            }
+
+            assertThat(actual).isEqualTo(expected);
+            assertThat(actual.hashCode()).isEqualTo(expected.hashCode());
+        }
+    }
+
+    /**
+     * map literals up to {@link SmallMap#MAX_SIZE} entries are compact, larger ones are hash maps from the beginning.
+     */
+    @Test
+    public void literal() {
+
+        assertThat(((MapDelegate<?, ?>) map(1, 1)).getDelegate()).isInstanceOf(SmallMap.class);
+        assertThat(((MapDelegate<?, ?>) map(1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8)).getDelegate())
+            .isInstanceOf(SmallMap.class);
+
+        final MapDelegate<?, ?> large =
+            (MapDelegate<?, ?>) map(1, 1, 2, 2, 3, 3, 4, 4, 5, 5, 6, 6, 7, 7, 8, 8, 9, 9, 10, 10);
+
+        assertThat(large.getDelegate()).isNotInstanceOf(SmallMap.class);
+        assertThat(large.size()).isEqualTo(10);
+        assertThat(large.get(9)).isEqualTo(9);
+    }
+
+    /**
+     * entries are kept in insertion order, and can be modified via iterator.
+     */
+    @Test
+    public void iterator() {
+
+        final Map<String, Integer> map = new SmallMap<>(2);
+        map.put("a", 1);
+        map.put("b", 2);
+        map.put("c", 3);
+        map.put("d", 4);
+
+        assertThat(list(map.keySet())).isEqualTo(list("a", "b", "c", "d"));
+
+        for (final Iterator<Map.Entry<String, Integer>> i = map.entrySet().iterator(); i.hasNext();) {
+
+            final Map.Entry<String, Integer> e = i.next();
+
+            if (e.getValue() % 2 == 0) {
+                i.remove();
+            } else {
+                e.setValue(e.getValue() * 10);
+            }
+        }
+
+        assertThat(map).isEqualTo(map("a", 10, "c", 30));
+
+        // a new key during iteration
+        final Iterator<Map.Entry<String, Integer>> i = map.entrySet().iterator();
+        final Map.Entry<String, Integer> a = i.next();
+        final Map.Entry<String, Integer> c = i.next();
+        map.put("e", 5);
+        assertThatThrownBy(i::next).isInstanceOf(ConcurrentModificationException.class);
+
+        // the entry shifted by removal of an earlier one
+        map.remove("a");
+        assertThatThrownBy(() -> a.setValue(0)).isInstanceOf(ConcurrentModificationException.class);
+        assertThatThrownBy(() -> c.setValue(0)).isInstanceOf(ConcurrentModificationException.class);
+        assertThat(map).isEqualTo(map("c", 30, "e", 5));
+
+        map.clear();
+        assertThat(map.isEmpty()).isTrue();
+    }
+
+    /**
+     * serialization round trip.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    public void serialize() throws Exception {
+
+        for (final int size : list(3, 20)) {
+
+            final Map<Integer, String> map = new SmallMap<>(size);
+
+            for (int i = 0; i < size; i++) {
+                map.put(i, String.valueOf(i));
+            }
+
+            final ByteArrayOutputStream buf = new ByteArrayOutputStream();
+
+            try (ObjectOutputStream out = new ObjectOutputStream(buf)) {
+                out.writeObject(map);
+            }
+
+            try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(buf.toByteArray()))) {
+                assertThat((Map<Integer, String>) in.readObject()).isEqualTo(map);
+            }
+        }
+    }
+}
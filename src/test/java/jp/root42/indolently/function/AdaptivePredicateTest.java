@@ -0,0 +1,100 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.function;
+
+import java.util.function.BooleanSupplier;
+import java.util.function.Predicate;
+
+import jp.root42.indolently.ref.IntRef;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link AdaptivePredicate}.
+ *
+ * @author takahashikzn
+ */
+public class AdaptivePredicateTest {
+
+    /**
+     * {@link jp.root42.indolently.Indolently#and(Predicate, Predicate, Predicate...)} /
+     * {@link jp.root42.indolently.Indolently#or(Predicate, Predicate, Predicate...)}
+     */
+    @Test
+    public void compiled() {
+
+        final Predicate<Integer> and = and(x -> x > 0, x -> x < 10, x -> x % 2 == 0);
+        final Predicate<Integer> or = or(x -> x < 0, x -> x > 10, x -> x == 5);
+
+        assertThat(range(-5, 15).filter(and).list()).isEqualTo(list(2, 4, 6, 8));
+        assertThat(range(-2, 12).filter(or).list()).isEqualTo(list(-2, -1, 5, 11, 12));
+        assertThat(and(() -> true, () -> false).getAsBoolean()).isFalse();
+        assertThat(or(() -> false, () -> false, () -> true).getAsBoolean()).isTrue();
+
+        assertThatThrownBy(() -> and(x -> true, x -> true, (Predicate<Object>) null))
+            .isInstanceOf(NullPointerException.class);
+
+        // null rest arguments are empty
+        assertThat(and(x -> true, x -> false, (Predicate<Object>[]) null).test(1)).isFalse();
+        assertThat(or(() -> false, () -> true, (BooleanSupplier[]) null).getAsBoolean()).isTrue();
+        assertThat(AdaptivePredicate.or(x -> false, x -> true, (Predicate<Object>[]) null).test(1)).isTrue();
+    }
+
+    /**
+     * the most decisive predicate is evaluated first.
+     */
+    @Test
+    public void adaptive() {
+
+        final IntRef rareCalls = ref(0);
+        final IntRef selectiveCalls = ref(0);
+
+        final AdaptivePredicate<Integer> and = AdaptivePredicate.and( //
+            x -> {
+                rareCalls.val++;
+                return true;
+            }, //
+            x -> {
+                selectiveCalls.val++;
+                return x % 100 == 0;
+            });
+
+        for (int i = 0; i < 100000; i++) {
+            assertThat(and.test(i)).isEqualTo(i % 100 == 0);
+        }
+
+        assertThat(and.order()).isEqualTo(new int[] { 1, 0 });
+        assertThat(selectiveCalls.val).isEqualTo(100000);
+        assertThat(rareCalls.val).isLessThan(20000);
+
+        assertThat(and.stats().get(0).index()).isEqualTo(0);
+        assertThat(and.stats().get(0).selectivity()).isEqualTo(1.0);
+        assertThat(and.stats().get(1).selectivity()).isLessThan(0.05);
+        assertThat(and.stats().get(1).evaluated()).isGreaterThan(0);
+
+        final AdaptivePredicate<Integer> or = AdaptivePredicate.or(x -> x == 42, x -> x % 2 == 0);
+
+        for (int i = 0; i < 100000; i++) {
+            assertThat(or.test(i)).isEqualTo(i % 2 == 0);
+        }
+
+        assertThat(or.order()).isEqualTo(new int[] { 1, 0 });
+    }
+}
@@ -0,0 +1,132 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.function;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import jp.root42.indolently.ref.LongRef;
+
+import static jp.root42.indolently.Functional.*;
+import static jp.root42.indolently.Indolently.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link Lazy}.
+ *
+ * @author takahashikzn
+ */
+public class LazyTest {
+
+    /**
+     * {@link Lazy#of(Supplier)}
+     */
+    @Test
+    public void once() throws Exception {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final CountDownLatch start = new CountDownLatch(1);
+
+        final Lazy<String> val = lazy(() -> {
+            calls.incrementAndGet();
+            return "x";
+        });
+
+        assertThat(val.initialized()).isFalse();
+
+        final List<CompletableFuture<String>> rslts = list();
+        for (int i = 0; i < 8; i++) {
+            rslts.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return val.get();
+            }));
+        }
+
+        start.countDown();
+        for (final CompletableFuture<String> rslt : rslts) {
+            assertThat(rslt.get()).isEqualTo("x");
+        }
+
+        assertThat(calls.get()).isEqualTo(1);
+        assertThat(val.initialized()).isTrue();
+
+        val.reset();
+        assertThat(val.initialized()).isFalse();
+        assertThat(val.get()).isEqualTo("x");
+        assertThat(calls.get()).isEqualTo(2);
+    }
+
+    /**
+     * {@link Lazy} of {@code null}.
+     */
+    @Test
+    public void nullValue() {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final Supplier<String> val = memoize(() -> {
+            calls.incrementAndGet();
+            return (String) null;
+        });
+
+        assertThat(val.get()).isNull();
+        assertThat(val.get()).isNull();
+        assertThat(calls.get()).isEqualTo(1);
+    }
+
+    /**
+     * {@link Lazy#of(Supplier, long, TimeUnit, java.util.function.LongSupplier)}
+     */
+    @Test
+    public void refresh() {
+
+        final LongRef now = ref(0L);
+        final AtomicInteger calls = new AtomicInteger();
+
+        final Lazy<Integer> val = Lazy.of(calls::incrementAndGet, 10, TimeUnit.NANOSECONDS, () -> now.val);
+
+        assertThat(val.get()).isEqualTo(1);
+        now.val = 9L;
+        assertThat(val.get()).isEqualTo(1);
+        now.val = 10L;
+        assertThat(val.initialized()).isFalse();
+        assertThat(val.get()).isEqualTo(2);
+        now.val = 19L;
+        assertThat(val.get()).isEqualTo(2);
+    }
+
+    /**
+     * {@link SSuppl#lazy()}
+     */
+    @Test
+    public void ssuppl() {
+
+        final AtomicInteger calls = new AtomicInteger();
+        final Lazy<Integer> val = new SSuppl<Integer>(self -> calls.incrementAndGet()).lazy();
+
+        assertThat(val.get()).isEqualTo(1);
+        assertThat(val.get()).isEqualTo(1);
+    }
+}
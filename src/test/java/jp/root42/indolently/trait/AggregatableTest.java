@@ -0,0 +1,80 @@
+// Copyright 2014 takahashikzn
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package jp.root42.indolently.trait;
+
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+import jp.root42.indolently.SMap;
+
+import static jp.root42.indolently.Indolently.*;
+import static jp.root42.indolently.Iterative.*;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.*;
+
+
+/**
+ * A test class for {@link Aggregatable}.
+ *
+ * @author takahashikzn
+ */
+public class AggregatableTest {
+
+    /**
+     * {@link Aggregatable#groupReduce(Function, Object, BiFunction)}
+     */
+    @Test
+    public void groupReduce() {
+
+        final SMap<Integer, String> rslt =
+            list("a", "bb", "c", "ddd", "ee").groupReduce(String::length, "", String::concat);
+
+        assertThat((Object) rslt).isEqualTo(map(1, "ac", 2, "bbee", 3, "ddd"));
+        assertThat(list(rslt.keySet())).isEqualTo(list(1, 2, 3));
+
+        assertThat((Object) range(1, 10).groupReduce(x -> x % 3, 0, (x, y) -> x + y))
+            .isEqualTo(range(1, 10).list().group(x -> x % 3).map(x -> x.reduce(0, (l, r) -> l + r)));
+
+        // a group reduced to null is dropped
+        assertThat((Object) list("a", "bb", "c") //
+            .groupReduce(String::length, "", (x, y) -> (y.length() == 2) ? null : x + y)) //
+            .isEqualTo(map(1, "ac"));
+
+        assertThat((Object) range(1, 100000).list().parallelStream() //
+            .groupReduce(x -> x % 3, 0L, (x, y) -> x + y, Long::sum)) //
+            .isEqualTo(map(0, 1666683333L, 1, 1666716667L, 2, 1666650000L));
+
+        // the parallel stream path agrees with the sequential one
+        assertThat((Object) range(1, 100000).list().parallelStream() //
+            .groupReduce(x -> x % 7, 0L, (x, y) -> x + y, Long::sum)) //
+            .isEqualTo(range(1, 100000).list().groupReduce(x -> x % 7, 0L, (x, y) -> x + y));
+    }
+
+    /**
+     * {@link Aggregatable#groupCount(Function)} / {@link Aggregatable#groupSumLong(Function, ToLongFunction)}
+     */
+    @Test
+    public void groupCount() {
+
+        assertThat((Object) set("a", "bb", "c", "ddd").groupCount(String::length)).isEqualTo(map(1, 2L, 2, 1L, 3, 1L));
+        assertThat((Object) list("a", "bb", "c").stream().groupSumLong(x -> x, String::length))
+            .isEqualTo(map("a", 1L, "bb", 2L, "c", 1L));
+        assertThat(range(1, 100000).list().parallelStream().groupCount(x -> x % 2 == 0).getLong(true))
+            .isEqualTo(50000L);
+        assertThat(range(1, 100000).groupSumLong(x -> 0, x -> x).getLong(0)).isEqualTo(5000050000L);
+    }
+}